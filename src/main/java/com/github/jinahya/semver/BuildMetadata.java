@@ -17,29 +17,23 @@
 package com.github.jinahya.semver;
 
 
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
-import java.util.regex.Pattern;
 
 
 /**
  * Represents a {@code build metadata} part of the {@code Semantic Versioning}.
+ * <p>
+ * Build metadata doesn't figure into the precedence of versions. The natural
+ * ordering of this class, comparing identifiers lexically in ASCII sort order
+ * and then by their count, exists only for deterministic ordering and is
+ * inconsistent with equals.
  *
  * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
  */
-public class BuildMetadata {
-
-
-    private static final String IDENTIFIER_REGEXP = "[0-9A-Za-z-]+";
-
-
-    /**
-     * A pre-compiled pattern for identifiers.
-     */
-    public static final Pattern IDENTIFIER_PATTERN
-        = Pattern.compile(IDENTIFIER_REGEXP);
+public class BuildMetadata
+    implements Comparable<BuildMetadata>,
+               IdentifierPatterns.BuildMetadataIdentifier {
 
 
     /**
@@ -58,11 +52,7 @@ public class BuildMetadata {
     public static <T extends CharSequence> T requireValidIdentifier(
         final T indentifier) {
 
-        if (!IDENTIFIER_PATTERN.matcher(indentifier).matches()) {
-            throw new IllegalArgumentException("invalid: " + indentifier);
-        }
-
-        return indentifier;
+        return IdentifierValidator.BUILD_METADATA.requireValid(indentifier);
     }
 
 
@@ -76,9 +66,7 @@ public class BuildMetadata {
 
             final Builder builder = new Builder();
 
-            for (final String identifier : s.split("\\.")) {
-                builder.identifiers(identifier);
-            }
+            builder.identifiers(s, 0, s.length());
 
             return builder;
         }
@@ -86,15 +74,40 @@ public class BuildMetadata {
 
         public static Builder valueOf(final BuildMetadata built) {
 
-            return new Builder().identifiers(built.getIdentifiers());
+            final Builder builder = new Builder();
+
+            builder.identifiers.add(built.identifiers);
+
+            return builder;
         }
 
 
-        private void identifier(final String identifier) {
+        /**
+         * Adds dot-separated identifiers in specified range of a sequence.
+         */
+        Builder identifiers(final CharSequence s, final int start,
+                            final int end) {
 
-            for (final String token : identifier.split("\\.")) {
-                identifiers.add(requireValidIdentifier(token));
+            int from = start;
+            for (int i = start; i <= end; i++) {
+                if (i < end && s.charAt(i) != '.') {
+                    continue;
+                }
+                if (!IdentifierValidator.BUILD_METADATA.isValid(s, from, i)) {
+                    throw new IllegalArgumentException(
+                        "invalid identifier: " + s.subSequence(from, i));
+                }
+                identifiers.add(s, from, i);
+                from = i + 1;
             }
+
+            return this;
+        }
+
+
+        private void identifier(final String identifier) {
+
+            identifiers(identifier, 0, identifier.length());
         }
 
 
@@ -162,11 +175,12 @@ public class BuildMetadata {
                 throw new IllegalStateException("no identifiers");
             }
 
-            return new BuildMetadata(identifiers);
+            return new BuildMetadata(identifiers.build());
         }
 
 
-        private final List<String> identifiers = new ArrayList<String>();
+        private final Identifiers.Builder identifiers
+            = new Identifiers.Builder();
 
     }
 
@@ -186,25 +200,32 @@ public class BuildMetadata {
     }
 
 
-    private BuildMetadata(final List<String> identifiers) {
+    BuildMetadata(final Identifiers identifiers) {
 
         super();
 
-//        if (identifiers == null) {
-//            throw new NullPointerException("null identifiers");
-//        }
-//
-//        if (identifiers.isEmpty()) {
-//            throw new IllegalArgumentException("empty identifiers");
-//        }
-//
-//        for (final String identifier : identifiers) {
-//            if (!IDENTIFIER_PATTERN.matcher(identifier).matches()) {
-//                throw new IllegalArgumentException(
-//                    "invalid identifier: " + identifier);
-//            }
-//        }
-        this.identifiers = Collections.unmodifiableList(identifiers);
+        this.identifiers = identifiers;
+    }
+
+
+    @Override
+    public int compareTo(final BuildMetadata o) {
+
+        final String s1 = identifiers.toString();
+        final String s2 = o.identifiers.toString();
+        final int size1 = identifiers.size();
+        final int size2 = o.identifiers.size();
+
+        for (int i = 0; i < size1 && i < size2; i++) {
+            final int lexically = Identifiers.compare(
+                s1, identifiers.start(i), identifiers.end(i),
+                s2, o.identifiers.start(i), o.identifiers.end(i));
+            if (lexically != 0) {
+                return lexically;
+            }
+        }
+
+        return size1 - size2;
     }
 
 
@@ -216,17 +237,7 @@ public class BuildMetadata {
     @Override
     public String toString() {
 
-        final StringBuilder builder = new StringBuilder();
-
-        final Iterator<String> i = identifiers.iterator();
-        if (i.hasNext()) {
-            builder.append(i.next());
-        }
-        while (i.hasNext()) {
-            builder.append('.').append(i.next());
-        }
-
-        return builder.toString();
+        return identifiers.toString();
     }
 
 
@@ -237,11 +248,23 @@ public class BuildMetadata {
      */
     public List<String> getIdentifiers() {
 
-        return identifiers;
+        return identifiers.strings();
+    }
+
+
+    /**
+     * Returns an unmodifiable list of identifiers each of which is a view of
+     * this metadata's own characters.
+     *
+     * @return an unmodifiable list of identifier views.
+     */
+    public List<CharSequence> getIdentifierViews() {
+
+        return identifiers.views();
     }
 
 
-    private final List<String> identifiers;
+    private final Identifiers identifiers;
 
 }
 
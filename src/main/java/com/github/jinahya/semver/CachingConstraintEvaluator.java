@@ -0,0 +1,283 @@
+/*
+ * Copyright 2015 Jin Kwon &lt;jinahya_at_gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.jinahya.semver;
+
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+
+/**
+ * An evaluator memoizing results of
+ * {@link VersionConstraint#isSatisfiedBy(NormalVersion)} in a bounded cache.
+ * <p>
+ * Only evaluations which have to compare pre-release identifiers, that is,
+ * of pre-release versions sharing their major, minor and patch versions with
+ * a bound having a pre-release version, are cached; the others cost a few
+ * integer comparisons, which is less than a lookup, and are evaluated
+ * directly without touching the cache or its statistics.
+ * <p>
+ * The cache is a direct-mapped table probed once, without locking, per
+ * lookup; a result replaces whatever was cached in its slot. Entries are
+ * keyed by the identities of constraints and versions, which suits callers
+ * evaluating the same instances over and over.
+ *
+ * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
+ * @see CachingVersionConverter
+ */
+public class CachingConstraintEvaluator {
+
+
+    /**
+     * The number of stripes of statistics.
+     */
+    private static final int STRIPES = 16;
+
+
+    /**
+     * The distance, in longs, between stripes; keeps stripes apart from each
+     * other's cache lines.
+     */
+    private static final int PADDING = 8;
+
+
+    /**
+     * An immutable cached result; safely published through its final fields.
+     */
+    private static final class Entry {
+
+
+        Entry(final VersionConstraint constraint, final NormalVersion version,
+              final boolean satisfied) {
+
+            super();
+
+            this.constraint = constraint;
+            this.version = version;
+            this.satisfied = satisfied;
+        }
+
+
+        private final VersionConstraint constraint;
+
+
+        private final NormalVersion version;
+
+
+        private final boolean satisfied;
+
+    }
+
+
+    /**
+     * Checks whether specified bound ties with specified pre-release version
+     * up to the patch version and has a pre-release version to compare.
+     */
+    private static boolean ties(final NormalVersion bound,
+                                final NormalVersion version) {
+
+        return bound != null && bound.getPreReleaseVersion() != null
+               && bound.getPatchVersion() == version.getPatchVersion()
+               && bound.getMinorVersion() == version.getMinorVersion()
+               && bound.getMajorVersion() == version.getMajorVersion();
+    }
+
+
+    /**
+     * Checks whether evaluating specified constraint against specified
+     * version compares pre-release identifiers.
+     */
+    static boolean isExpensive(final VersionConstraint constraint,
+                               final NormalVersion version) {
+
+        if (version.getPreReleaseVersion() == null
+            || constraint.isStableOnly()) {
+            return false;
+        }
+
+        return ties(constraint.getLowerBound(), version)
+               || ties(constraint.getUpperBound(), version);
+    }
+
+
+    /**
+     * Creates a new instance.
+     *
+     * @param maximumSize the maximum number of cached results; the capacity
+     * is the highest power of two not greater than this value
+     */
+    public CachingConstraintEvaluator(final int maximumSize) {
+
+        super();
+
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException(
+                "maximumSize(" + maximumSize + ") <= 0");
+        }
+
+        table = new Entry[Integer.highestOneBit(maximumSize)];
+        mask = table.length - 1;
+    }
+
+
+    private int index(final VersionConstraint constraint,
+                      final NormalVersion version) {
+
+        int hash = System.identityHashCode(constraint) * 31
+                   + System.identityHashCode(version);
+        hash *= 0x9E3779B9;
+
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+
+    private void count(final int offset) {
+
+        final int stripe = (int) Thread.currentThread().getId()
+                           & (STRIPES - 1);
+        counts.incrementAndGet((stripe << 1 | offset) * PADDING);
+    }
+
+
+    private long sum(final int offset) {
+
+        long count = 0L;
+        for (int stripe = 0; stripe < STRIPES; stripe++) {
+            count += counts.get((stripe << 1 | offset) * PADDING);
+        }
+
+        return count;
+    }
+
+
+    /**
+     * Checks whether specified version satisfies specified constraint.
+     *
+     * @param constraint the constraint
+     * @param version the version
+     *
+     * @return {@code true} if satisfied; {@code false} otherwise
+     */
+    public boolean isSatisfied(final VersionConstraint constraint,
+                               final NormalVersion version) {
+
+        if (constraint == null) {
+            throw new NullPointerException("null constraint");
+        }
+
+        if (version == null) {
+            throw new NullPointerException("null version");
+        }
+
+        if (!isExpensive(constraint, version)) {
+            return constraint.isSatisfiedBy(version);
+        }
+
+        final int index = index(constraint, version);
+        final Entry cached = table[index];
+        if (cached != null && cached.constraint == constraint
+            && cached.version == version) {
+            count(0);
+            return cached.satisfied;
+        }
+        count(1);
+
+        final boolean satisfied = constraint.isSatisfiedBy(version);
+        table[index] = new Entry(constraint, version, satisfied);
+
+        return satisfied;
+    }
+
+
+    /**
+     * Returns the number of evaluations answered from the cache.
+     *
+     * @return the hit count
+     */
+    public long getHitCount() {
+
+        return sum(0);
+    }
+
+
+    /**
+     * Returns the number of cacheable evaluations not answered from the
+     * cache.
+     *
+     * @return the miss count
+     */
+    public long getMissCount() {
+
+        return sum(1);
+    }
+
+
+    /**
+     * Returns the ratio of hits to all cacheable evaluations.
+     *
+     * @return the hit rate; {@code 0.0} if nothing has been evaluated
+     */
+    public double getHitRate() {
+
+        final long hitCount = getHitCount();
+        final long total = hitCount + getMissCount();
+
+        return total == 0L ? 0.0d : (double) hitCount / total;
+    }
+
+
+    /**
+     * Returns the number of cached results.
+     *
+     * @return the number of cached results
+     */
+    public int size() {
+
+        int size = 0;
+        for (final Entry entry : table) {
+            if (entry != null) {
+                size++;
+            }
+        }
+
+        return size;
+    }
+
+
+    /**
+     * Removes all cached results. Statistics are kept.
+     */
+    public void clear() {
+
+        for (int i = 0; i < table.length; i++) {
+            table[i] = null;
+        }
+    }
+
+
+    private final Entry[] table;
+
+
+    private final int mask;
+
+
+    /**
+     * Hit and miss counts of each stripe.
+     */
+    private final AtomicLongArray counts
+        = new AtomicLongArray(STRIPES * 2 * PADDING);
+
+}
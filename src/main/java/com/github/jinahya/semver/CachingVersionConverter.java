@@ -0,0 +1,101 @@
+/*
+ * Copyright 2015 Jin Kwon &lt;jinahya_at_gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.jinahya.semver;
+
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+
+/**
+ * A converter memoizing results of another converter in a bounded cache
+ * evicting the least recently used entries.
+ *
+ * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
+ */
+public class CachingVersionConverter implements VersionConverter {
+
+
+    /**
+     * Creates a new instance.
+     *
+     * @param converter the converter to memoize
+     * @param maximumSize the maximum number of cached results
+     */
+    public CachingVersionConverter(final VersionConverter converter,
+                                   final int maximumSize) {
+
+        super();
+
+        if (converter == null) {
+            throw new NullPointerException("null converter");
+        }
+
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException(
+                "maximumSize(" + maximumSize + ") <= 0");
+        }
+
+        this.converter = converter;
+        this.cache = new LinkedHashMap<String, NormalVersion>(16, .75f, true) {
+
+
+            private static final long serialVersionUID = 1L;
+
+
+            @Override
+            protected boolean removeEldestEntry(
+                final Map.Entry<String, NormalVersion> eldest) {
+
+                return size() > maximumSize;
+            }
+
+        };
+    }
+
+
+    /**
+     * {@inheritDoc} Failed conversions are not cached.
+     */
+    @Override
+    public NormalVersion convert(final CharSequence s) {
+
+        final String key = s.toString();
+
+        synchronized (cache) {
+            final NormalVersion cached = cache.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        final NormalVersion converted = converter.convert(key);
+
+        synchronized (cache) {
+            cache.put(key, converted);
+        }
+
+        return converted;
+    }
+
+
+    private final VersionConverter converter;
+
+
+    private final Map<String, NormalVersion> cache;
+
+}
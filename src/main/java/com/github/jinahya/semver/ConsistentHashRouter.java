@@ -0,0 +1,240 @@
+/*
+ * Copyright 2015 Jin Kwon &lt;jinahya_at_gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.jinahya.semver;
+
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+
+/**
+ * Routes versions to nodes on a consistent-hash ring so that adding or
+ * removing a node moves only the versions of that node.
+ * <p>
+ * Each node is placed on the ring at a number of points derived from the
+ * fingerprint of its string representation, which therefore must be stable
+ * and distinct among nodes. Versions are placed by their fingerprints; see
+ * {@link NormalVersion#getPrecedenceFingerprint()}.
+ * <p>
+ * Routing never locks; adding and removing nodes, which is expected to be
+ * rare, rebuilds the ring.
+ *
+ * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
+ * @param <N> node type parameter
+ */
+public class ConsistentHashRouter<N> {
+
+
+    /**
+     * Creates a new instance.
+     *
+     * @param replicas the number of points of each node on the ring
+     */
+    public ConsistentHashRouter(final int replicas) {
+
+        this(replicas, -1L);
+    }
+
+
+    /**
+     * Creates a new instance whose points are masked with specified mask,
+     * which lets tests make points collide.
+     */
+    ConsistentHashRouter(final int replicas, final long mask) {
+
+        super();
+
+        if (replicas <= 0) {
+            throw new IllegalArgumentException(
+                "replicas(" + replicas + ") <= 0");
+        }
+
+        this.replicas = replicas;
+        this.mask = mask;
+    }
+
+
+    private long point(final String name, final int replica, final int salt) {
+
+        long h = Fingerprints.hash(
+            Fingerprints.OFFSET_BASIS, name, 0, name.length());
+        h = Fingerprints.hash(Fingerprints.hash(h, '#'), replica);
+        if (salt > 0) {
+            h = Fingerprints.hash(Fingerprints.hash(h, '#'), salt);
+        }
+
+        return Fingerprints.mix(h) & mask;
+    }
+
+
+    /**
+     * Places all points of current nodes on a new ring. Nodes are placed in
+     * the order of their names and a point already taken is rehashed with
+     * a growing salt until a free one is found, so that the ring depends
+     * only on the set of nodes, not on the order they were added or
+     * removed in.
+     */
+    private void rebuild() {
+
+        final SortedMap<String, N> names = new TreeMap<String, N>();
+        for (final N node : nodes.keySet()) {
+            names.put(node.toString(), node);
+        }
+
+        final NavigableMap<Long, N> rebuilt = new TreeMap<Long, N>();
+        for (final Map.Entry<String, N> entry : names.entrySet()) {
+            for (int i = 0; i < replicas; i++) {
+                for (int salt = 0; ; salt++) {
+                    final long point = point(entry.getKey(), i, salt);
+                    if (!rebuilt.containsKey(point)) {
+                        rebuilt.put(point, entry.getValue());
+                        break;
+                    }
+                }
+            }
+        }
+
+        ring = rebuilt;
+    }
+
+
+    /**
+     * Adds a node.
+     *
+     * @param node the node to add
+     *
+     * @return {@code true} if added; {@code false} if already added
+     */
+    public synchronized boolean addNode(final N node) {
+
+        if (node == null) {
+            throw new NullPointerException("null node");
+        }
+
+        if (nodes.putIfAbsent(node, Boolean.TRUE) != null) {
+            return false;
+        }
+
+        rebuild();
+
+        return true;
+    }
+
+
+    /**
+     * Removes a node.
+     *
+     * @param node the node to remove
+     *
+     * @return {@code true} if removed; {@code false} if not added
+     */
+    public synchronized boolean removeNode(final N node) {
+
+        if (nodes.remove(node) == null) {
+            return false;
+        }
+
+        rebuild();
+
+        return true;
+    }
+
+
+    /**
+     * Returns the number of points on the ring.
+     */
+    int points() {
+
+        return ring.size();
+    }
+
+
+    /**
+     * Returns the node owning specified fingerprint.
+     *
+     * @param fingerprint the fingerprint
+     *
+     * @return the owning node
+     *
+     * @throws IllegalStateException if no node has been added
+     */
+    public N route(final long fingerprint) {
+
+        final NavigableMap<Long, N> ring = this.ring;
+        final long point = Fingerprints.mix(fingerprint) & mask;
+        Map.Entry<Long, N> entry = ring.ceilingEntry(point);
+        if (entry == null) {
+            entry = ring.firstEntry();
+        }
+
+        if (entry == null) {
+            throw new IllegalStateException("no nodes");
+        }
+
+        return entry.getValue();
+    }
+
+
+    /**
+     * Returns the node owning specified version. Versions of equal
+     * precedence are owned by the same node.
+     *
+     * @param version the version
+     *
+     * @return the owning node
+     *
+     * @throws IllegalStateException if no node has been added
+     */
+    public N route(final NormalVersion version) {
+
+        return route(version.getPrecedenceFingerprint());
+    }
+
+
+    /**
+     * Returns an unmodifiable view of added nodes.
+     *
+     * @return an unmodifiable set of nodes
+     */
+    public Set<N> getNodes() {
+
+        return Collections.unmodifiableSet(nodes.keySet());
+    }
+
+
+    private final int replicas;
+
+
+    private final long mask;
+
+
+    private final ConcurrentMap<N, Boolean> nodes
+        = new ConcurrentHashMap<N, Boolean>();
+
+
+    /**
+     * Points of nodes; replaced, never modified, on each change of nodes.
+     */
+    private volatile NavigableMap<Long, N> ring = new TreeMap<Long, N>();
+
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2015 Jin Kwon &lt;jinahya_at_gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.jinahya.semver;
+
+
+import java.util.Collection;
+import java.util.Map;
+
+
+/**
+ * A source of packages, their candidate versions and the dependencies of
+ * each version.
+ *
+ * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
+ * @see DependencyResolver
+ */
+public interface DependencyCatalog {
+
+
+    /**
+     * Returns candidate versions of specified package.
+     *
+     * @param name the name of the package
+     *
+     * @return candidate versions in any order; empty if unknown
+     */
+    Collection<NormalVersion> getVersions(String name);
+
+
+    /**
+     * Returns dependencies of specified version of specified package.
+     *
+     * @param name the name of the package
+     * @param version the version of the package
+     *
+     * @return a map of dependency names and constraints; empty if none
+     */
+    Map<String, VersionConstraint> getDependencies(String name,
+                                                   NormalVersion version);
+
+}
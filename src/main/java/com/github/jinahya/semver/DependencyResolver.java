@@ -0,0 +1,557 @@
+/*
+ * Copyright 2015 Jin Kwon &lt;jinahya_at_gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.jinahya.semver;
+
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/**
+ * Resolves a consistent assignment of versions, preferring higher versions,
+ * for packages of a {@link DependencyCatalog}.
+ * <p>
+ * The search backtracks with conflict-directed backjumping; when a package
+ * can't be satisfied, the search jumps back to the most recent package whose
+ * choice contributed to the conflict, and the combination of choices found
+ * to conflict is remembered so that it is never tried again. Candidate
+ * versions of each package are sorted once and cached across resolutions.
+ *
+ * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
+ */
+public class DependencyResolver {
+
+
+    /**
+     * A constraint on a package and the package imposing it.
+     */
+    private static final class Requirement {
+
+
+        Requirement(final String source, final VersionConstraint constraint) {
+
+            super();
+
+            this.source = source;
+            this.constraint = constraint;
+        }
+
+
+        /**
+         * The name of the package imposing; {@code null} for roots.
+         */
+        private final String source;
+
+
+        private final VersionConstraint constraint;
+
+    }
+
+
+    /**
+     * Requirements on a package and the candidates they still allow.
+     */
+    private static final class Domain implements Comparable<Domain> {
+
+
+        Domain(final String name, final List<NormalVersion> candidates,
+               final long sequence) {
+
+            super();
+
+            this.name = name;
+            this.candidates = candidates;
+            this.sequence = sequence;
+
+            excluded = new int[candidates.size()];
+            allowed = candidates.size();
+        }
+
+
+        /**
+         * Orders by the number of allowed candidates and then by the order
+         * of first requirement.
+         */
+        @Override
+        public int compareTo(final Domain o) {
+
+            if (allowed != o.allowed) {
+                return allowed < o.allowed ? -1 : 1;
+            }
+
+            return sequence < o.sequence ? -1
+                   : (sequence == o.sequence ? 0 : 1);
+        }
+
+
+        void add(final Requirement requirement) {
+
+            requirements.add(requirement);
+            for (int i = 0; i < excluded.length; i++) {
+                if (!requirement.constraint.isSatisfiedBy(candidates.get(i))
+                    && excluded[i]++ == 0) {
+                    allowed--;
+                }
+            }
+        }
+
+
+        void removeLast() {
+
+            final Requirement requirement
+                = requirements.remove(requirements.size() - 1);
+            for (int i = 0; i < excluded.length; i++) {
+                if (!requirement.constraint.isSatisfiedBy(candidates.get(i))
+                    && --excluded[i] == 0) {
+                    allowed++;
+                }
+            }
+        }
+
+
+        boolean isAllowed(final int index) {
+
+            return excluded[index] == 0;
+        }
+
+
+        private final String name;
+
+
+        /**
+         * Candidates in descending order of precedence.
+         */
+        private final List<NormalVersion> candidates;
+
+
+        private final long sequence;
+
+
+        private final List<Requirement> requirements
+            = new ArrayList<Requirement>();
+
+
+        /**
+         * The number of requirements excluding each candidate.
+         */
+        private final int[] excluded;
+
+
+        private int allowed;
+
+    }
+
+
+    /**
+     * A decision on a package; the position of the search at the package.
+     */
+    private static final class Frame {
+
+
+        Frame(final Domain domain) {
+
+            super();
+
+            this.domain = domain;
+
+            for (final Requirement requirement : domain.requirements) {
+                if (requirement.source != null) {
+                    conflict.add(requirement.source);
+                }
+            }
+        }
+
+
+        private final Domain domain;
+
+
+        /**
+         * Names of packages whose choices exclude candidates so far.
+         */
+        private final Set<String> conflict = new HashSet<String>();
+
+
+        /**
+         * The index of the candidate to try next.
+         */
+        private int next;
+
+
+        /**
+         * Dependencies of the assigned candidate; {@code null} if none
+         * assigned.
+         */
+        private Map<String, VersionConstraint> dependencies;
+
+    }
+
+
+    /**
+     * The state of a single resolution.
+     */
+    private final class Session {
+
+
+        Session(final Map<String, VersionConstraint> roots) {
+
+            super();
+
+            for (final Map.Entry<String, VersionConstraint> root
+                 : roots.entrySet()) {
+                require(root.getKey(), null, root.getValue());
+            }
+        }
+
+
+        private void require(final String name, final String source,
+                             final VersionConstraint constraint) {
+
+            Domain domain = domains.get(name);
+            if (domain == null) {
+                domain = new Domain(name, candidates(name), sequence++);
+                domains.put(name, domain);
+            }
+
+            final boolean open = !assignments.containsKey(name);
+            if (open) {
+                unassigned.remove(domain);
+            }
+            domain.add(new Requirement(source, constraint));
+            if (open) {
+                unassigned.add(domain);
+            }
+        }
+
+
+        private void unrequire(final String name) {
+
+            final Domain domain = domains.get(name);
+
+            final boolean open = !assignments.containsKey(name);
+            if (open) {
+                unassigned.remove(domain);
+            }
+            domain.removeLast();
+            if (domain.requirements.isEmpty()) {
+                domains.remove(name);
+            } else if (open) {
+                unassigned.add(domain);
+            }
+        }
+
+
+        private void assign(final Frame frame, final NormalVersion version,
+                            final Map<String, VersionConstraint> dependencies) {
+
+            unassigned.remove(frame.domain);
+            assignments.put(frame.domain.name, version);
+            frame.dependencies = dependencies;
+            for (final Map.Entry<String, VersionConstraint> dependency
+                 : dependencies.entrySet()) {
+                require(dependency.getKey(), frame.domain.name,
+                        dependency.getValue());
+            }
+        }
+
+
+        private void unassign(final Frame frame) {
+
+            final List<String> names
+                = new ArrayList<String>(frame.dependencies.keySet());
+            for (int i = names.size() - 1; i >= 0; i--) {
+                unrequire(names.get(i));
+            }
+            frame.dependencies = null;
+            assignments.remove(frame.domain.name);
+            unassigned.add(frame.domain);
+        }
+
+
+        private String key(final String name, final NormalVersion version) {
+
+            return name + '@' + version;
+        }
+
+
+        /**
+         * Returns the names of a learned conflict holding for the current
+         * assignments including {@code name}; {@code null} if none.
+         */
+        private Set<String> nogood(final String name,
+                                   final NormalVersion version) {
+
+            final List<Map<String, NormalVersion>> list
+                = nogoods.get(key(name, version));
+            if (list == null) {
+                return null;
+            }
+
+            for (final Map<String, NormalVersion> nogood : list) {
+                boolean holds = true;
+                for (final Map.Entry<String, NormalVersion> entry
+                     : nogood.entrySet()) {
+                    final NormalVersion assigned
+                        = assignments.get(entry.getKey());
+                    if (assigned == null
+                        || NormalVersions.totalOrder().compare(
+                            assigned, entry.getValue()) != 0) {
+                        holds = false;
+                        break;
+                    }
+                }
+                if (holds) {
+                    return nogood.keySet();
+                }
+            }
+
+            return null;
+        }
+
+
+        private void learn(final Set<String> conflict) {
+
+            if (conflict.isEmpty()) {
+                return;
+            }
+
+            final Map<String, NormalVersion> nogood
+                = new HashMap<String, NormalVersion>();
+            for (final String name : conflict) {
+                nogood.put(name, assignments.get(name));
+            }
+            for (final Map.Entry<String, NormalVersion> entry
+                 : nogood.entrySet()) {
+                final String key = key(entry.getKey(), entry.getValue());
+                List<Map<String, NormalVersion>> list = nogoods.get(key);
+                if (list == null) {
+                    list = new ArrayList<Map<String, NormalVersion>>();
+                    nogoods.put(key, list);
+                }
+                list.add(nogood);
+            }
+        }
+
+
+        /**
+         * Assigns the next viable candidate of specified frame's package.
+         *
+         * @return {@code true} if assigned; {@code false} if candidates are
+         * exhausted
+         */
+        private boolean advance(final Frame frame) {
+
+            final Domain domain = frame.domain;
+            while (frame.next < domain.candidates.size()) {
+                final int index = frame.next++;
+                if (!domain.isAllowed(index)) {
+                    continue;
+                }
+                final NormalVersion candidate = domain.candidates.get(index);
+                final Map<String, VersionConstraint> dependencies
+                    = catalog.getDependencies(domain.name, candidate);
+                boolean clashed = false;
+                for (final Map.Entry<String, VersionConstraint> dependency
+                     : dependencies.entrySet()) {
+                    final NormalVersion assigned
+                        = assignments.get(dependency.getKey());
+                    if (assigned != null
+                        && !dependency.getValue().isSatisfiedBy(assigned)) {
+                        frame.conflict.add(dependency.getKey());
+                        clashed = true;
+                    }
+                }
+                if (clashed) {
+                    continue;
+                }
+                assign(frame, candidate, dependencies);
+                final Set<String> known = nogood(domain.name, candidate);
+                if (known != null) {
+                    unassign(frame);
+                    frame.conflict.addAll(known);
+                    frame.conflict.remove(domain.name);
+                    continue;
+                }
+                return true;
+            }
+
+            return false;
+        }
+
+
+        /**
+         * Assigns all required packages. Decisions are kept on an explicit
+         * stack so that the depth of the search is not bounded by the depth
+         * of the thread's stack.
+         *
+         * @return {@code null} if succeeded; names of packages whose choices
+         * caused the failure otherwise
+         */
+        Set<String> solve() {
+
+            final Deque<Frame> trail = new ArrayDeque<Frame>();
+            Set<String> failed = null;
+
+            while (true) {
+                final Frame frame;
+                if (failed == null) {
+                    if (unassigned.isEmpty()) {
+                        return null;
+                    }
+                    frame = new Frame(unassigned.first());
+                    trail.push(frame);
+                } else {
+                    frame = trail.peek();
+                    unassign(frame);
+                    if (!failed.contains(frame.domain.name)) {
+                        // choosing another version of this package won't help
+                        trail.pop();
+                        if (trail.isEmpty()) {
+                            return failed;
+                        }
+                        continue;
+                    }
+                    failed.remove(frame.domain.name);
+                    frame.conflict.addAll(failed);
+                    failed = null;
+                }
+
+                if (!advance(frame)) {
+                    learn(frame.conflict);
+                    failed = frame.conflict;
+                    trail.pop();
+                    if (trail.isEmpty()) {
+                        return failed;
+                    }
+                }
+            }
+        }
+
+
+        private final Map<String, Domain> domains
+            = new HashMap<String, Domain>();
+
+
+        /**
+         * Domains of unassigned packages, the most constrained first.
+         */
+        private final SortedSet<Domain> unassigned = new TreeSet<Domain>();
+
+
+        private long sequence;
+
+
+        private final Map<String, NormalVersion> assignments
+            = new HashMap<String, NormalVersion>();
+
+
+        private final Map<String, List<Map<String, NormalVersion>>> nogoods
+            = new HashMap<String, List<Map<String, NormalVersion>>>();
+
+    }
+
+
+    /**
+     * Creates a new instance.
+     *
+     * @param catalog the catalog
+     */
+    public DependencyResolver(final DependencyCatalog catalog) {
+
+        super();
+
+        if (catalog == null) {
+            throw new NullPointerException("null catalog");
+        }
+
+        this.catalog = catalog;
+    }
+
+
+    /**
+     * Returns candidate versions of specified package in descending order of
+     * precedence.
+     */
+    private List<NormalVersion> candidates(final String name) {
+
+        List<NormalVersion> candidates = this.candidates.get(name);
+        if (candidates == null) {
+            final Collection<NormalVersion> versions
+                = catalog.getVersions(name);
+            final NormalVersion[] sorted
+                = versions.toArray(new NormalVersion[versions.size()]);
+            Arrays.sort(sorted, Collections.reverseOrder(
+                        NormalVersions.totalOrder()));
+            candidates = Collections.unmodifiableList(Arrays.asList(sorted));
+            this.candidates.put(name, candidates);
+        }
+
+        return candidates;
+    }
+
+
+    /**
+     * Resolves versions for specified root requirements and all their
+     * transitive dependencies.
+     *
+     * @param roots names of required packages mapped to their constraints
+     *
+     * @return a map of package names and resolved versions
+     *
+     * @throws IllegalArgumentException if {@code roots} can't be satisfied
+     */
+    public Map<String, NormalVersion> resolve(
+        final Map<String, VersionConstraint> roots) {
+
+        final Session session = new Session(roots);
+
+        if (session.solve() != null) {
+            throw new IllegalArgumentException("unsatisfiable: " + roots);
+        }
+
+        return new TreeMap<String, NormalVersion>(session.assignments);
+    }
+
+
+    /**
+     * Forgets cached candidates, for example, after the catalog has changed.
+     */
+    public void clearCache() {
+
+        candidates.clear();
+    }
+
+
+    private final DependencyCatalog catalog;
+
+
+    private final Map<String, List<NormalVersion>> candidates
+        = new ConcurrentHashMap<String, List<NormalVersion>>();
+
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2015 Jin Kwon &lt;jinahya_at_gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.jinahya.semver;
+
+
+/**
+ * 64-bit FNV-1a hashing over characters, which are all ASCII for versions,
+ * without creating strings.
+ *
+ * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
+ */
+final class Fingerprints {
+
+
+    static final long OFFSET_BASIS = 0xcbf29ce484222325L;
+
+
+    private static final long PRIME = 0x100000001b3L;
+
+
+    static long hash(final long h, final char c) {
+
+        return (h ^ c) * PRIME;
+    }
+
+
+    static long hash(long h, final CharSequence s, final int start,
+                     final int end) {
+
+        for (int i = start; i < end; i++) {
+            h = (h ^ s.charAt(i)) * PRIME;
+        }
+
+        return h;
+    }
+
+
+    /**
+     * Hashes the decimal digits of a non-negative value.
+     */
+    static long hash(long h, final int value) {
+
+        int divisor = 1;
+        while (value / divisor >= 10) {
+            divisor *= 10;
+        }
+
+        for (; divisor > 0; divisor /= 10) {
+            h = (h ^ ('0' + value / divisor % 10)) * PRIME;
+        }
+
+        return h;
+    }
+
+
+    /**
+     * Spreads bits of a hash, for example, before placing it on a ring.
+     */
+    static long mix(long h) {
+
+        h = (h ^ (h >>> 30)) * 0xbf58476d1ce4e5b9L;
+        h = (h ^ (h >>> 27)) * 0x94d049bb133111ebL;
+
+        return h ^ (h >>> 31);
+    }
+
+
+    private Fingerprints() {
+
+        super();
+    }
+
+}
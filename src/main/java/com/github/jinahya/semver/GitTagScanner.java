@@ -0,0 +1,419 @@
+/*
+ * Copyright 2015 Jin Kwon &lt;jinahya_at_gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.jinahya.semver;
+
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * Scans tags of a local git repository for semantic versions without running
+ * {@code git}.
+ * <p>
+ * Tags are read from {@code packed-refs}, which is memory-mapped and parsed
+ * in place, and from loose files under {@code refs/tags}, which take
+ * precedence over packed ones of the same name. A tag is recognized when its
+ * name, with or without a leading {@code v}, is a valid version; other tags
+ * are ignored.
+ * <p>
+ * A {@code .git} file of a linked worktree or a submodule, which holds a
+ * {@code gitdir:} line, is followed to the actual git directory. Refs are read
+ * from the directory named by its {@code commondir} file, if any, where tags
+ * and {@code packed-refs} of linked worktrees are shared.
+ *
+ * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
+ */
+public class GitTagScanner {
+
+
+    /**
+     * A read-only view of ASCII bytes as characters.
+     */
+    private static final class Bytes implements CharSequence {
+
+
+        Bytes(final ByteBuffer buffer) {
+
+            super();
+
+            this.buffer = buffer;
+        }
+
+
+        @Override
+        public int length() {
+
+            return buffer.limit();
+        }
+
+
+        @Override
+        public char charAt(final int index) {
+
+            return (char) (buffer.get(index) & 0xFF);
+        }
+
+
+        @Override
+        public CharSequence subSequence(final int start, final int end) {
+
+            final char[] chars = new char[end - start];
+            for (int i = 0; i < chars.length; i++) {
+                chars[i] = charAt(start + i);
+            }
+
+            return new String(chars);
+        }
+
+
+        @Override
+        public String toString() {
+
+            return subSequence(0, length()).toString();
+        }
+
+
+        private final ByteBuffer buffer;
+
+    }
+
+
+    private static final String TAGS = "refs/tags/";
+
+
+    private static final String GITDIR = "gitdir:";
+
+
+    private static final Comparator<Map.Entry<String, NormalVersion>> ORDER
+        = new Comparator<Map.Entry<String, NormalVersion>>() {
+
+
+            @Override
+            public int compare(final Map.Entry<String, NormalVersion> o1,
+                               final Map.Entry<String, NormalVersion> o2) {
+
+                final int order = NormalVersions.totalOrder().compare(
+                    o1.getValue(), o2.getValue());
+                if (order != 0) {
+                    return order;
+                }
+
+                return o1.getKey().compareTo(o2.getKey());
+            }
+
+        };
+
+
+    /**
+     * Parses a version from specified range of a tag name.
+     *
+     * @return the version; {@code null} if the range is not a version
+     */
+    private static NormalVersion parse(final CharSequence s, int start,
+                                       final int end) {
+
+        if (start < end && s.charAt(start) == 'v') {
+            start++;
+        }
+
+        // cheap check to avoid exceptions for most of non-version tags
+        if (start == end || s.charAt(start) < '0' || s.charAt(start) > '9') {
+            return null;
+        }
+
+        try {
+            return NormalVersion.valueOf(s, start, end);
+        } catch (final IllegalArgumentException iae) {
+            return null;
+        }
+    }
+
+
+    /**
+     * Creates a new instance.
+     *
+     * @param directory the git directory, or a working tree containing a
+     * {@code .git} directory or file
+     */
+    public GitTagScanner(final File directory) {
+
+        super();
+
+        if (directory == null) {
+            throw new NullPointerException("null directory");
+        }
+
+        this.directory = directory;
+    }
+
+
+    /**
+     * Reads the first line of specified file.
+     *
+     * @return the line with surrounding whitespace removed; {@code null} if
+     * the file is empty
+     */
+    private static String firstLine(final File file) throws IOException {
+
+        final BufferedReader reader = new BufferedReader(new InputStreamReader(
+            new FileInputStream(file), "UTF-8"));
+        try {
+            final String line = reader.readLine();
+            return line == null ? null : line.trim();
+        } finally {
+            reader.close();
+        }
+    }
+
+
+    /**
+     * Resolves a path read from a file against specified directory.
+     */
+    private static File resolve(final File directory, final String path) {
+
+        final File file = new File(path);
+
+        return file.isAbsolute() ? file : new File(directory, path);
+    }
+
+
+    /**
+     * Resolves the directory where refs are kept.
+     */
+    private File refs() throws IOException {
+
+        File git = new File(directory, ".git");
+        if (git.isFile()) {
+            final String line = firstLine(git);
+            if (line == null || !line.startsWith(GITDIR)) {
+                throw new IOException("not a gitdir file: " + git);
+            }
+            git = resolve(directory, line.substring(GITDIR.length()).trim());
+        } else if (!git.isDirectory()) {
+            git = directory;
+        }
+
+        final File common = new File(git, "commondir");
+        if (common.isFile()) {
+            final String line = firstLine(common);
+            if (line != null && !line.isEmpty()) {
+                return resolve(git, line);
+            }
+        }
+
+        return git;
+    }
+
+
+    private static void scanPacked(final File directory,
+                                   final Map<String, NormalVersion> tags)
+        throws IOException {
+
+        final File file = new File(directory, "packed-refs");
+        if (!file.isFile()) {
+            return;
+        }
+
+        final RandomAccessFile raf = new RandomAccessFile(file, "r");
+        try {
+            final FileChannel channel = raf.getChannel();
+            final long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("too large: " + file);
+            }
+            final ByteBuffer buffer = channel.map(
+                FileChannel.MapMode.READ_ONLY, 0L, size);
+            final Bytes bytes = new Bytes(buffer);
+            final int limit = buffer.limit();
+            int start = 0;
+            while (start < limit) {
+                int end = start;
+                while (end < limit && buffer.get(end) != '\n') {
+                    end++;
+                }
+                final int next = end + 1;
+                if (end > start && buffer.get(end - 1) == '\r') {
+                    end--;
+                }
+                // "<object-name> refs/tags/<name>"; skips comments and peeled
+                // lines which start with '#' and '^'
+                if (end > start && buffer.get(start) != '#'
+                    && buffer.get(start) != '^') {
+                    int name = start;
+                    while (name < end && buffer.get(name) != ' ') {
+                        name++;
+                    }
+                    name++;
+                    if (startsWith(buffer, name, end, TAGS)) {
+                        name += TAGS.length();
+                        final NormalVersion version = parse(bytes, name, end);
+                        if (version != null) {
+                            tags.put(bytes.subSequence(name, end).toString(),
+                                     version);
+                        }
+                    }
+                }
+                start = next;
+            }
+        } finally {
+            raf.close();
+        }
+    }
+
+
+    private static boolean startsWith(final ByteBuffer buffer, final int start,
+                                      final int end, final String prefix) {
+
+        if (end - start < prefix.length()) {
+            return false;
+        }
+
+        for (int i = 0; i < prefix.length(); i++) {
+            if (buffer.get(start + i) != prefix.charAt(i)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+
+    private static void scanLoose(final File file, final String name,
+                           final Map<String, NormalVersion> tags) {
+
+        final File[] children = file.listFiles();
+        if (children == null) {
+            return;
+        }
+
+        for (final File child : children) {
+            final String path = name + child.getName();
+            if (child.isDirectory()) {
+                scanLoose(child, path + '/', tags);
+                continue;
+            }
+            final NormalVersion version = parse(path, 0, path.length());
+            if (version != null) {
+                tags.put(path, version);
+            }
+        }
+    }
+
+
+    private Map<String, NormalVersion> collect() throws IOException {
+
+        final Map<String, NormalVersion> tags
+            = new HashMap<String, NormalVersion>();
+
+        final File refs = refs();
+        scanPacked(refs, tags);
+        scanLoose(new File(refs, TAGS), "", tags);
+
+        return tags;
+    }
+
+
+    /**
+     * Scans tags of versions.
+     *
+     * @return an unmodifiable map of tag names and versions, in ascending
+     * order of precedence
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    public Map<String, NormalVersion> scan() throws IOException {
+
+        final Map<String, NormalVersion> tags = collect();
+
+        final List<Map.Entry<String, NormalVersion>> entries
+            = new ArrayList<Map.Entry<String, NormalVersion>>(
+                tags.entrySet());
+        Collections.sort(entries, ORDER);
+
+        final Map<String, NormalVersion> sorted
+            = new LinkedHashMap<String, NormalVersion>(entries.size() * 2);
+        for (final Map.Entry<String, NormalVersion> entry : entries) {
+            sorted.put(entry.getKey(), entry.getValue());
+        }
+
+        return Collections.unmodifiableMap(sorted);
+    }
+
+
+    /**
+     * Scans tags of versions into an index.
+     *
+     * @return an index of tagged versions
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    public VersionIndex index() throws IOException {
+
+        return new VersionIndex.Builder().versions(collect().values()).build();
+    }
+
+
+    /**
+     * Finds the tag of the highest version without any pre-release version.
+     * Among tags of equal precedence, the one first in the order of
+     * {@link #scan()} is found.
+     *
+     * @return the tag name; {@code null} if none found
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    public String latestStableTag() throws IOException {
+
+        Map.Entry<String, NormalVersion> latest = null;
+        for (final Map.Entry<String, NormalVersion> entry
+             : collect().entrySet()) {
+            if (entry.getValue().getPreReleaseVersion() != null) {
+                continue;
+            }
+            if (latest == null) {
+                latest = entry;
+                continue;
+            }
+            final int precedence
+                = entry.getValue().compareTo(latest.getValue());
+            if (precedence > 0 || (precedence == 0
+                                   && ORDER.compare(entry, latest) < 0)) {
+                latest = entry;
+            }
+        }
+
+        return latest == null ? null : latest.getKey();
+    }
+
+
+    private final File directory;
+
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2015 Jin Kwon &lt;jinahya_at_gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.jinahya.semver;
+
+
+import java.util.regex.Pattern;
+
+
+/**
+ * Holders of lazily compiled identifier patterns.
+ * <p>
+ * Each {@code IDENTIFIER_PATTERN} is inherited by, and read through, the
+ * class it belongs to, such as {@link NormalVersion#IDENTIFIER_PATTERN}.
+ * Since initializing a class doesn't initialize the interfaces it implements,
+ * a pattern is compiled only when it's read for the first time. Parsing and
+ * validation never read them.
+ * <p>
+ * The holders are public only so that the inherited constants are accessible,
+ * reflectively too, from any package. They exist solely to hold the patterns
+ * and are not meant to be implemented or referred to directly.
+ *
+ * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
+ * @see IdentifierValidator
+ */
+public final class IdentifierPatterns {
+
+
+    /**
+     * The holder of the pattern for major, minor and patch versions.
+     */
+    public interface NumericIdentifier {
+
+
+        /**
+         * A pre-compiled pattern for major, minor and patch versions.
+         */
+        Pattern IDENTIFIER_PATTERN = Pattern.compile("0|[1-9][0-9]*");
+
+    }
+
+
+    /**
+     * The holder of the pattern for identifiers of pre-release versions.
+     */
+    public interface PreReleaseIdentifier {
+
+
+        /**
+         * A pre-compiled pattern for identifiers.
+         */
+        Pattern IDENTIFIER_PATTERN
+            = Pattern.compile("0|([1-9A-Za-z-][0-9A-Za-z-]*)");
+
+    }
+
+
+    /**
+     * The holder of the pattern for identifiers of build metadata.
+     */
+    public interface BuildMetadataIdentifier {
+
+
+        /**
+         * A pre-compiled pattern for identifiers.
+         */
+        Pattern IDENTIFIER_PATTERN = Pattern.compile("[0-9A-Za-z-]+");
+
+    }
+
+
+    private IdentifierPatterns() {
+
+        super();
+    }
+
+}
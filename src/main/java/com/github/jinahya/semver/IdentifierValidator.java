@@ -0,0 +1,253 @@
+/*
+ * Copyright 2015 Jin Kwon &lt;jinahya_at_gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.jinahya.semver;
+
+
+import java.util.BitSet;
+
+
+/**
+ * Validators for each kind of identifiers. Each validator accepts exactly
+ * what the corresponding {@code IDENTIFIER_PATTERN} matches, using a table of
+ * ASCII character classes instead of a regular expression.
+ *
+ * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
+ * @see NormalVersion#IDENTIFIER_PATTERN
+ * @see PreReleaseVersion#IDENTIFIER_PATTERN
+ * @see BuildMetadata#IDENTIFIER_PATTERN
+ */
+public enum IdentifierValidator {
+
+
+    /**
+     * A validator for major, minor and patch versions.
+     */
+    NUMERIC {
+        @Override
+        public boolean isValid(final CharSequence s, final int start,
+                               final int end) {
+
+            return isDigits(s, start, end);
+        }
+    },
+    /**
+     * A validator for identifiers of pre-release versions.
+     */
+    PRE_RELEASE {
+        @Override
+        public boolean isValid(final CharSequence s, final int start,
+                               final int end) {
+
+            if (start >= end) {
+                return false;
+            }
+
+            if (s.charAt(start) == '0') {
+                return end - start == 1;
+            }
+
+            return isAlphanumerics(s, start, end);
+        }
+    },
+    /**
+     * A validator for identifiers of build metadata.
+     */
+    BUILD_METADATA {
+        @Override
+        public boolean isValid(final CharSequence s, final int start,
+                               final int end) {
+
+            return start < end && isAlphanumerics(s, start, end);
+        }
+    };
+
+
+    private static final byte DIGIT = 1;
+
+
+    private static final byte ALPHANUMERIC = 2;
+
+
+    /**
+     * Character classes of ASCII characters. A digit is also alphanumeric.
+     */
+    private static final byte[] CLASSES = new byte[128];
+
+
+    static {
+        for (char c = '0'; c <= '9'; c++) {
+            CLASSES[c] = DIGIT | ALPHANUMERIC;
+        }
+        for (char c = 'A'; c <= 'Z'; c++) {
+            CLASSES[c] = ALPHANUMERIC;
+        }
+        for (char c = 'a'; c <= 'z'; c++) {
+            CLASSES[c] = ALPHANUMERIC;
+        }
+        CLASSES['-'] = ALPHANUMERIC;
+    }
+
+
+    private static boolean is(final char c, final byte clazz) {
+
+        return c < 128 && (CLASSES[c] & clazz) != 0;
+    }
+
+
+    private static boolean isDigits(final CharSequence s, final int start,
+                                    final int end) {
+
+        if (start >= end) {
+            return false;
+        }
+
+        // no leading zero
+        if (s.charAt(start) == '0' && end - start > 1) {
+            return false;
+        }
+
+        for (int i = start; i < end; i++) {
+            if (!is(s.charAt(i), DIGIT)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+
+    private static boolean isAlphanumerics(final CharSequence s,
+                                           final int start, final int end) {
+
+        for (int i = start; i < end; i++) {
+            if (!is(s.charAt(i), ALPHANUMERIC)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+
+    /**
+     * Validates and parses a numeric identifier in a single pass.
+     *
+     * @param s the sequence
+     * @param start the start index, inclusive, of the identifier
+     * @param end the end index, exclusive, of the identifier
+     *
+     * @return the value of the identifier; {@code -1} if the identifier is
+     * not valid or doesn't fit in an {@code int}
+     */
+    static int parseNumeric(final CharSequence s, final int start,
+                            final int end) {
+
+        if (start >= end) {
+            return -1;
+        }
+
+        if (s.charAt(start) == '0') {
+            return end - start == 1 ? 0 : -1;
+        }
+
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            final char c = s.charAt(i);
+            if (!is(c, DIGIT)) {
+                return -1;
+            }
+            final int digit = c - '0';
+            if (value > (Integer.MAX_VALUE - digit) / 10) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+
+        return value;
+    }
+
+
+    /**
+     * Checks whether specified range of a sequence is a valid identifier.
+     *
+     * @param s the sequence
+     * @param start the start index, inclusive
+     * @param end the end index, exclusive
+     *
+     * @return {@code true} if valid; {@code false} otherwise
+     */
+    public abstract boolean isValid(CharSequence s, int start, int end);
+
+
+    /**
+     * Checks whether specified sequence is a valid identifier.
+     *
+     * @param s the sequence
+     *
+     * @return {@code true} if valid; {@code false} otherwise
+     */
+    public boolean isValid(final CharSequence s) {
+
+        return isValid(s, 0, s.length());
+    }
+
+
+    /**
+     * Validates each of specified identifiers.
+     *
+     * @param identifiers the identifiers to validate; {@code null} elements
+     * are regarded as invalid
+     *
+     * @return a bit set whose {@code i}-th bit is set if
+     * {@code identifiers[i]} is not valid
+     */
+    public BitSet validate(final CharSequence[] identifiers) {
+
+        final BitSet invalids = new BitSet(identifiers.length);
+
+        for (int i = 0; i < identifiers.length; i++) {
+            if (identifiers[i] == null || !isValid(identifiers[i])) {
+                invalids.set(i);
+            }
+        }
+
+        return invalids;
+    }
+
+
+    /**
+     * Checks whether specified identifier is valid.
+     *
+     * @param <T> identifier type parameter
+     * @param identifier the identifier to check
+     *
+     * @return given {@code identifier}
+     *
+     * @throws NullPointerException if {@code identifier} is {@code null}
+     * @throws IllegalArgumentException if {@code identifier} is not valid
+     */
+    public <T extends CharSequence> T requireValid(final T identifier) {
+
+        if (!isValid(identifier)) {
+            throw new IllegalArgumentException(
+                "invalid identifier: " + identifier);
+        }
+
+        return identifier;
+    }
+
+}
@@ -0,0 +1,406 @@
+/*
+ * Copyright 2015 Jin Kwon &lt;jinahya_at_gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.jinahya.semver;
+
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+
+/**
+ * A compact sequence of dot-separated identifiers backed by a single string
+ * and an array of offsets.
+ *
+ * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
+ */
+final class Identifiers {
+
+
+    /**
+     * A read-only view of a range of a string.
+     */
+    static final class View implements CharSequence {
+
+
+        View(final String string, final int start, final int end) {
+
+            super();
+
+            this.string = string;
+            this.start = start;
+            this.end = end;
+        }
+
+
+        @Override
+        public int length() {
+
+            return end - start;
+        }
+
+
+        @Override
+        public char charAt(final int index) {
+
+            if (index < 0 || index >= end - start) {
+                throw new IndexOutOfBoundsException(
+                    "index(" + index + ") out of range");
+            }
+
+            return string.charAt(start + index);
+        }
+
+
+        @Override
+        public CharSequence subSequence(final int start, final int end) {
+
+            if (start < 0 || end > this.end - this.start || start > end) {
+                throw new IndexOutOfBoundsException(
+                    "start(" + start + "), end(" + end + ")");
+            }
+
+            return new View(string, this.start + start, this.start + end);
+        }
+
+
+        @Override
+        public String toString() {
+
+            return string.substring(start, end);
+        }
+
+
+        private final String string;
+
+
+        private final int start;
+
+
+        private final int end;
+
+    }
+
+
+    /**
+     * Class for accumulating identifiers.
+     */
+    static final class Builder {
+
+
+        /**
+         * Appends the identifier in the range of specified sequence. The
+         * identifier must already be validated and the sequence must not
+         * change until {@link #build()}.
+         */
+        Builder add(final CharSequence s, final int start, final int end) {
+
+            if (count + 1 == offsets.length) {
+                offsets = Arrays.copyOf(offsets, offsets.length << 1);
+            }
+
+            if (joined == null) {
+                // while identifiers are adjacent ranges of a single sequence,
+                // only the range is tracked and nothing is copied
+                if (count == 0) {
+                    source = s;
+                    sourceStart = start;
+                    sourceEnd = end;
+                    offsets[count++] = 0;
+                    return this;
+                }
+                if (s == source && start == sourceEnd + 1
+                    && s.charAt(sourceEnd) == '.') {
+                    offsets[count++] = start - sourceStart;
+                    sourceEnd = end;
+                    return this;
+                }
+                joined = new StringBuilder().append(
+                    source, sourceStart, sourceEnd);
+                source = null;
+            }
+
+            joined.append('.');
+            offsets[count++] = joined.length();
+            joined.append(s, start, end);
+
+            return this;
+        }
+
+
+        Builder add(final Identifiers identifiers) {
+
+            for (int i = 0; i < identifiers.size(); i++) {
+                add(identifiers.joined, identifiers.start(i),
+                    identifiers.end(i));
+            }
+
+            return this;
+        }
+
+
+        boolean isEmpty() {
+
+            return count == 0;
+        }
+
+
+        Identifiers build() {
+
+            final String string;
+            if (joined != null) {
+                string = joined.toString();
+            } else if (count > 0) {
+                string = source.subSequence(sourceStart, sourceEnd)
+                    .toString();
+            } else {
+                string = "";
+            }
+
+            final int[] built = Arrays.copyOf(offsets, count + 1);
+            built[count] = string.length() + 1;
+
+            return new Identifiers(string, built);
+        }
+
+
+        private CharSequence source;
+
+
+        private int sourceStart;
+
+
+        private int sourceEnd;
+
+
+        private StringBuilder joined;
+
+
+        private int[] offsets = new int[4];
+
+
+        private int count;
+
+    }
+
+
+    /**
+     * Compares two ranges of strings lexically in ASCII sort order.
+     */
+    static int compare(final CharSequence s1, final int start1,
+                       final int end1, final CharSequence s2,
+                       final int start2, final int end2) {
+
+        final int length1 = end1 - start1;
+        final int length2 = end2 - start2;
+        final int length = Math.min(length1, length2);
+        for (int i = 0; i < length; i++) {
+            final int compared
+                = s1.charAt(start1 + i) - s2.charAt(start2 + i);
+            if (compared != 0) {
+                return compared;
+            }
+        }
+
+        return length1 - length2;
+    }
+
+
+    /**
+     * Compares two lists of identifiers by the precedence of pre-release
+     * versions. Each list is a sequence and the offsets, in the form kept by
+     * this class, of its identifiers.
+     */
+    static int comparePrecedence(final CharSequence s1, final int[] offsets1,
+                                 final int size1, final CharSequence s2,
+                                 final int[] offsets2, final int size2) {
+
+        for (int i = 0; i < size1 && i < size2; i++) {
+            final int start1 = offsets1[i];
+            final int end1 = offsets1[i + 1] - 1;
+            final int start2 = offsets2[i];
+            final int end2 = offsets2[i + 1] - 1;
+            final boolean numeric1
+                = IdentifierValidator.NUMERIC.isValid(s1, start1, end1);
+            final boolean numeric2
+                = IdentifierValidator.NUMERIC.isValid(s2, start2, end2);
+            // Numeric identifiers always have lower precedence than
+            // non-numeric identifiers.
+            if (numeric1 && !numeric2) {
+                return -1;
+            }
+            if (!numeric1 && numeric2) {
+                return 1;
+            }
+            // identifiers consisting of only digits are compared
+            // numerically; having no leading zeros, a longer one is greater
+            if (numeric1 && numeric2) {
+                final int numerically = (end1 - start1) - (end2 - start2);
+                if (numerically != 0) {
+                    return numerically;
+                }
+            }
+            // identifiers with letters or hyphens are compared lexically in
+            // ASCII sort order
+            final int lexically = compare(s1, start1, end1, s2, start2, end2);
+            if (lexically != 0) {
+                return lexically;
+            }
+        }
+        // A larger set of pre-release fields has a higher precedence
+        // than a smaller set, if all of the preceding identifiers are
+        // equal.
+
+        return size1 - size2;
+    }
+
+
+    /**
+     * Compares identifiers, in the form kept by this class, to specified
+     * identifiers by the precedence of pre-release versions.
+     */
+    static int comparePrecedence(final CharSequence s, final int[] offsets,
+                                 final int size, final Identifiers o) {
+
+        return comparePrecedence(s, offsets, size, o.joined, o.offsets,
+                                 o.size());
+    }
+
+
+    Identifiers(final String joined, final int[] offsets) {
+
+        super();
+
+        this.joined = joined;
+        this.offsets = offsets;
+    }
+
+
+    int comparePrecedence(final Identifiers o) {
+
+        return comparePrecedence(joined, offsets, size(), o);
+    }
+
+
+    int size() {
+
+        return offsets.length - 1;
+    }
+
+
+    int start(final int index) {
+
+        return offsets[index];
+    }
+
+
+    int end(final int index) {
+
+        return offsets[index + 1] - 1;
+    }
+
+
+    String get(final int index) {
+
+        return joined.substring(start(index), end(index));
+    }
+
+
+    CharSequence view(final int index) {
+
+        return new View(joined, start(index), end(index));
+    }
+
+
+    /**
+     * Returns an unmodifiable list of identifiers as strings. Each string is
+     * created on access.
+     */
+    List<String> strings() {
+
+        return new Strings();
+    }
+
+
+    /**
+     * Returns an unmodifiable list of views of identifiers.
+     */
+    List<CharSequence> views() {
+
+        return new Views();
+    }
+
+
+    private final class Strings extends AbstractList<String>
+        implements RandomAccess {
+
+
+        @Override
+        public String get(final int index) {
+
+            return Identifiers.this.get(index);
+        }
+
+
+        @Override
+        public int size() {
+
+            return Identifiers.this.size();
+        }
+
+    }
+
+
+    private final class Views extends AbstractList<CharSequence>
+        implements RandomAccess {
+
+
+        @Override
+        public CharSequence get(final int index) {
+
+            return view(index);
+        }
+
+
+        @Override
+        public int size() {
+
+            return Identifiers.this.size();
+        }
+
+    }
+
+
+    /**
+     * Returns the dot-separated identifiers.
+     *
+     * @return the dot-separated identifiers
+     */
+    @Override
+    public String toString() {
+
+        return joined;
+    }
+
+
+    private final String joined;
+
+
+    private final int[] offsets;
+
+}
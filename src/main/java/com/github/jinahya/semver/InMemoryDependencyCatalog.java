@@ -0,0 +1,205 @@
+/*
+ * Copyright 2015 Jin Kwon &lt;jinahya_at_gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.jinahya.semver;
+
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+
+/**
+ * An immutable {@link DependencyCatalog} held in memory. Versions of a package
+ * are distinguished by {@link NormalVersions#totalOrder()}.
+ *
+ * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
+ */
+public class InMemoryDependencyCatalog implements DependencyCatalog {
+
+
+    /**
+     * Versions of a package mapped to their dependencies.
+     */
+    private static final class Versions
+        extends TreeMap<NormalVersion, Map<String, VersionConstraint>> {
+
+
+        private static final long serialVersionUID = 1L;
+
+
+        Versions() {
+
+            super(NormalVersions.totalOrder());
+        }
+
+    }
+
+
+    /**
+     * Class for building {@link InMemoryDependencyCatalog}s.
+     */
+    public static class Builder {
+
+
+        /**
+         * Adds a version of a package.
+         *
+         * @param name the name of the package
+         * @param version the version
+         *
+         * @return this
+         */
+        public Builder version(final String name, final NormalVersion version) {
+
+            dependencies(name, version);
+
+            return this;
+        }
+
+
+        /**
+         * Adds a dependency of a version of a package. The version is added
+         * if not already.
+         *
+         * @param name the name of the package
+         * @param version the version
+         * @param dependency the name of the package depended on
+         * @param constraint the constraint of the dependency
+         *
+         * @return this
+         */
+        public Builder dependency(final String name,
+                                  final NormalVersion version,
+                                  final String dependency,
+                                  final VersionConstraint constraint) {
+
+            if (dependency == null) {
+                throw new NullPointerException("null dependency");
+            }
+
+            if (constraint == null) {
+                throw new NullPointerException("null constraint");
+            }
+
+            dependencies(name, version).put(dependency, constraint);
+
+            return this;
+        }
+
+
+        private Map<String, VersionConstraint> dependencies(
+            final String name, final NormalVersion version) {
+
+            if (name == null) {
+                throw new NullPointerException("null name");
+            }
+
+            if (version == null) {
+                throw new NullPointerException("null version");
+            }
+
+            Versions versions = packages.get(name);
+            if (versions == null) {
+                versions = new Versions();
+                packages.put(name, versions);
+            }
+
+            Map<String, VersionConstraint> dependencies = versions.get(version);
+            if (dependencies == null) {
+                dependencies = new LinkedHashMap<String, VersionConstraint>();
+                versions.put(version, dependencies);
+            }
+
+            return dependencies;
+        }
+
+
+        /**
+         * Builds an instance of {@code InMemoryDependencyCatalog}.
+         *
+         * @return an instance of {@code InMemoryDependencyCatalog}
+         */
+        public InMemoryDependencyCatalog build() {
+
+            final Map<String, Versions> copy = new HashMap<String, Versions>();
+            for (final Map.Entry<String, Versions> entry
+                 : packages.entrySet()) {
+                final Versions versions = new Versions();
+                for (final Map.Entry<NormalVersion, Map<String, VersionConstraint>> version
+                     : entry.getValue().entrySet()) {
+                    versions.put(version.getKey(), Collections.unmodifiableMap(
+                                 new LinkedHashMap<String, VersionConstraint>(
+                                     version.getValue())));
+                }
+                copy.put(entry.getKey(), versions);
+            }
+
+            return new InMemoryDependencyCatalog(copy);
+        }
+
+
+        private final Map<String, Versions> packages
+            = new HashMap<String, Versions>();
+
+    }
+
+
+    private InMemoryDependencyCatalog(final Map<String, Versions> packages) {
+
+        super();
+
+        this.packages = packages;
+    }
+
+
+    @Override
+    public Collection<NormalVersion> getVersions(final String name) {
+
+        final Versions versions = packages.get(name);
+        if (versions == null) {
+            return Collections.emptyList();
+        }
+
+        return Collections.unmodifiableSet(versions.keySet());
+    }
+
+
+    @Override
+    public Map<String, VersionConstraint> getDependencies(
+        final String name, final NormalVersion version) {
+
+        final Versions versions = packages.get(name);
+        if (versions == null) {
+            return Collections.emptyMap();
+        }
+
+        final Map<String, VersionConstraint> dependencies
+            = versions.get(version);
+        if (dependencies == null) {
+            return Collections.emptyMap();
+        }
+
+        return dependencies;
+    }
+
+
+    private final Map<String, Versions> packages;
+
+}
@@ -0,0 +1,450 @@
+/*
+ * Copyright 2015 Jin Kwon &lt;jinahya_at_gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.jinahya.semver;
+
+
+/**
+ * A reusable, mutable view of a version in a slice of characters or ASCII
+ * bytes.
+ * <p>
+ * Each {@code parse} method re-points this view at a new slice and validates
+ * it exactly as {@link NormalVersion#valueOf(java.lang.String)} does, without
+ * allocating and without throwing for invalid input. The major, minor and
+ * patch versions are parsed while the pre-release identifiers and the build
+ * metadata are exposed as ranges of the slice, in the indices of the source
+ * it was given. A view can be compared to {@link NormalVersion}s, also
+ * without allocating.
+ * <p>
+ * The source must not change while it is viewed. Instances are not safe for
+ * use by multiple threads; each thread is expected to keep its own.
+ *
+ * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
+ */
+public final class MutableVersionView {
+
+
+    /**
+     * The current source as a sequence in its own indices.
+     */
+    private final class Source implements CharSequence {
+
+
+        @Override
+        public int length() {
+
+            return end;
+        }
+
+
+        @Override
+        public char charAt(final int index) {
+
+            if (bytes != null) {
+                return (char) (bytes[index] & 0xFF);
+            }
+
+            if (chars != null) {
+                return chars[index];
+            }
+
+            return sequence.charAt(index);
+        }
+
+
+        @Override
+        public CharSequence subSequence(final int start, final int end) {
+
+            final char[] copied = new char[end - start];
+            for (int i = 0; i < copied.length; i++) {
+                copied[i] = charAt(start + i);
+            }
+
+            return new String(copied);
+        }
+
+
+        @Override
+        public String toString() {
+
+            return subSequence(start, end).toString();
+        }
+
+    }
+
+
+    /**
+     * Re-points this view at specified range of a sequence.
+     *
+     * @param s the sequence
+     * @param start the start index, inclusive
+     * @param end the end index, exclusive
+     *
+     * @return {@code true} if the range is a valid version; {@code false}
+     * otherwise
+     */
+    public boolean parse(final CharSequence s, final int start,
+                         final int end) {
+
+        if (s == null) {
+            throw new NullPointerException("null sequence");
+        }
+
+        sequence = s;
+        chars = null;
+        bytes = null;
+
+        return parse(start, end, s.length());
+    }
+
+
+    /**
+     * Re-points this view at specified sequence.
+     *
+     * @param s the sequence
+     *
+     * @return {@code true} if the sequence is a valid version; {@code false}
+     * otherwise
+     */
+    public boolean parse(final CharSequence s) {
+
+        return parse(s, 0, s.length());
+    }
+
+
+    /**
+     * Re-points this view at specified range of an array of characters.
+     *
+     * @param chars the array
+     * @param offset the start index of the range
+     * @param length the length of the range
+     *
+     * @return {@code true} if the range is a valid version; {@code false}
+     * otherwise
+     */
+    public boolean parse(final char[] chars, final int offset,
+                         final int length) {
+
+        if (chars == null) {
+            throw new NullPointerException("null chars");
+        }
+
+        sequence = null;
+        this.chars = chars;
+        bytes = null;
+
+        return parse(offset, offset + length, chars.length);
+    }
+
+
+    /**
+     * Re-points this view at specified range of an array of ASCII bytes.
+     *
+     * @param bytes the array
+     * @param offset the start index of the range
+     * @param length the length of the range
+     *
+     * @return {@code true} if the range is a valid version; {@code false}
+     * otherwise
+     */
+    public boolean parse(final byte[] bytes, final int offset,
+                         final int length) {
+
+        if (bytes == null) {
+            throw new NullPointerException("null bytes");
+        }
+
+        sequence = null;
+        chars = null;
+        this.bytes = bytes;
+
+        return parse(offset, offset + length, bytes.length);
+    }
+
+
+    private boolean parse(final int start, final int end, final int limit) {
+
+        if (start < 0 || end < start || end > limit) {
+            throw new IndexOutOfBoundsException(
+                "start: " + start + ", end: " + end + ", length: " + limit);
+        }
+
+        this.start = start;
+        this.end = end;
+
+        return parser.parse(source, start, end);
+    }
+
+
+    /**
+     * Checks whether the current slice is a valid version.
+     *
+     * @return {@code true} if valid; {@code false} otherwise
+     */
+    public boolean isValid() {
+
+        return parser.isValid();
+    }
+
+
+    private void requireValid() {
+
+        if (!parser.isValid()) {
+            throw new IllegalStateException("not valid");
+        }
+    }
+
+
+    /**
+     * Returns the major version.
+     *
+     * @return the major version
+     *
+     * @throws IllegalStateException if the current slice is not valid
+     */
+    public int getMajorVersion() {
+
+        requireValid();
+
+        return parser.getMajorVersion();
+    }
+
+
+    /**
+     * Returns the minor version.
+     *
+     * @return the minor version
+     *
+     * @throws IllegalStateException if the current slice is not valid
+     */
+    public int getMinorVersion() {
+
+        requireValid();
+
+        return parser.getMinorVersion();
+    }
+
+
+    /**
+     * Returns the patch version.
+     *
+     * @return the patch version
+     *
+     * @throws IllegalStateException if the current slice is not valid
+     */
+    public int getPatchVersion() {
+
+        requireValid();
+
+        return parser.getPatchVersion();
+    }
+
+
+    /**
+     * Returns the number of pre-release identifiers.
+     *
+     * @return the number of pre-release identifiers; {@code 0} if the version
+     * is not a pre-release version
+     *
+     * @throws IllegalStateException if the current slice is not valid
+     */
+    public int getPreReleaseIdentifierCount() {
+
+        requireValid();
+
+        return parser.getPreReleaseCount();
+    }
+
+
+    private void requireIdentifierIndex(final int index) {
+
+        requireValid();
+
+        if (index < 0 || index >= parser.getPreReleaseCount()) {
+            throw new IndexOutOfBoundsException(
+                "index(" + index + ") out of range");
+        }
+    }
+
+
+    /**
+     * Returns the start index, inclusive, of specified pre-release
+     * identifier in the source.
+     *
+     * @param index the index of the identifier
+     *
+     * @return the start index of the identifier
+     *
+     * @throws IllegalStateException if the current slice is not valid
+     * @throws IndexOutOfBoundsException if {@code index} is out of range
+     */
+    public int getPreReleaseIdentifierStart(final int index) {
+
+        requireIdentifierIndex(index);
+
+        return parser.getPreReleaseOffsets()[index];
+    }
+
+
+    /**
+     * Returns the end index, exclusive, of specified pre-release identifier
+     * in the source.
+     *
+     * @param index the index of the identifier
+     *
+     * @return the end index of the identifier
+     *
+     * @throws IllegalStateException if the current slice is not valid
+     * @throws IndexOutOfBoundsException if {@code index} is out of range
+     */
+    public int getPreReleaseIdentifierEnd(final int index) {
+
+        requireIdentifierIndex(index);
+
+        return parser.getPreReleaseOffsets()[index + 1] - 1;
+    }
+
+
+    /**
+     * Returns the start index, inclusive, of the build metadata in the
+     * source.
+     *
+     * @return the start index of the build metadata; {@code -1} if none
+     *
+     * @throws IllegalStateException if the current slice is not valid
+     */
+    public int getBuildMetadataStart() {
+
+        requireValid();
+
+        return parser.getBuildMetadataStart();
+    }
+
+
+    /**
+     * Returns the end index, exclusive, of the build metadata in the source.
+     *
+     * @return the end index of the build metadata; {@code -1} if none
+     *
+     * @throws IllegalStateException if the current slice is not valid
+     */
+    public int getBuildMetadataEnd() {
+
+        requireValid();
+
+        return parser.getBuildMetadataEnd();
+    }
+
+
+    /**
+     * Compares the precedence of the viewed version with specified version.
+     *
+     * @param o the version to be compared
+     *
+     * @return a negative integer, zero, or a positive integer as the viewed
+     * version is less than, equal to, or greater than {@code o}
+     *
+     * @throws IllegalStateException if the current slice is not valid
+     *
+     * @see NormalVersion#compareTo(com.github.jinahya.semver.NormalVersion)
+     */
+    public int compareTo(final NormalVersion o) {
+
+        requireValid();
+
+        final int majorVersion = parser.getMajorVersion();
+        final int minorVersion = parser.getMinorVersion();
+        final int patchVersion = parser.getPatchVersion();
+        if (majorVersion != o.getMajorVersion()) {
+            return majorVersion < o.getMajorVersion() ? -1 : 1;
+        }
+
+        if (minorVersion != o.getMinorVersion()) {
+            return minorVersion < o.getMinorVersion() ? -1 : 1;
+        }
+
+        if (patchVersion != o.getPatchVersion()) {
+            return patchVersion < o.getPatchVersion() ? -1 : 1;
+        }
+
+        // a pre-release version has lower precedence than a normal version
+        final PreReleaseVersion preReleaseVersion = o.getPreReleaseVersion();
+        final int preReleaseCount = parser.getPreReleaseCount();
+        if (preReleaseCount == 0) {
+            return preReleaseVersion == null ? 0 : 1;
+        }
+        if (preReleaseVersion == null) {
+            return -1;
+        }
+
+        return Identifiers.comparePrecedence(
+            source, parser.getPreReleaseOffsets(), preReleaseCount,
+            preReleaseVersion.identifiers());
+    }
+
+
+    /**
+     * Creates an immutable version of the viewed version.
+     *
+     * @return a new version
+     *
+     * @throws IllegalStateException if the current slice is not valid
+     */
+    public NormalVersion toNormalVersion() {
+
+        requireValid();
+
+        return parser.toNormalVersion(source);
+    }
+
+
+    /**
+     * Returns the current slice as a string.
+     *
+     * @return the current slice; an empty string if never parsed
+     */
+    @Override
+    public String toString() {
+
+        if (sequence == null && chars == null && bytes == null) {
+            return "";
+        }
+
+        return source.toString();
+    }
+
+
+    private final Source source = new Source();
+
+
+    private CharSequence sequence;
+
+
+    private char[] chars;
+
+
+    private byte[] bytes;
+
+
+    private int start;
+
+
+    private int end;
+
+
+    private final VersionParser parser = new VersionParser();
+
+}
@@ -19,40 +19,27 @@ package com.github.jinahya.semver;
 
 import java.util.function.IntUnaryOperator;
 import java.util.function.UnaryOperator;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 
 /**
  *
  * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
  */
-public class NormalVersion implements Comparable<NormalVersion> {
+public class NormalVersion
+    implements Comparable<NormalVersion>,
+               IdentifierPatterns.NumericIdentifier {
 
 
-    private static final String IDENTIFIER_REGEX = "0|[1-9][0-9]*";
+    private static int parseIdentifier(final CharSequence s, final int start,
+                                       final int end) {
 
-
-    public static final Pattern IDENTIFIER_PATTERN
-        = Pattern.compile(IDENTIFIER_REGEX);
-
-
-    private static final String REGEXP
-        = "(\\d+)\\.(\\d+)\\.(\\d+)(-([^\\+]*))?(\\+(.+))?";
-
-
-    private static final Pattern PATTERN = Pattern.compile(REGEXP);
-
-
-    private static <T extends CharSequence> T requireValidIdentifier(
-        final T identifier) {
-
-        if (!IDENTIFIER_PATTERN.matcher(identifier).matches()) {
+        final int value = IdentifierValidator.parseNumeric(s, start, end);
+        if (value == -1) {
             throw new IllegalArgumentException(
-                "invalid identifier: " + identifier);
+                "invalid identifier: " + s.subSequence(start, end));
         }
 
-        return identifier;
+        return value;
     }
 
 
@@ -61,29 +48,25 @@ public class NormalVersion implements Comparable<NormalVersion> {
 
         public static Builder valueOf(final String s) {
 
-            final Matcher matcher = PATTERN.matcher(s);
-            if (!matcher.matches()) {
-                throw new IllegalArgumentException("invalid: " + s);
-            }
-
-            final Builder builder = new Builder()
-                .majorVersion(matcher.group(1))
-                .minorVersion(matcher.group(2))
-                .patchVersion(matcher.group(3));
-
-            final String preReleaseVersionString = matcher.group(5);
-            if (preReleaseVersionString != null) {
-                builder.preReeleaseVersion(
-                    PreReleaseVersion.valueOf(preReleaseVersionString));
-            }
+            return valueOf(s, 0, s.length());
+        }
 
-            final String buildMetadataString = matcher.group(7);
-            if (buildMetadataString != null) {
-                builder.buildMetadata(
-                    BuildMetadata.valueOf(buildMetadataString));
-            }
 
-            return builder;
+        /**
+         * Parses specified range of a sequence.
+         *
+         * @param s the sequence
+         * @param start the start index, inclusive
+         * @param end the end index, exclusive
+         *
+         * @return a new instance of {@code Builder}
+         *
+         * @throws IllegalArgumentException if the range is not valid
+         */
+        static Builder valueOf(final CharSequence s, final int start,
+                               final int end) {
+
+            return valueOf(NormalVersion.valueOf(s, start, end));
         }
 
 
@@ -124,7 +107,7 @@ public class NormalVersion implements Comparable<NormalVersion> {
 
         public Builder majorVersion(final String s) {
 
-            return majorVersion(Integer.parseInt(requireValidIdentifier(s)));
+            return majorVersion(parseIdentifier(s, 0, s.length()));
         }
 
 
@@ -158,7 +141,7 @@ public class NormalVersion implements Comparable<NormalVersion> {
 
         public Builder minorVersion(final String s) {
 
-            return minorVersion(Integer.parseInt(requireValidIdentifier(s)));
+            return minorVersion(parseIdentifier(s, 0, s.length()));
         }
 
 
@@ -188,7 +171,7 @@ public class NormalVersion implements Comparable<NormalVersion> {
 
         public Builder patchVersion(final String s) {
 
-            return patchVersion(Integer.parseInt(requireValidIdentifier(s)));
+            return patchVersion(parseIdentifier(s, 0, s.length()));
         }
 
 
@@ -265,13 +248,37 @@ public class NormalVersion implements Comparable<NormalVersion> {
 
     public static NormalVersion valueOf(final String s) {
 
-        return Builder.valueOf(s).build();
+        return valueOf(s, 0, s.length());
     }
 
 
-    private NormalVersion(final int major, final int minor, final int patch,
-                          final PreReleaseVersion release,
-                          final BuildMetadata metadata) {
+    /**
+     * Parses specified range of a sequence.
+     *
+     * @param s the sequence
+     * @param start the start index, inclusive
+     * @param end the end index, exclusive
+     *
+     * @return a new instance
+     *
+     * @throws IllegalArgumentException if the range is not valid
+     */
+    static NormalVersion valueOf(final CharSequence s, final int start,
+                                 final int end) {
+
+        final VersionParser parser = new VersionParser();
+        if (!parser.parse(s, start, end)) {
+            throw new IllegalArgumentException(
+                "invalid: " + s.subSequence(start, end));
+        }
+
+        return parser.toNormalVersion(s);
+    }
+
+
+    NormalVersion(final int major, final int minor, final int patch,
+                  final PreReleaseVersion release,
+                  final BuildMetadata metadata) {
 
         super();
 
@@ -280,6 +287,20 @@ public class NormalVersion implements Comparable<NormalVersion> {
         this.patchVersion = patch;
         this.preReleaseVersion = release;
         this.buildMetadata = metadata;
+
+        long h = Fingerprints.hash(Fingerprints.OFFSET_BASIS, major);
+        h = Fingerprints.hash(Fingerprints.hash(h, '.'), minor);
+        h = Fingerprints.hash(Fingerprints.hash(h, '.'), patch);
+        if (release != null) {
+            final String s = release.toString();
+            h = Fingerprints.hash(Fingerprints.hash(h, '-'), s, 0, s.length());
+        }
+        this.precedenceFingerprint = h;
+        if (metadata != null) {
+            final String s = metadata.toString();
+            h = Fingerprints.hash(Fingerprints.hash(h, '+'), s, 0, s.length());
+        }
+        this.fingerprint = h;
     }
 
 
@@ -295,7 +316,7 @@ public class NormalVersion implements Comparable<NormalVersion> {
             return majorCompared;
         }
 
-        final int minorCompared = getMajorVersion() - o.getMajorVersion();
+        final int minorCompared = getMinorVersion() - o.getMinorVersion();
         if (minorCompared != 0) {
             return minorCompared;
         }
@@ -330,22 +351,35 @@ public class NormalVersion implements Comparable<NormalVersion> {
     @Override
     public String toString() {
 
-        final StringBuilder builder = new StringBuilder()
-            .append(String.valueOf(getMajorVersion()))
+        return appendTo(new StringBuilder()).toString();
+    }
+
+
+    /**
+     * Appends the string representation of this version to specified builder
+     * without creating intermediate strings.
+     *
+     * @param builder the builder
+     *
+     * @return given {@code builder}
+     */
+    StringBuilder appendTo(final StringBuilder builder) {
+
+        builder.append(getMajorVersion())
             .append('.')
-            .append(String.valueOf(getMinorVersion()))
+            .append(getMinorVersion())
             .append('.')
-            .append(String.valueOf(getPatchVersion()));
+            .append(getPatchVersion());
 
         if (getPreReleaseVersion() != null) {
-            builder.append('-').append(getPreReleaseVersion());
+            builder.append('-').append(getPreReleaseVersion().toString());
         }
 
         if (getBuildMetadata() != null) {
-            builder.append('+').append(getBuildMetadata());
+            builder.append('+').append(getBuildMetadata().toString());
         }
 
-        return builder.toString();
+        return builder;
     }
 
 
@@ -500,6 +534,37 @@ public class NormalVersion implements Comparable<NormalVersion> {
     }
 
 
+    /**
+     * Returns a fingerprint which is equal for versions of equal precedence;
+     * that is, the 64-bit FNV-1a hash of the string representation without
+     * the build metadata part. The value is stable across releases and
+     * virtual machines.
+     *
+     * @return the precedence fingerprint
+     *
+     * @see #getFingerprint()
+     */
+    public long getPrecedenceFingerprint() {
+
+        return precedenceFingerprint;
+    }
+
+
+    /**
+     * Returns a fingerprint which is equal for identical versions; that is,
+     * the 64-bit FNV-1a hash of the string representation. The value is
+     * stable across releases and virtual machines.
+     *
+     * @return the exact fingerprint
+     *
+     * @see #getPrecedenceFingerprint()
+     */
+    public long getFingerprint() {
+
+        return fingerprint;
+    }
+
+
     private final int majorVersion;
 
 
@@ -514,5 +579,11 @@ public class NormalVersion implements Comparable<NormalVersion> {
 
     private final BuildMetadata buildMetadata;
 
+
+    private final long precedenceFingerprint;
+
+
+    private final long fingerprint;
+
 }
 
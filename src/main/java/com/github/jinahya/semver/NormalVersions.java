@@ -0,0 +1,147 @@
+/*
+ * Copyright 2015 Jin Kwon &lt;jinahya_at_gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.jinahya.semver;
+
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+
+
+/**
+ * Utilities for {@link NormalVersion}s.
+ *
+ * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
+ */
+public final class NormalVersions {
+
+
+    private static final Comparator<NormalVersion> TOTAL_ORDER
+        = new Comparator<NormalVersion>() {
+
+
+            @Override
+            public int compare(final NormalVersion o1, final NormalVersion o2) {
+
+                final int precedence = o1.compareTo(o2);
+                if (precedence != 0) {
+                    return precedence;
+                }
+
+                final BuildMetadata metadata1 = o1.getBuildMetadata();
+                final BuildMetadata metadata2 = o2.getBuildMetadata();
+                if (metadata1 == null) {
+                    return metadata2 == null ? 0 : -1;
+                }
+                if (metadata2 == null) {
+                    return 1;
+                }
+
+                return metadata1.compareTo(metadata2);
+            }
+
+        };
+
+
+    /**
+     * Returns a comparator which orders versions by their precedence and
+     * then by their build metadata. A version without any build metadata
+     * precedes the same version with build metadata.
+     *
+     * @return a comparator for the total order
+     *
+     * @see BuildMetadata#compareTo(com.github.jinahya.semver.BuildMetadata)
+     */
+    public static Comparator<NormalVersion> totalOrder() {
+
+        return TOTAL_ORDER;
+    }
+
+
+    /**
+     * Collapses consecutive versions of equal precedence, in place, keeping
+     * the first of each run.
+     *
+     * @param sorted an array sorted by precedence
+     * @param from the first index, inclusive
+     * @param to the last index, exclusive
+     *
+     * @return the index, exclusive, of the last retained version
+     */
+    public static int dedupe(final NormalVersion[] sorted, final int from,
+                             final int to) {
+
+        if (from < 0 || to > sorted.length || from > to) {
+            throw new IndexOutOfBoundsException(
+                "from(" + from + "), to(" + to + "), length(" + sorted.length
+                + ")");
+        }
+
+        if (from == to) {
+            return to;
+        }
+
+        int last = from;
+        for (int i = from + 1; i < to; i++) {
+            if (sorted[last].compareTo(sorted[i]) != 0) {
+                sorted[++last] = sorted[i];
+            }
+        }
+
+        return last + 1;
+    }
+
+
+    /**
+     * Returns a list of versions from specified sorted versions with
+     * consecutive versions of equal precedence collapsed into the first of
+     * each run.
+     *
+     * @param sorted versions sorted by precedence
+     *
+     * @return a new list of distinct versions
+     */
+    public static List<NormalVersion> dedupe(
+        final Iterable<NormalVersion> sorted) {
+
+        final List<NormalVersion> deduped = new ArrayList<NormalVersion>();
+
+        final Iterator<NormalVersion> i = sorted.iterator();
+        if (!i.hasNext()) {
+            return deduped;
+        }
+        NormalVersion last = i.next();
+        deduped.add(last);
+        while (i.hasNext()) {
+            final NormalVersion next = i.next();
+            if (last.compareTo(next) != 0) {
+                deduped.add(next);
+                last = next;
+            }
+        }
+
+        return deduped;
+    }
+
+
+    private NormalVersions() {
+
+        super();
+    }
+
+}
@@ -0,0 +1,341 @@
+/*
+ * Copyright 2015 Jin Kwon &lt;jinahya_at_gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.jinahya.semver;
+
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+
+/**
+ * An immutable trie of pre-release versions keyed by their sequences of
+ * pre-release identifiers, for channel queries such as all {@code rc} builds
+ * or the latest {@code beta}.
+ * <p>
+ * Each node keeps the versions of its subtree in ascending order of
+ * precedence, and then of build metadata, so that a query costs a walk down
+ * the queried identifiers and, for ranges, a binary search; never a scan of
+ * the whole index. Versions without any pre-release version are not indexed.
+ *
+ * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
+ * @see NormalVersions#totalOrder()
+ */
+public class PreReleaseIndex {
+
+
+    /**
+     * Class for building {@link PreReleaseIndex}es.
+     */
+    public static class Builder {
+
+
+        /**
+         * Adds versions. Versions without any pre-release version are
+         * ignored.
+         *
+         * @param version a version
+         * @param otherVersions more versions
+         *
+         * @return this
+         */
+        public Builder versions(final NormalVersion version,
+                                final NormalVersion... otherVersions) {
+
+            if (version == null) {
+                throw new NullPointerException("null version");
+            }
+            if (version.getPreReleaseVersion() != null) {
+                versions.add(version);
+            }
+
+            if (otherVersions != null) {
+                for (final NormalVersion otherVersion : otherVersions) {
+                    versions(otherVersion);
+                }
+            }
+
+            return this;
+        }
+
+
+        /**
+         * Adds versions. Versions without any pre-release version are
+         * ignored.
+         *
+         * @param versions versions
+         *
+         * @return this
+         */
+        public Builder versions(final Iterator<NormalVersion> versions) {
+
+            while (versions.hasNext()) {
+                versions(versions.next());
+            }
+
+            return this;
+        }
+
+
+        /**
+         * Adds versions. Versions without any pre-release version are
+         * ignored.
+         *
+         * @param versions versions
+         *
+         * @return this
+         */
+        public Builder versions(final Iterable<NormalVersion> versions) {
+
+            return versions(versions.iterator());
+        }
+
+
+        /**
+         * Builds an instance of {@code PreReleaseIndex}.
+         *
+         * @return an instance of {@code PreReleaseIndex}
+         */
+        public PreReleaseIndex build() {
+
+            final NormalVersion[] sorted
+                = versions.toArray(new NormalVersion[versions.size()]);
+            Arrays.sort(sorted, NormalVersions.totalOrder());
+
+            // appending in sorted order keeps each node's list sorted
+            final Node root = new Node();
+            for (final NormalVersion version : sorted) {
+                Node node = root;
+                node.versions.add(version);
+                for (final String identifier
+                     : version.getPreReleaseVersion().getIdentifiers()) {
+                    Node child = node.children.get(identifier);
+                    if (child == null) {
+                        child = new Node();
+                        node.children.put(identifier, child);
+                    }
+                    node = child;
+                    node.versions.add(version);
+                }
+            }
+
+            return new PreReleaseIndex(root.freeze());
+        }
+
+
+        private final List<NormalVersion> versions
+            = new ArrayList<NormalVersion>();
+
+    }
+
+
+    private static final class Node {
+
+
+        Node freeze() {
+
+            frozen = Collections.unmodifiableList(Arrays.asList(
+                versions.toArray(new NormalVersion[versions.size()])));
+            versions = null;
+            for (final Node child : children.values()) {
+                child.freeze();
+            }
+
+            return this;
+        }
+
+
+        private List<NormalVersion> versions = new ArrayList<NormalVersion>();
+
+
+        private List<NormalVersion> frozen;
+
+
+        private final SortedMap<String, Node> children
+            = new TreeMap<String, Node>();
+
+    }
+
+
+    private PreReleaseIndex(final Node root) {
+
+        super();
+
+        this.root = root;
+    }
+
+
+    private Node node(final String... identifiers) {
+
+        Node node = root;
+        for (final String identifier : identifiers) {
+            if (identifier == null) {
+                throw new NullPointerException("null identifier");
+            }
+            node = node.children.get(identifier);
+            if (node == null) {
+                return null;
+            }
+        }
+
+        return node;
+    }
+
+
+    /**
+     * Returns versions whose pre-release identifiers start with specified
+     * identifiers. For example, {@code find("rc")} finds {@code 1.0.0-rc}
+     * and {@code 2.0.0-rc.1} but not {@code 1.0.0-rc2}.
+     *
+     * @param identifiers the leading identifiers; none for all indexed
+     * versions
+     *
+     * @return an unmodifiable list of found versions in ascending order
+     */
+    public List<NormalVersion> find(final String... identifiers) {
+
+        final Node node = node(identifiers);
+
+        return node == null ? Collections.<NormalVersion>emptyList()
+               : node.frozen;
+    }
+
+
+    /**
+     * Returns versions, satisfying specified constraint, whose pre-release
+     * identifiers start with specified identifiers.
+     *
+     * @param constraint the constraint
+     * @param identifiers the leading identifiers
+     *
+     * @return an unmodifiable list of found versions in ascending order
+     */
+    public List<NormalVersion> find(final VersionConstraint constraint,
+                                    final String... identifiers) {
+
+        final List<NormalVersion> versions = find(identifiers);
+
+        // the first one not below the lower bound
+        int low = 0;
+        final NormalVersion lowerBound = constraint.getLowerBound();
+        if (lowerBound != null) {
+            int high = versions.size();
+            while (low < high) {
+                final int middle = (low + high) >>> 1;
+                final int compared
+                    = versions.get(middle).compareTo(lowerBound);
+                if (compared < 0
+                    || (compared == 0 && !constraint.isLowerBoundInclusive())) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+        }
+
+        final List<NormalVersion> found = new ArrayList<NormalVersion>();
+        final NormalVersion upperBound = constraint.getUpperBound();
+        for (int i = low; i < versions.size(); i++) {
+            final NormalVersion version = versions.get(i);
+            if (upperBound != null) {
+                final int compared = version.compareTo(upperBound);
+                if (compared > 0
+                    || (compared == 0 && !constraint.isUpperBoundInclusive())) {
+                    break;
+                }
+            }
+            if (constraint.isSatisfiedBy(version)) {
+                found.add(version);
+            }
+        }
+
+        return Collections.unmodifiableList(found);
+    }
+
+
+    /**
+     * Returns versions whose pre-release version starts with specified
+     * text, which may end in the middle of an identifier. For example,
+     * {@code findByPrefix("nightly.202610")} finds
+     * {@code 1.0.0-nightly.20261001} and {@code 1.0.0-nightly.20261002.1}.
+     *
+     * @param prefix the text
+     *
+     * @return an unmodifiable list of found versions in ascending order
+     */
+    public List<NormalVersion> findByPrefix(final String prefix) {
+
+        final int dot = prefix.lastIndexOf('.');
+        final String[] identifiers = dot == -1 ? new String[0]
+                                     : prefix.substring(0, dot).split("\\.");
+        final String partial = prefix.substring(dot + 1);
+
+        final Node node = node(identifiers);
+        if (node == null) {
+            return Collections.<NormalVersion>emptyList();
+        }
+        final SortedMap<String, Node> matched = node.children.subMap(
+            partial, partial + Character.MAX_VALUE);
+        if (matched.size() == 1) {
+            return matched.values().iterator().next().frozen;
+        }
+
+        final List<NormalVersion> found = new ArrayList<NormalVersion>();
+        for (final Map.Entry<String, Node> entry : matched.entrySet()) {
+            found.addAll(entry.getValue().frozen);
+        }
+        Collections.sort(found, NormalVersions.totalOrder());
+
+        return Collections.unmodifiableList(found);
+    }
+
+
+    /**
+     * Returns the version of highest precedence whose pre-release
+     * identifiers start with specified identifiers.
+     *
+     * @param identifiers the leading identifiers
+     *
+     * @return the latest version; {@code null} if none found
+     */
+    public NormalVersion latest(final String... identifiers) {
+
+        final List<NormalVersion> versions = find(identifiers);
+
+        return versions.isEmpty() ? null : versions.get(versions.size() - 1);
+    }
+
+
+    /**
+     * Returns the number of indexed versions.
+     *
+     * @return the number of indexed versions
+     */
+    public int size() {
+
+        return root.frozen.size();
+    }
+
+
+    private final Node root;
+
+}
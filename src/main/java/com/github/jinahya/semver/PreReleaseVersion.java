@@ -17,12 +17,8 @@
 package com.github.jinahya.semver;
 
 
-import java.math.BigInteger;
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
-import java.util.regex.Pattern;
 
 
 /**
@@ -30,18 +26,9 @@ import java.util.regex.Pattern;
  *
  * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
  */
-public class PreReleaseVersion implements Comparable<PreReleaseVersion> {
-
-
-    private static final String IDENTIFIER_REGEXP
-        = "0|([1-9A-Za-z-][0-9A-Za-z-]*)";
-
-
-    /**
-     * A pre-compiled pattern for identifiers.
-     */
-    public static final Pattern IDENTIFIER_PATTERN
-        = Pattern.compile(IDENTIFIER_REGEXP);
+public class PreReleaseVersion
+    implements Comparable<PreReleaseVersion>,
+               IdentifierPatterns.PreReleaseIdentifier {
 
 
     /**
@@ -60,12 +47,7 @@ public class PreReleaseVersion implements Comparable<PreReleaseVersion> {
     public static <T extends CharSequence> T requireValidIdentifier(
         final T identifier) {
 
-        if (!IDENTIFIER_PATTERN.matcher(identifier).matches()) {
-            throw new IllegalArgumentException(
-                "invalid identifier: " + identifier);
-        }
-
-        return identifier;
+        return IdentifierValidator.PRE_RELEASE.requireValid(identifier);
     }
 
 
@@ -88,9 +70,7 @@ public class PreReleaseVersion implements Comparable<PreReleaseVersion> {
 
             final Builder builder = new Builder();
 
-            for (final String identifier : s.split("\\.")) {
-                builder.identifiers(identifier);
-            }
+            builder.identifiers(s, 0, s.length());
 
             return builder;
         }
@@ -98,15 +78,40 @@ public class PreReleaseVersion implements Comparable<PreReleaseVersion> {
 
         public static Builder valueOf(final PreReleaseVersion built) {
 
-            return new Builder().identifiers(built.getIdentifiers());
+            final Builder builder = new Builder();
+
+            builder.identifiers.add(built.identifiers);
+
+            return builder;
         }
 
 
-        private void identifier(final String identifier) {
+        /**
+         * Adds dot-separated identifiers in specified range of a sequence.
+         */
+        Builder identifiers(final CharSequence s, final int start,
+                            final int end) {
 
-            for (final String token : identifier.split("\\.")) {
-                identifiers.add(requireValidIdentifier(token));
+            int from = start;
+            for (int i = start; i <= end; i++) {
+                if (i < end && s.charAt(i) != '.') {
+                    continue;
+                }
+                if (!IdentifierValidator.PRE_RELEASE.isValid(s, from, i)) {
+                    throw new IllegalArgumentException(
+                        "invalid identifier: " + s.subSequence(from, i));
+                }
+                identifiers.add(s, from, i);
+                from = i + 1;
             }
+
+            return this;
+        }
+
+
+        private void identifier(final String identifier) {
+
+            identifiers(identifier, 0, identifier.length());
         }
 
 
@@ -162,11 +167,12 @@ public class PreReleaseVersion implements Comparable<PreReleaseVersion> {
                 throw new IllegalStateException("no identifiers");
             }
 
-            return new PreReleaseVersion(identifiers);
+            return new PreReleaseVersion(identifiers.build());
         }
 
 
-        private final List<String> identifiers = new ArrayList<String>();
+        private final Identifiers.Builder identifiers
+            = new Identifiers.Builder();
 
     }
 
@@ -177,78 +183,24 @@ public class PreReleaseVersion implements Comparable<PreReleaseVersion> {
     }
 
 
-    private PreReleaseVersion(final List<String> identifiers) {
+    PreReleaseVersion(final Identifiers identifiers) {
 
         super();
 
-//        if (identifiers == null) {
-//            throw new NullPointerException("null identifiers");
-//        }
-//
-//        if (identifiers.isEmpty()) {
-//            throw new IllegalArgumentException("empty identifiers");
-//        }
-//
-//        for (final String identifier : identifiers) {
-//            if (!IDENTIFIER_PATTERN.matcher(identifier).matches()) {
-//                throw new IllegalArgumentException(
-//                    "invalid identifier: " + identifier);
-//            }
-//        }
-        this.identifiers = Collections.unmodifiableList(identifiers);
+        this.identifiers = identifiers;
     }
 
 
     @Override
     public int compareTo(final PreReleaseVersion o) {
 
-        final List<String> identifiers1
-            = new ArrayList<String>(getIdentifiers());
-        final List<String> identifiers2
-            = new ArrayList<String>(o.getIdentifiers());
-
-        while (!identifiers1.isEmpty() && !identifiers2.isEmpty()) {
-            final String identifier1 = identifiers1.remove(0);
-            final String identifier2 = identifiers2.remove(0);
-            final boolean numeric1 = NormalVersion.IDENTIFIER_PATTERN
-                .matcher(identifier1).matches();
-            final boolean numeric2 = NormalVersion.IDENTIFIER_PATTERN
-                .matcher(identifier2).matches();
-            // Numeric identifiers always have lower precedence than
-            // non-numeric identifiers.
-            if (numeric1 && !numeric2) {
-                return -1;
-            }
-            if (!numeric1 && numeric2) {
-                return 1;
-            }
-            // identifiers consisting of only digits are compared
-            // numerically
-            if (numeric1 && numeric2) {
-                final int numerically = new BigInteger(identifier1)
-                    .compareTo(new BigInteger(identifier2));
-                if (numerically != 0) {
-                    return numerically;
-                }
-            }
-            // identifiers with letters or hyphens are compared lexically in
-            // ASCII sort order
-            final int lexically = identifier1.compareTo(identifier2);
-            if (lexically != 0) {
-                return lexically;
-            }
-        }
-        // A larger set of pre-release fields has a higher precedence
-        // than a smaller set, if all of the preceding identifiers are
-        // equal.
-        if (identifiers1.isEmpty() && !identifiers2.isEmpty()) {
-            return -1;
-        }
-        if (!identifiers1.isEmpty() && identifiers2.isEmpty()) {
-            return 1;
-        }
+        return identifiers.comparePrecedence(o.identifiers);
+    }
 
-        return 0;
+
+    Identifiers identifiers() {
+
+        return identifiers;
     }
 
 
@@ -260,17 +212,7 @@ public class PreReleaseVersion implements Comparable<PreReleaseVersion> {
     @Override
     public String toString() {
 
-        final StringBuilder builder = new StringBuilder();
-
-        final Iterator<String> i = identifiers.iterator();
-        if (i.hasNext()) {
-            builder.append(i.next());
-        }
-        while (i.hasNext()) {
-            builder.append('.').append(i.next());
-        }
-
-        return builder.toString();
+        return identifiers.toString();
     }
 
 
@@ -281,11 +223,23 @@ public class PreReleaseVersion implements Comparable<PreReleaseVersion> {
      */
     public List<String> getIdentifiers() {
 
-        return identifiers;
+        return identifiers.strings();
+    }
+
+
+    /**
+     * Returns an unmodifiable list of identifiers each of which is a view of
+     * this pre-release version's own characters.
+     *
+     * @return an unmodifiable list of identifier views.
+     */
+    public List<CharSequence> getIdentifierViews() {
+
+        return identifiers.views();
     }
 
 
-    private final List<String> identifiers;
+    private final Identifiers identifiers;
 
 }
 
@@ -0,0 +1,418 @@
+/*
+ * Copyright 2015 Jin Kwon &lt;jinahya_at_gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.jinahya.semver;
+
+
+import java.io.Closeable;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+
+/**
+ * Keeps track of the highest version satisfying each of keyed constraints
+ * while version strings are announced.
+ * <p>
+ * Announcements are put into a bounded queue which blocks, or refuses,
+ * publishers while full and which is drained by a single consumer running
+ * {@link #run()}. Each announced version is compared only against the current
+ * best of each key and the {@link Listener} is notified only when a best
+ * changes.
+ * <p>
+ * Publishing and closing are mutually exclusive; an announcement is either
+ * queued before the end of the stream, and consumed, or refused with an
+ * {@link IllegalStateException}.
+ *
+ * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
+ * @param <K> key type parameter
+ */
+public class StreamingVersionResolver<K> implements Runnable, Closeable {
+
+
+    /**
+     * Listener for changes of best versions.
+     *
+     * @param <K> key type parameter
+     */
+    public interface Listener<K> {
+
+
+        /**
+         * Notified when the best version of a key has changed.
+         *
+         * @param key the key
+         * @param previous the previous best; {@code null} if none
+         * @param current the new best
+         */
+        void bestChanged(K key, NormalVersion previous, NormalVersion current);
+
+    }
+
+
+    /**
+     * Class for building {@link StreamingVersionResolver}s.
+     *
+     * @param <K> key type parameter
+     */
+    public static class Builder<K> {
+
+
+        /**
+         * Adds a keyed constraint.
+         *
+         * @param key the key
+         * @param constraint the constraint
+         *
+         * @return this
+         */
+        public Builder<K> constraint(final K key,
+                                     final VersionConstraint constraint) {
+
+            if (key == null) {
+                throw new NullPointerException("null key");
+            }
+
+            if (constraint == null) {
+                throw new NullPointerException("null constraint");
+            }
+
+            constraints.put(key, constraint);
+
+            return this;
+        }
+
+
+        /**
+         * Sets the listener.
+         *
+         * @param listener the listener
+         *
+         * @return this
+         */
+        public Builder<K> listener(final Listener<K> listener) {
+
+            this.listener = listener;
+
+            return this;
+        }
+
+
+        /**
+         * Sets the capacity of the announcement queue.
+         *
+         * @param capacity the capacity
+         *
+         * @return this
+         */
+        public Builder<K> capacity(final int capacity) {
+
+            if (capacity <= 0) {
+                throw new IllegalArgumentException(
+                    "capacity(" + capacity + ") <= 0");
+            }
+
+            this.capacity = capacity;
+
+            return this;
+        }
+
+
+        /**
+         * Builds an instance of {@code StreamingVersionResolver}.
+         *
+         * @return an instance of {@code StreamingVersionResolver}
+         */
+        public StreamingVersionResolver<K> build() {
+
+            if (listener == null) {
+                throw new IllegalStateException("no listener");
+            }
+
+            return new StreamingVersionResolver<K>(
+                new LinkedHashMap<K, VersionConstraint>(constraints), listener,
+                capacity);
+        }
+
+
+        private final Map<K, VersionConstraint> constraints
+            = new LinkedHashMap<K, VersionConstraint>();
+
+
+        private Listener<K> listener;
+
+
+        private int capacity = 1024;
+
+    }
+
+
+    /**
+     * The end-of-stream marker compared by identity.
+     */
+    private static final String END = new String("");
+
+
+    private StreamingVersionResolver(
+        final Map<K, VersionConstraint> constraints,
+        final Listener<K> listener, final int capacity) {
+
+        super();
+
+        this.constraints = constraints;
+        this.listener = listener;
+        this.queue = new ArrayBlockingQueue<String>(capacity);
+    }
+
+
+    /**
+     * Announces a version string, waiting while the queue is full.
+     *
+     * @param announcement the version string
+     *
+     * @throws InterruptedException if interrupted while waiting
+     * @throws IllegalStateException if closed
+     */
+    public void publish(final String announcement)
+        throws InterruptedException {
+
+        if (announcement == null) {
+            throw new NullPointerException("null announcement");
+        }
+
+        final Lock publishing = lock.readLock();
+        publishing.lockInterruptibly();
+        try {
+            if (closed.get()) {
+                throw new IllegalStateException("closed");
+            }
+            queue.put(announcement);
+        } finally {
+            publishing.unlock();
+        }
+    }
+
+
+    /**
+     * Announces a version string, waiting up to specified time while the
+     * queue is full.
+     *
+     * @param announcement the version string
+     * @param timeout the time to wait
+     * @param unit the unit of {@code timeout}
+     *
+     * @return {@code true} if queued; {@code false} if the queue remained full
+     *
+     * @throws InterruptedException if interrupted while waiting
+     * @throws IllegalStateException if closed
+     */
+    public boolean offer(final String announcement, final long timeout,
+                         final TimeUnit unit)
+        throws InterruptedException {
+
+        if (announcement == null) {
+            throw new NullPointerException("null announcement");
+        }
+
+        final Lock publishing = lock.readLock();
+        publishing.lockInterruptibly();
+        try {
+            if (closed.get()) {
+                throw new IllegalStateException("closed");
+            }
+            return queue.offer(announcement, timeout, unit);
+        } finally {
+            publishing.unlock();
+        }
+    }
+
+
+    /**
+     * Drains announcements until closed and all queued announcements are
+     * consumed. Invalid version strings are counted and skipped. A runtime
+     * exception thrown by the listener is counted separately and doesn't stop
+     * draining; keys not yet visited for that version are skipped.
+     *
+     * @see #getRejectedCount()
+     * @see #getFailedCount()
+     */
+    @Override
+    public void run() {
+
+        while (true) {
+            final String announcement;
+            try {
+                announcement = queue.take();
+            } catch (final InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (announcement == END) {
+                return;
+            }
+            NormalVersion version = null;
+            try {
+                version = NormalVersion.valueOf(announcement);
+            } catch (final IllegalArgumentException iae) {
+                rejectedCount.incrementAndGet();
+            }
+            if (version != null) {
+                try {
+                    accept(version);
+                } catch (final RuntimeException re) { // from the listener
+                    failedCount.incrementAndGet();
+                }
+            }
+            if (sealed && queue.isEmpty()) { // the end marker didn't fit
+                return;
+            }
+        }
+    }
+
+
+    /**
+     * Accepts a version directly, bypassing the queue.
+     *
+     * @param version the version
+     *
+     * @return {@code true} if any best has changed; {@code false} otherwise
+     */
+    public synchronized boolean accept(final NormalVersion version) {
+
+        boolean changed = false;
+
+        for (final Map.Entry<K, VersionConstraint> entry
+             : constraints.entrySet()) {
+            if (!entry.getValue().isSatisfiedBy(version)) {
+                continue;
+            }
+            final K key = entry.getKey();
+            final NormalVersion previous = bests.get(key);
+            if (previous != null && previous.compareTo(version) >= 0) {
+                continue;
+            }
+            bests.put(key, version);
+            listener.bestChanged(key, previous, version);
+            changed = true;
+        }
+
+        return changed;
+    }
+
+
+    /**
+     * Stops accepting announcements. This method waits for publishers
+     * already queuing announcements, which may wait for room in the queue,
+     * but never for room for the end of the stream itself. The consumer
+     * returns from {@link #run()} after draining queued announcements.
+     */
+    @Override
+    public void close() {
+
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+
+        final Lock closing = lock.writeLock();
+        closing.lock();
+        try {
+            // no more announcements can be queued
+            sealed = true;
+            queue.offer(END);
+        } finally {
+            closing.unlock();
+        }
+    }
+
+
+    /**
+     * Returns the current best version of specified key.
+     *
+     * @param key the key
+     *
+     * @return the current best; {@code null} if none
+     */
+    public NormalVersion getBest(final K key) {
+
+        return bests.get(key);
+    }
+
+
+    /**
+     * Returns the number of announcements skipped for being invalid.
+     *
+     * @return the number of rejected announcements
+     */
+    public long getRejectedCount() {
+
+        return rejectedCount.get();
+    }
+
+
+    /**
+     * Returns the number of announcements whose notification failed with a
+     * runtime exception thrown by the listener.
+     *
+     * @return the number of failed notifications
+     */
+    public long getFailedCount() {
+
+        return failedCount.get();
+    }
+
+
+    private final Map<K, VersionConstraint> constraints;
+
+
+    private final Listener<K> listener;
+
+
+    private final BlockingQueue<String> queue;
+
+
+    private final Map<K, NormalVersion> bests
+        = new ConcurrentHashMap<K, NormalVersion>();
+
+
+    private final AtomicLong rejectedCount = new AtomicLong();
+
+
+    private final AtomicLong failedCount = new AtomicLong();
+
+
+    /**
+     * Guards queuing announcements, shared, against closing, exclusive.
+     */
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+
+    /**
+     * Set once every accepted announcement has been queued.
+     */
+    private volatile boolean sealed;
+
+}
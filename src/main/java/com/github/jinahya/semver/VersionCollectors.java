@@ -0,0 +1,540 @@
+/*
+ * Copyright 2015 Jin Kwon &lt;jinahya_at_gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.jinahya.semver;
+
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+
+
+/**
+ * Collectors of {@link NormalVersion}s for streams.
+ * <p>
+ * Each collector accumulates into a mutable container keyed, where needed,
+ * by primitive release lines so that nothing is boxed or grouped per element,
+ * and containers are combined pairwise for parallel streams. Ties of equal
+ * precedence are resolved to the version encountered first.
+ *
+ * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
+ */
+public final class VersionCollectors {
+
+
+    /**
+     * A container holding the best version seen.
+     */
+    private static final class Best {
+
+
+        Best(final int sign, final boolean stableOnly) {
+
+            super();
+
+            this.sign = sign;
+            this.stableOnly = stableOnly;
+        }
+
+
+        void accept(final NormalVersion version) {
+
+            if (stableOnly && version.getPreReleaseVersion() != null) {
+                return;
+            }
+
+            if (best == null || version.compareTo(best) * sign > 0) {
+                best = version;
+            }
+        }
+
+
+        Best combine(final Best other) {
+
+            if (other.best != null) {
+                accept(other.best);
+            }
+
+            return this;
+        }
+
+
+        private final int sign;
+
+
+        private final boolean stableOnly;
+
+
+        private NormalVersion best;
+
+    }
+
+
+    /**
+     * An open-addressing table of release lines to the latest version and
+     * the number of versions of each line.
+     */
+    private static final class Lines {
+
+
+        private static final long EMPTY = -1L;
+
+
+        Lines(final boolean minor) {
+
+            super();
+
+            this.minor = minor;
+
+            Arrays.fill(keys, EMPTY);
+        }
+
+
+        private int slot(final long key) {
+
+            final int mask = keys.length - 1;
+            int slot = (int) Fingerprints.mix(key) & mask;
+            while (keys[slot] != EMPTY && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+
+            return slot;
+        }
+
+
+        private void grow() {
+
+            final long[] oldKeys = keys;
+            final NormalVersion[] oldLatests = latests;
+            final long[] oldCounts = counts;
+
+            keys = new long[oldKeys.length << 1];
+            Arrays.fill(keys, EMPTY);
+            latests = new NormalVersion[keys.length];
+            counts = new long[keys.length];
+
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != EMPTY) {
+                    final int slot = slot(oldKeys[i]);
+                    keys[slot] = oldKeys[i];
+                    latests[slot] = oldLatests[i];
+                    counts[slot] = oldCounts[i];
+                }
+            }
+        }
+
+
+        private void add(final long key, final NormalVersion latest,
+                         final long count) {
+
+            int slot = slot(key);
+            if (keys[slot] == EMPTY) {
+                if ((size + 1) << 1 > keys.length) {
+                    grow();
+                    slot = slot(key);
+                }
+                keys[slot] = key;
+                size++;
+            }
+
+            if (latests[slot] == null || latest.compareTo(latests[slot]) > 0) {
+                latests[slot] = latest;
+            }
+            counts[slot] += count;
+        }
+
+
+        void accept(final NormalVersion version) {
+
+            final long key = ((long) version.getMajorVersion() << 32)
+                             | (minor ? version.getMinorVersion() : 0);
+
+            add(key, version, 1L);
+        }
+
+
+        Lines combine(final Lines other) {
+
+            for (int i = 0; i < other.keys.length; i++) {
+                if (other.keys[i] != EMPTY) {
+                    add(other.keys[i], other.latests[i], other.counts[i]);
+                }
+            }
+
+            return this;
+        }
+
+
+        private static NormalVersion line(final long key) {
+
+            return new NormalVersion.Builder()
+                .majorVersion((int) (key >>> 32))
+                .minorVersion((int) key)
+                .build();
+        }
+
+
+        SortedMap<NormalVersion, NormalVersion> latests() {
+
+            final SortedMap<NormalVersion, NormalVersion> map
+                = new TreeMap<NormalVersion, NormalVersion>();
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] != EMPTY) {
+                    map.put(line(keys[i]), latests[i]);
+                }
+            }
+
+            return map;
+        }
+
+
+        SortedMap<NormalVersion, Long> counts() {
+
+            final SortedMap<NormalVersion, Long> map
+                = new TreeMap<NormalVersion, Long>();
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] != EMPTY) {
+                    map.put(line(keys[i]), counts[i]);
+                }
+            }
+
+            return map;
+        }
+
+
+        private final boolean minor;
+
+
+        private long[] keys = new long[16];
+
+
+        private NormalVersion[] latests = new NormalVersion[16];
+
+
+        private long[] counts = new long[16];
+
+
+        private int size;
+
+    }
+
+
+    private static final class Latests
+        implements Function<Lines, SortedMap<NormalVersion, NormalVersion>> {
+
+
+        @Override
+        public SortedMap<NormalVersion, NormalVersion> apply(final Lines t) {
+
+            return t.latests();
+        }
+
+    }
+
+
+    private static final class Counts
+        implements Function<Lines, SortedMap<NormalVersion, Long>> {
+
+
+        @Override
+        public SortedMap<NormalVersion, Long> apply(final Lines t) {
+
+            return t.counts();
+        }
+
+    }
+
+
+    private static final Set<Collector.Characteristics> CHARACTERISTICS
+        = Collections.unmodifiableSet(
+            EnumSet.noneOf(Collector.Characteristics.class));
+
+
+    private static Collector<NormalVersion, Best, NormalVersion> best(
+        final int sign, final boolean stableOnly) {
+
+        return new Collector<NormalVersion, Best, NormalVersion>() {
+
+
+            @Override
+            public Supplier<Best> supplier() {
+
+                return new Supplier<Best>() {
+
+
+                    @Override
+                    public Best get() {
+
+                        return new Best(sign, stableOnly);
+                    }
+
+                };
+            }
+
+
+            @Override
+            public BiConsumer<Best, NormalVersion> accumulator() {
+
+                return new BiConsumer<Best, NormalVersion>() {
+
+
+                    @Override
+                    public void accept(final Best t, final NormalVersion u) {
+
+                        t.accept(u);
+                    }
+
+                };
+            }
+
+
+            @Override
+            public BinaryOperator<Best> combiner() {
+
+                return new BinaryOperator<Best>() {
+
+
+                    @Override
+                    public Best apply(final Best t, final Best u) {
+
+                        return t.combine(u);
+                    }
+
+                };
+            }
+
+
+            @Override
+            public Function<Best, NormalVersion> finisher() {
+
+                return new Function<Best, NormalVersion>() {
+
+
+                    @Override
+                    public NormalVersion apply(final Best t) {
+
+                        return t.best;
+                    }
+
+                };
+            }
+
+
+            @Override
+            public Set<Collector.Characteristics> characteristics() {
+
+                return CHARACTERISTICS;
+            }
+
+        };
+    }
+
+
+    private static <R> Collector<NormalVersion, Lines, R> lines(
+        final boolean minor, final Function<Lines, R> finisher) {
+
+        return new Collector<NormalVersion, Lines, R>() {
+
+
+            @Override
+            public Supplier<Lines> supplier() {
+
+                return new Supplier<Lines>() {
+
+
+                    @Override
+                    public Lines get() {
+
+                        return new Lines(minor);
+                    }
+
+                };
+            }
+
+
+            @Override
+            public BiConsumer<Lines, NormalVersion> accumulator() {
+
+                return new BiConsumer<Lines, NormalVersion>() {
+
+
+                    @Override
+                    public void accept(final Lines t, final NormalVersion u) {
+
+                        t.accept(u);
+                    }
+
+                };
+            }
+
+
+            @Override
+            public BinaryOperator<Lines> combiner() {
+
+                return new BinaryOperator<Lines>() {
+
+
+                    @Override
+                    public Lines apply(final Lines t, final Lines u) {
+
+                        return t.combine(u);
+                    }
+
+                };
+            }
+
+
+            @Override
+            public Function<Lines, R> finisher() {
+
+                return finisher;
+            }
+
+
+            @Override
+            public Set<Collector.Characteristics> characteristics() {
+
+                return CHARACTERISTICS;
+            }
+
+        };
+    }
+
+
+    /**
+     * Returns a collector of the version of highest precedence.
+     *
+     * @return a collector whose result is {@code null} for an empty stream
+     */
+    public static Collector<NormalVersion, ?, NormalVersion> max() {
+
+        return max(false);
+    }
+
+
+    /**
+     * Returns a collector of the version of highest precedence.
+     *
+     * @param stableOnly a flag for ignoring pre-release versions
+     *
+     * @return a collector whose result is {@code null} if no version is
+     * collected
+     */
+    public static Collector<NormalVersion, ?, NormalVersion> max(
+        final boolean stableOnly) {
+
+        return best(1, stableOnly);
+    }
+
+
+    /**
+     * Returns a collector of the version of lowest precedence.
+     *
+     * @return a collector whose result is {@code null} for an empty stream
+     */
+    public static Collector<NormalVersion, ?, NormalVersion> min() {
+
+        return min(false);
+    }
+
+
+    /**
+     * Returns a collector of the version of lowest precedence.
+     *
+     * @param stableOnly a flag for ignoring pre-release versions
+     *
+     * @return a collector whose result is {@code null} if no version is
+     * collected
+     */
+    public static Collector<NormalVersion, ?, NormalVersion> min(
+        final boolean stableOnly) {
+
+        return best(-1, stableOnly);
+    }
+
+
+    /**
+     * Returns a collector of the latest version of each major release line.
+     * The result is keyed by {@code X.0.0} for each major version {@code X}.
+     *
+     * @return a collector of the latest versions per major version
+     */
+    public static Collector<NormalVersion, ?,
+                            SortedMap<NormalVersion, NormalVersion>>
+        latestPerMajor() {
+
+        return lines(false, new Latests());
+    }
+
+
+    /**
+     * Returns a collector of the latest version of each minor release line.
+     * The result is keyed by {@code X.Y.0} for each major version {@code X}
+     * and minor version {@code Y}.
+     *
+     * @return a collector of the latest versions per minor version
+     */
+    public static Collector<NormalVersion, ?,
+                            SortedMap<NormalVersion, NormalVersion>>
+        latestPerMinor() {
+
+        return lines(true, new Latests());
+    }
+
+
+    /**
+     * Returns a collector counting versions of each major release line. The
+     * result is keyed by {@code X.0.0} for each major version {@code X}.
+     *
+     * @return a collector of the counts per major version
+     */
+    public static Collector<NormalVersion, ?,
+                            SortedMap<NormalVersion, Long>>
+        countingByMajor() {
+
+        return lines(false, new Counts());
+    }
+
+
+    /**
+     * Returns a collector counting versions of each minor release line. The
+     * result is keyed by {@code X.Y.0} for each major version {@code X} and
+     * minor version {@code Y}.
+     *
+     * @return a collector of the counts per minor version
+     */
+    public static Collector<NormalVersion, ?,
+                            SortedMap<NormalVersion, Long>>
+        countingByMinor() {
+
+        return lines(true, new Counts());
+    }
+
+
+    private VersionCollectors() {
+
+        super();
+    }
+
+}
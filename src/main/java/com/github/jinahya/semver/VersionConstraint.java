@@ -0,0 +1,364 @@
+/*
+ * Copyright 2015 Jin Kwon &lt;jinahya_at_gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.jinahya.semver;
+
+
+/**
+ * Represents a range of {@link NormalVersion}s such as
+ * {@code >=2.1.0 <3.0.0}.
+ *
+ * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
+ */
+public class VersionConstraint {
+
+
+    /**
+     * A constraint satisfied by any version.
+     */
+    public static final VersionConstraint ANY = new Builder().build();
+
+
+    /**
+     * Class for building {@link VersionConstraint}s.
+     */
+    public static class Builder {
+
+
+        /**
+         * Sets the lower bound.
+         *
+         * @param version the lower bound; {@code null} for unbounded
+         * @param inclusive a flag for including the bound itself
+         *
+         * @return this
+         */
+        public Builder lowerBound(final NormalVersion version,
+                                  final boolean inclusive) {
+
+            this.lowerBound = version;
+            this.lowerBoundInclusive = inclusive;
+
+            return this;
+        }
+
+
+        /**
+         * Sets the upper bound.
+         *
+         * @param version the upper bound; {@code null} for unbounded
+         * @param inclusive a flag for including the bound itself
+         *
+         * @return this
+         */
+        public Builder upperBound(final NormalVersion version,
+                                  final boolean inclusive) {
+
+            this.upperBound = version;
+            this.upperBoundInclusive = inclusive;
+
+            return this;
+        }
+
+
+        /**
+         * Sets whether versions with a pre-release version are excluded.
+         *
+         * @param stableOnly the flag
+         *
+         * @return this
+         */
+        public Builder stableOnly(final boolean stableOnly) {
+
+            this.stableOnly = stableOnly;
+
+            return this;
+        }
+
+
+        /**
+         * Builds an instance of {@code VersionConstraint}.
+         *
+         * @return an instance of {@code VersionConstraint}
+         *
+         * @throws IllegalStateException if the lower bound is greater than
+         * the upper bound
+         */
+        public VersionConstraint build() {
+
+            if (lowerBound != null && upperBound != null
+                && lowerBound.compareTo(upperBound) > 0) {
+                throw new IllegalStateException(
+                    "lower bound(" + lowerBound + ") > upper bound("
+                    + upperBound + ")");
+            }
+
+            return new VersionConstraint(lowerBound, lowerBoundInclusive,
+                                         upperBound, upperBoundInclusive,
+                                         stableOnly);
+        }
+
+
+        private NormalVersion lowerBound;
+
+
+        private boolean lowerBoundInclusive;
+
+
+        private NormalVersion upperBound;
+
+
+        private boolean upperBoundInclusive;
+
+
+        private boolean stableOnly;
+
+    }
+
+
+    /**
+     * The token for {@link #isStableOnly()} in the textual form.
+     */
+    private static final String STABLE = "stable";
+
+
+    /**
+     * Parses specified string. The string is a whitespace separated list of
+     * comparators each of which is one of {@code >=v}, {@code >v},
+     * {@code <=v}, {@code <v}, {@code =v}, or {@code v}, optionally with
+     * {@code stable} which excludes versions with a pre-release version. A
+     * single {@code *} represents {@link #ANY}. This method parses what
+     * {@link #toString()} returns.
+     *
+     * @param s the string to parse
+     *
+     * @return a new instance
+     *
+     * @throws IllegalArgumentException if {@code s} is not valid
+     */
+    public static VersionConstraint valueOf(final String s) {
+
+        final String trimmed = s.trim();
+        if ("*".equals(trimmed)) {
+            return ANY;
+        }
+
+        final Builder builder = new Builder();
+        boolean lower = false;
+        boolean upper = false;
+        boolean stable = false;
+        for (final String comparator : trimmed.split("\\s+")) {
+            if (STABLE.equals(comparator)) {
+                builder.stableOnly(true);
+                stable = requireNotSet(stable, s);
+            } else if (comparator.startsWith(">=")) {
+                builder.lowerBound(
+                    NormalVersion.valueOf(comparator.substring(2)), true);
+                lower = requireNotSet(lower, s);
+            } else if (comparator.startsWith(">")) {
+                builder.lowerBound(
+                    NormalVersion.valueOf(comparator.substring(1)), false);
+                lower = requireNotSet(lower, s);
+            } else if (comparator.startsWith("<=")) {
+                builder.upperBound(
+                    NormalVersion.valueOf(comparator.substring(2)), true);
+                upper = requireNotSet(upper, s);
+            } else if (comparator.startsWith("<")) {
+                builder.upperBound(
+                    NormalVersion.valueOf(comparator.substring(1)), false);
+                upper = requireNotSet(upper, s);
+            } else {
+                final NormalVersion version = NormalVersion.valueOf(
+                    comparator.startsWith("=")
+                    ? comparator.substring(1) : comparator);
+                builder.lowerBound(version, true).upperBound(version, true);
+                lower = requireNotSet(lower, s);
+                upper = requireNotSet(upper, s);
+            }
+        }
+
+        try {
+            return builder.build();
+        } catch (final IllegalStateException ise) {
+            throw new IllegalArgumentException("invalid: " + s, ise);
+        }
+    }
+
+
+    private static boolean requireNotSet(final boolean set, final String s) {
+
+        if (set) {
+            throw new IllegalArgumentException("duplicate bound: " + s);
+        }
+
+        return true;
+    }
+
+
+    private VersionConstraint(final NormalVersion lowerBound,
+                              final boolean lowerBoundInclusive,
+                              final NormalVersion upperBound,
+                              final boolean upperBoundInclusive,
+                              final boolean stableOnly) {
+
+        super();
+
+        this.lowerBound = lowerBound;
+        this.lowerBoundInclusive = lowerBoundInclusive;
+        this.upperBound = upperBound;
+        this.upperBoundInclusive = upperBoundInclusive;
+        this.stableOnly = stableOnly;
+    }
+
+
+    /**
+     * Checks whether specified version satisfies this constraint.
+     *
+     * @param version the version to check
+     *
+     * @return {@code true} if satisfied; {@code false} otherwise
+     */
+    public boolean isSatisfiedBy(final NormalVersion version) {
+
+        if (stableOnly && version.getPreReleaseVersion() != null) {
+            return false;
+        }
+
+        if (lowerBound != null) {
+            final int compared = version.compareTo(lowerBound);
+            if (compared < 0 || (compared == 0 && !lowerBoundInclusive)) {
+                return false;
+            }
+        }
+
+        if (upperBound != null) {
+            final int compared = version.compareTo(upperBound);
+            if (compared > 0 || (compared == 0 && !upperBoundInclusive)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+
+    /**
+     * Returns the textual form of this constraint which
+     * {@link #valueOf(String)} parses back, such as
+     * {@code >=2.1.0 <3.0.0 stable}.
+     *
+     * @return the textual form
+     */
+    @Override
+    public String toString() {
+
+        if (lowerBound == null && upperBound == null) {
+            return stableOnly ? STABLE : "*";
+        }
+
+        final StringBuilder builder = new StringBuilder();
+
+        if (lowerBound != null) {
+            builder.append(lowerBoundInclusive ? ">=" : ">")
+                .append(lowerBound);
+        }
+
+        if (upperBound != null) {
+            if (builder.length() > 0) {
+                builder.append(' ');
+            }
+            builder.append(upperBoundInclusive ? "<=" : "<")
+                .append(upperBound);
+        }
+
+        if (stableOnly) {
+            builder.append(' ').append(STABLE);
+        }
+
+        return builder.toString();
+    }
+
+
+    /**
+     * Returns the lower bound.
+     *
+     * @return the lower bound; {@code null} if unbounded
+     */
+    public NormalVersion getLowerBound() {
+
+        return lowerBound;
+    }
+
+
+    /**
+     * Returns whether the lower bound itself is included.
+     *
+     * @return {@code true} if the lower bound is inclusive
+     */
+    public boolean isLowerBoundInclusive() {
+
+        return lowerBoundInclusive;
+    }
+
+
+    /**
+     * Returns the upper bound.
+     *
+     * @return the upper bound; {@code null} if unbounded
+     */
+    public NormalVersion getUpperBound() {
+
+        return upperBound;
+    }
+
+
+    /**
+     * Returns whether the upper bound itself is included.
+     *
+     * @return {@code true} if the upper bound is inclusive
+     */
+    public boolean isUpperBoundInclusive() {
+
+        return upperBoundInclusive;
+    }
+
+
+    /**
+     * Returns whether versions with a pre-release version are excluded.
+     *
+     * @return {@code true} if pre-release versions are excluded
+     */
+    public boolean isStableOnly() {
+
+        return stableOnly;
+    }
+
+
+    private final NormalVersion lowerBound;
+
+
+    private final boolean lowerBoundInclusive;
+
+
+    private final NormalVersion upperBound;
+
+
+    private final boolean upperBoundInclusive;
+
+
+    private final boolean stableOnly;
+
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2015 Jin Kwon &lt;jinahya_at_gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.jinahya.semver;
+
+
+/**
+ * Converts versions of other schemes into {@link NormalVersion}s.
+ *
+ * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
+ * @see VersionSchemes
+ * @see CachingVersionConverter
+ */
+public interface VersionConverter {
+
+
+    /**
+     * Converts specified version string.
+     *
+     * @param s the version string to convert
+     *
+     * @return a normal version
+     *
+     * @throws IllegalArgumentException if {@code s} is not convertible
+     */
+    NormalVersion convert(CharSequence s);
+
+}
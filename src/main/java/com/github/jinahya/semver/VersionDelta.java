@@ -0,0 +1,240 @@
+/*
+ * Copyright 2015 Jin Kwon &lt;jinahya_at_gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.jinahya.semver;
+
+
+/**
+ * The most significant part in which two versions differ. Constants are
+ * declared in ascending order of significance so that ordinals can be
+ * compared, for example, {@code delta.compareTo(MINOR) >= 0}.
+ *
+ * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
+ */
+public enum VersionDelta {
+
+
+    /**
+     * Identical versions.
+     */
+    NONE,
+    /**
+     * Versions differing only in build metadata.
+     */
+    BUILD_METADATA,
+    /**
+     * Versions differing first in pre-release versions, including one having
+     * a pre-release version and the other not.
+     */
+    PRE_RELEASE,
+    /**
+     * Versions differing first in patch versions.
+     */
+    PATCH,
+    /**
+     * Versions differing first in minor versions.
+     */
+    MINOR,
+    /**
+     * Versions differing in major versions.
+     */
+    MAJOR;
+
+
+    private static final VersionDelta[] VALUES = values();
+
+
+    /**
+     * Ordinals indexed by the number of leading zeros of two keys xor-ed.
+     */
+    private static final byte[] KEY_DELTAS = new byte[65];
+
+
+    static {
+        for (int zeros = 0; zeros < KEY_DELTAS.length; zeros++) {
+            final int bit = 63 - zeros;
+            final VersionDelta delta;
+            if (bit >= 42) {
+                delta = MAJOR;
+            } else if (bit >= 21) {
+                delta = MINOR;
+            } else if (bit >= 1) {
+                delta = PATCH;
+            } else if (bit == 0) {
+                delta = PRE_RELEASE;
+            } else {
+                delta = NONE;
+            }
+            KEY_DELTAS[zeros] = (byte) delta.ordinal();
+        }
+    }
+
+
+    /**
+     * Returns the constant of specified ordinal without copying
+     * {@link #values()}.
+     *
+     * @param ordinal the ordinal
+     *
+     * @return the constant
+     *
+     * @throws ArrayIndexOutOfBoundsException if {@code ordinal} is out of
+     * range
+     */
+    public static VersionDelta valueOf(final int ordinal) {
+
+        return VALUES[ordinal];
+    }
+
+
+    private static boolean equals(final Object o1, final Object o2) {
+
+        if (o1 == null || o2 == null) {
+            return o1 == o2;
+        }
+
+        // string representations are kept by instances; no allocation
+        return o1.toString().equals(o2.toString());
+    }
+
+
+    /**
+     * Classifies the difference between two versions.
+     *
+     * @param v1 the first version
+     * @param v2 the second version
+     *
+     * @return the most significant difference
+     */
+    public static VersionDelta diff(final NormalVersion v1,
+                                    final NormalVersion v2) {
+
+        if (v1.getMajorVersion() != v2.getMajorVersion()) {
+            return MAJOR;
+        }
+
+        if (v1.getMinorVersion() != v2.getMinorVersion()) {
+            return MINOR;
+        }
+
+        if (v1.getPatchVersion() != v2.getPatchVersion()) {
+            return PATCH;
+        }
+
+        if (!equals(v1.getPreReleaseVersion(), v2.getPreReleaseVersion())) {
+            return PRE_RELEASE;
+        }
+
+        if (!equals(v1.getBuildMetadata(), v2.getBuildMetadata())) {
+            return BUILD_METADATA;
+        }
+
+        return NONE;
+    }
+
+
+    /**
+     * Classifies each pair of adjacent versions in specified range.
+     *
+     * @param versions the versions
+     * @param from the first index, inclusive
+     * @param to the last index, exclusive
+     * @param deltas an array to which the ordinal of the difference between
+     * {@code versions[from + i]} and {@code versions[from + i + 1]} is stored
+     * at {@code i}
+     *
+     * @return the number of stored ordinals
+     */
+    public static int diff(final NormalVersion[] versions, final int from,
+                           final int to, final byte[] deltas) {
+
+        if (from < 0 || to > versions.length || from > to) {
+            throw new IndexOutOfBoundsException(
+                "from(" + from + "), to(" + to + "), length("
+                + versions.length + ")");
+        }
+
+        final int count = Math.max(to - from - 1, 0);
+        if (deltas.length < count) {
+            throw new IllegalArgumentException(
+                "deltas.length(" + deltas.length + ") < " + count);
+        }
+
+        for (int i = 0, j = from; i < count; i++, j++) {
+            deltas[i] = (byte) diff(versions[j], versions[j + 1]).ordinal();
+        }
+
+        return count;
+    }
+
+
+    /**
+     * Classifies the difference between two packed keys. Since keys carry
+     * no identifiers, keys of different pre-release versions, or of versions
+     * differing only in build metadata, are classified as {@link #NONE}.
+     *
+     * @param k1 the first key
+     * @param k2 the second key
+     *
+     * @return the most significant difference
+     *
+     * @see VersionKeys#pack(NormalVersion)
+     */
+    public static VersionDelta diff(final long k1, final long k2) {
+
+        return VALUES[KEY_DELTAS[Long.numberOfLeadingZeros(k1 ^ k2)]];
+    }
+
+
+    /**
+     * Classifies each pair of adjacent packed keys in specified range without
+     * branches.
+     *
+     * @param keys the keys
+     * @param from the first index, inclusive
+     * @param to the last index, exclusive
+     * @param deltas an array to which the ordinal of the difference between
+     * {@code keys[from + i]} and {@code keys[from + i + 1]} is stored at
+     * {@code i}
+     *
+     * @return the number of stored ordinals
+     *
+     * @see #diff(long, long)
+     */
+    public static int diff(final long[] keys, final int from, final int to,
+                           final byte[] deltas) {
+
+        if (from < 0 || to > keys.length || from > to) {
+            throw new IndexOutOfBoundsException(
+                "from(" + from + "), to(" + to + "), length(" + keys.length
+                + ")");
+        }
+
+        final int count = Math.max(to - from - 1, 0);
+        if (deltas.length < count) {
+            throw new IllegalArgumentException(
+                "deltas.length(" + deltas.length + ") < " + count);
+        }
+
+        for (int i = 0, j = from; i < count; i++, j++) {
+            deltas[i] = KEY_DELTAS[
+                Long.numberOfLeadingZeros(keys[j] ^ keys[j + 1])];
+        }
+
+        return count;
+    }
+
+}
@@ -0,0 +1,373 @@
+/*
+ * Copyright 2015 Jin Kwon &lt;jinahya_at_gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.jinahya.semver;
+
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * An immutable Bloom filter of versions. A negative answer is always right;
+ * a positive answer is wrong with about the probability the filter was built
+ * for.
+ * <p>
+ * Versions are hashed by their fingerprints. Since the fingerprint of a
+ * version is the hash of its string representation, a candidate string can
+ * be checked without being parsed; any string which is not in canonical form,
+ * including invalid ones, is simply absent unless it hits a false positive.
+ *
+ * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
+ * @see NormalVersion#getFingerprint()
+ * @see NormalVersion#getPrecedenceFingerprint()
+ */
+public class VersionFilter {
+
+
+    /**
+     * Modes of equality of versions.
+     */
+    public enum Mode {
+
+
+        /**
+         * Versions of equal precedence are equal; build metadata is ignored.
+         */
+        PRECEDENCE,
+        /**
+         * Only identical versions are equal.
+         */
+        EXACT
+
+    }
+
+
+    /**
+     * Class for building {@link VersionFilter}s.
+     */
+    public static class Builder {
+
+
+        /**
+         * Sets the mode. The default is {@link Mode#PRECEDENCE}.
+         *
+         * @param mode the mode
+         *
+         * @return this
+         */
+        public Builder mode(final Mode mode) {
+
+            if (mode == null) {
+                throw new NullPointerException("null mode");
+            }
+
+            this.mode = mode;
+
+            return this;
+        }
+
+
+        /**
+         * Sets the expected false positive probability. The default is
+         * {@code 0.01}.
+         *
+         * @param falsePositiveProbability the expected false positive
+         * probability
+         *
+         * @return this
+         */
+        public Builder falsePositiveProbability(
+            final double falsePositiveProbability) {
+
+            if (!(falsePositiveProbability > 0.0d
+                  && falsePositiveProbability < 1.0d)) {
+                throw new IllegalArgumentException(
+                    "falsePositiveProbability(" + falsePositiveProbability
+                    + ") out of range");
+            }
+
+            this.falsePositiveProbability = falsePositiveProbability;
+
+            return this;
+        }
+
+
+        /**
+         * Adds versions.
+         *
+         * @param version a version
+         * @param otherVersions more versions
+         *
+         * @return this
+         */
+        public Builder versions(final NormalVersion version,
+                                final NormalVersion... otherVersions) {
+
+            if (version == null) {
+                throw new NullPointerException("null version");
+            }
+            versions.add(version);
+
+            if (otherVersions != null) {
+                for (final NormalVersion otherVersion : otherVersions) {
+                    versions(otherVersion);
+                }
+            }
+
+            return this;
+        }
+
+
+        /**
+         * Adds versions.
+         *
+         * @param versions versions
+         *
+         * @return this
+         */
+        public Builder versions(final Iterable<NormalVersion> versions) {
+
+            for (final NormalVersion version : versions) {
+                versions(version);
+            }
+
+            return this;
+        }
+
+
+        /**
+         * Builds an instance of {@code VersionFilter}.
+         *
+         * @return an instance of {@code VersionFilter}
+         */
+        public VersionFilter build() {
+
+            final int n = Math.max(versions.size(), 1);
+            final double ln2 = Math.log(2.0d);
+            final long bits = Math.max(64L, (long) Math.ceil(
+                -n * Math.log(falsePositiveProbability) / (ln2 * ln2)));
+            if (bits > (long) Integer.MAX_VALUE) {
+                throw new IllegalStateException("too many versions");
+            }
+            final int hashes = (int) Math.min(Math.max(
+                1L, Math.round((double) bits / n * ln2)), MAXIMUM_HASHES);
+
+            final VersionFilter filter = new VersionFilter(
+                mode, hashes, new long[(int) ((bits + 63L) >>> 6)]);
+            for (final NormalVersion version : versions) {
+                filter.add(filter.fingerprint(version));
+            }
+
+            return filter;
+        }
+
+
+        private Mode mode = Mode.PRECEDENCE;
+
+
+        private double falsePositiveProbability = 0.01d;
+
+
+        private final List<NormalVersion> versions
+            = new ArrayList<NormalVersion>();
+
+    }
+
+
+    /**
+     * The maximum number of hash functions; written as an unsigned byte.
+     */
+    private static final int MAXIMUM_HASHES = 0xFF;
+
+
+    /**
+     * The maximum number of words; enough for {@link Integer#MAX_VALUE}
+     * bits.
+     */
+    private static final int MAXIMUM_WORDS = (Integer.MAX_VALUE >>> 6) + 1;
+
+
+    /**
+     * Reads a filter written by {@link #toByteArray()}.
+     *
+     * @param bytes the bytes to read
+     *
+     * @return a filter
+     *
+     * @throws IllegalArgumentException if {@code bytes} are malformed
+     */
+    public static VersionFilter valueOf(final byte[] bytes) {
+
+        final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        try {
+            final int mode = buffer.get();
+            final int hashes = buffer.get() & 0xFF;
+            final int length = buffer.getInt();
+            if (mode < 0 || mode >= Mode.values().length || hashes <= 0
+                || length <= 0 || length > MAXIMUM_WORDS
+                || buffer.remaining() != length * 8L) {
+                throw new IllegalArgumentException("malformed");
+            }
+            final long[] words = new long[length];
+            buffer.asLongBuffer().get(words);
+            return new VersionFilter(Mode.values()[mode], hashes, words);
+        } catch (final BufferUnderflowException bue) {
+            throw new IllegalArgumentException("malformed", bue);
+        }
+    }
+
+
+    private VersionFilter(final Mode mode, final int hashes,
+                          final long[] words) {
+
+        super();
+
+        this.mode = mode;
+        this.hashes = hashes;
+        this.words = words;
+        this.bits = bits(words.length);
+    }
+
+
+    /**
+     * Returns the number of addressable bits of specified number of words;
+     * hashes never address more than {@link Integer#MAX_VALUE} bits.
+     */
+    static int bits(final int words) {
+
+        return (int) Math.min((long) words << 6, Integer.MAX_VALUE);
+    }
+
+
+    private long fingerprint(final NormalVersion version) {
+
+        return mode == Mode.EXACT
+               ? version.getFingerprint() : version.getPrecedenceFingerprint();
+    }
+
+
+    private void add(final long fingerprint) {
+
+        final long h = Fingerprints.mix(fingerprint);
+        final int h1 = (int) h;
+        final int h2 = (int) (h >>> 32);
+        for (int i = 0; i < hashes; i++) {
+            final int bit = ((h1 + i * h2) & Integer.MAX_VALUE) % bits;
+            words[bit >>> 6] |= 1L << bit;
+        }
+    }
+
+
+    private boolean mightContain(final long fingerprint) {
+
+        final long h = Fingerprints.mix(fingerprint);
+        final int h1 = (int) h;
+        final int h2 = (int) (h >>> 32);
+        for (int i = 0; i < hashes; i++) {
+            final int bit = ((h1 + i * h2) & Integer.MAX_VALUE) % bits;
+            if ((words[bit >>> 6] & (1L << bit)) == 0L) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+
+    /**
+     * Checks whether specified version might have been added.
+     *
+     * @param version the version to check
+     *
+     * @return {@code false} if definitely not added; {@code true} if probably
+     * added
+     */
+    public boolean mightContain(final NormalVersion version) {
+
+        return mightContain(fingerprint(version));
+    }
+
+
+    /**
+     * Checks whether the version represented by specified string might have
+     * been added, without parsing the string.
+     *
+     * @param s the version string to check
+     *
+     * @return {@code false} if definitely not added; {@code true} if probably
+     * added
+     */
+    public boolean mightContain(final CharSequence s) {
+
+        final int length = s.length();
+        int end = length;
+        if (mode == Mode.PRECEDENCE) {
+            for (int i = 0; i < length; i++) {
+                if (s.charAt(i) == '+') {
+                    end = i;
+                    break;
+                }
+            }
+        }
+
+        return mightContain(
+            Fingerprints.hash(Fingerprints.OFFSET_BASIS, s, 0, end));
+    }
+
+
+    /**
+     * Returns the mode of this filter.
+     *
+     * @return the mode
+     */
+    public Mode getMode() {
+
+        return mode;
+    }
+
+
+    /**
+     * Writes this filter so that it can be read by {@link #valueOf(byte[])}.
+     *
+     * @return a new array of bytes
+     */
+    public byte[] toByteArray() {
+
+        final ByteBuffer buffer = ByteBuffer.allocate(6 + words.length * 8);
+        buffer.put((byte) mode.ordinal());
+        buffer.put((byte) hashes);
+        buffer.putInt(words.length);
+        buffer.asLongBuffer().put(words);
+
+        return buffer.array();
+    }
+
+
+    private final Mode mode;
+
+
+    private final int hashes;
+
+
+    private final long[] words;
+
+
+    private final int bits;
+
+}
@@ -0,0 +1,528 @@
+/*
+ * Copyright 2015 Jin Kwon &lt;jinahya_at_gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.jinahya.semver;
+
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+
+/**
+ * An immutable, compact history of versions in total order.
+ * <p>
+ * Each version is encoded as a delta from its predecessor; only the changed
+ * part of the major, minor and patch versions is stored, and pre-release
+ * versions and build metadata are stored as the length of the prefix shared
+ * with the predecessor followed by the rest. Every {@value #BLOCK_SIZE}th
+ * version is encoded in full as a checkpoint so that random access decodes
+ * at most {@value #BLOCK_SIZE} versions.
+ *
+ * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
+ * @see NormalVersions#totalOrder()
+ */
+public class VersionHistory implements Iterable<NormalVersion> {
+
+
+    /**
+     * The number of versions between checkpoints.
+     */
+    public static final int BLOCK_SIZE = 16;
+
+
+    private static final int CORE_MASK = 0x03;
+
+
+    private static final int CORE_PATCH = 0x01;
+
+
+    private static final int CORE_MINOR = 0x02;
+
+
+    private static final int CORE_MAJOR = 0x03;
+
+
+    private static final int PRE_RELEASE = 0x04;
+
+
+    private static final int BUILD_METADATA = 0x08;
+
+
+    /**
+     * Class for building {@link VersionHistory}s.
+     */
+    public static class Builder {
+
+
+        /**
+         * Adds versions.
+         *
+         * @param version a version
+         * @param otherVersions more versions
+         *
+         * @return this
+         */
+        public Builder versions(final NormalVersion version,
+                                final NormalVersion... otherVersions) {
+
+            if (version == null) {
+                throw new NullPointerException("null version");
+            }
+            versions.add(version);
+
+            if (otherVersions != null) {
+                for (final NormalVersion otherVersion : otherVersions) {
+                    versions(otherVersion);
+                }
+            }
+
+            return this;
+        }
+
+
+        /**
+         * Adds versions.
+         *
+         * @param versions versions
+         *
+         * @return this
+         */
+        public Builder versions(final Iterable<NormalVersion> versions) {
+
+            for (final NormalVersion version : versions) {
+                versions(version);
+            }
+
+            return this;
+        }
+
+
+        private static void writeInt(final ByteArrayOutputStream output,
+                                     int value) {
+
+            while ((value & ~0x7F) != 0) {
+                output.write((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            output.write(value);
+        }
+
+
+        private static void writeString(final ByteArrayOutputStream output,
+                                        final String previous,
+                                        final String current) {
+
+            final int limit = Math.min(previous.length(), current.length());
+            int shared = 0;
+            while (shared < limit
+                   && previous.charAt(shared) == current.charAt(shared)) {
+                shared++;
+            }
+
+            writeInt(output, shared);
+            writeInt(output, current.length() - shared);
+            for (int i = shared; i < current.length(); i++) {
+                output.write(current.charAt(i)); // always ASCII
+            }
+        }
+
+
+        /**
+         * Builds an instance of {@code VersionHistory}.
+         *
+         * @return an instance of {@code VersionHistory}
+         */
+        public VersionHistory build() {
+
+            final NormalVersion[] sorted
+                = versions.toArray(new NormalVersion[versions.size()]);
+            Arrays.sort(sorted, NormalVersions.totalOrder());
+
+            final ByteArrayOutputStream output = new ByteArrayOutputStream();
+            final int[] checkpoints
+                = new int[(sorted.length + BLOCK_SIZE - 1) / BLOCK_SIZE];
+
+            int major = 0;
+            int minor = 0;
+            int patch = 0;
+            String preRelease = "";
+            String buildMetadata = "";
+            for (int i = 0; i < sorted.length; i++) {
+                if (i % BLOCK_SIZE == 0) {
+                    checkpoints[i / BLOCK_SIZE] = output.size();
+                    major = minor = patch = 0;
+                    preRelease = buildMetadata = "";
+                }
+                final NormalVersion version = sorted[i];
+                int flags = 0;
+                if (version.getMajorVersion() != major) {
+                    flags = CORE_MAJOR;
+                } else if (version.getMinorVersion() != minor) {
+                    flags = CORE_MINOR;
+                } else if (version.getPatchVersion() != patch) {
+                    flags = CORE_PATCH;
+                }
+                if (version.getPreReleaseVersion() != null) {
+                    flags |= PRE_RELEASE;
+                }
+                if (version.getBuildMetadata() != null) {
+                    flags |= BUILD_METADATA;
+                }
+                output.write(flags);
+                switch (flags & CORE_MASK) {
+                    case CORE_MAJOR:
+                        writeInt(output, version.getMajorVersion() - major);
+                        writeInt(output, version.getMinorVersion());
+                        writeInt(output, version.getPatchVersion());
+                        break;
+                    case CORE_MINOR:
+                        writeInt(output, version.getMinorVersion() - minor);
+                        writeInt(output, version.getPatchVersion());
+                        break;
+                    case CORE_PATCH:
+                        writeInt(output, version.getPatchVersion() - patch);
+                        break;
+                    default:
+                        break;
+                }
+                major = version.getMajorVersion();
+                minor = version.getMinorVersion();
+                patch = version.getPatchVersion();
+                if (version.getPreReleaseVersion() != null) {
+                    final String current
+                        = version.getPreReleaseVersion().toString();
+                    writeString(output, preRelease, current);
+                    preRelease = current;
+                }
+                if (version.getBuildMetadata() != null) {
+                    final String current
+                        = version.getBuildMetadata().toString();
+                    writeString(output, buildMetadata, current);
+                    buildMetadata = current;
+                }
+            }
+
+            return new VersionHistory(sorted.length, output.toByteArray(),
+                                      checkpoints);
+        }
+
+
+        private final List<NormalVersion> versions
+            = new ArrayList<NormalVersion>();
+
+    }
+
+
+    /**
+     * A cursor decoding versions sequentially.
+     */
+    private final class Decoder {
+
+
+        void reset(final int block) {
+
+            position = checkpoints[block];
+            major = minor = patch = 0;
+            preReleaseLength = buildMetadataLength = 0;
+            preReleaseVersion = null;
+            buildMetadata = null;
+        }
+
+
+        private int readInt() {
+
+            int value = 0;
+            for (int shift = 0;; shift += 7) {
+                final int b = bytes[position++];
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+        }
+
+
+        /**
+         * Reads a string into specified buffer.
+         *
+         * @return the buffer, possibly grown
+         */
+        private char[] readString(char[] buffer, final int previousLength) {
+
+            final int shared = readInt();
+            final int rest = readInt();
+            final int length = shared + rest;
+            if (buffer.length < length) {
+                buffer = Arrays.copyOf(buffer, Math.max(length,
+                                                        buffer.length << 1));
+            }
+            for (int i = shared; i < length; i++) {
+                buffer[i] = (char) bytes[position++];
+            }
+            changed = rest > 0 || length != previousLength;
+            stringLength = length;
+
+            return buffer;
+        }
+
+
+        /**
+         * Decodes the next version.
+         *
+         * @param materialize a flag for creating the version
+         *
+         * @return the version; {@code null} if not {@code materialize}d
+         */
+        NormalVersion next(final boolean materialize) {
+
+            final int flags = bytes[position++];
+            switch (flags & CORE_MASK) {
+                case CORE_MAJOR:
+                    major += readInt();
+                    minor = readInt();
+                    patch = readInt();
+                    break;
+                case CORE_MINOR:
+                    minor += readInt();
+                    patch = readInt();
+                    break;
+                case CORE_PATCH:
+                    patch += readInt();
+                    break;
+                default:
+                    break;
+            }
+
+            final boolean hasPreRelease = (flags & PRE_RELEASE) != 0;
+            if (hasPreRelease) {
+                preRelease = readString(preRelease, preReleaseLength);
+                if (changed) {
+                    preReleaseVersion = null;
+                }
+                preReleaseLength = stringLength;
+            }
+
+            final boolean hasBuildMetadata = (flags & BUILD_METADATA) != 0;
+            if (hasBuildMetadata) {
+                buildMetadataChars = readString(buildMetadataChars,
+                                                buildMetadataLength);
+                if (changed) {
+                    buildMetadata = null;
+                }
+                buildMetadataLength = stringLength;
+            }
+
+            if (!materialize) {
+                return null;
+            }
+
+            final NormalVersion.Builder builder = new NormalVersion.Builder()
+                .majorVersion(major).minorVersion(minor).patchVersion(patch);
+            if (hasPreRelease) {
+                if (preReleaseVersion == null) {
+                    preReleaseVersion = new PreReleaseVersion.Builder()
+                        .identifiers(new String(preRelease, 0,
+                                                preReleaseLength),
+                                     0, preReleaseLength)
+                        .build();
+                }
+                builder.preReeleaseVersion(preReleaseVersion);
+            }
+            if (hasBuildMetadata) {
+                if (buildMetadata == null) {
+                    buildMetadata = new BuildMetadata.Builder()
+                        .identifiers(new String(buildMetadataChars, 0,
+                                                buildMetadataLength),
+                                     0, buildMetadataLength)
+                        .build();
+                }
+                builder.buildMetadata(buildMetadata);
+            }
+
+            return builder.build();
+        }
+
+
+        private int position;
+
+
+        private int major;
+
+
+        private int minor;
+
+
+        private int patch;
+
+
+        private char[] preRelease = new char[16];
+
+
+        private int preReleaseLength;
+
+
+        private char[] buildMetadataChars = new char[16];
+
+
+        private int buildMetadataLength;
+
+
+        private boolean changed;
+
+
+        private int stringLength;
+
+
+        /**
+         * The last created pre-release version reused while unchanged.
+         */
+        private PreReleaseVersion preReleaseVersion;
+
+
+        /**
+         * The last created build metadata reused while unchanged.
+         */
+        private BuildMetadata buildMetadata;
+
+    }
+
+
+    private VersionHistory(final int size, final byte[] bytes,
+                           final int[] checkpoints) {
+
+        super();
+
+        this.size = size;
+        this.bytes = bytes;
+        this.checkpoints = checkpoints;
+    }
+
+
+    /**
+     * Returns the number of versions in this history.
+     *
+     * @return the number of versions
+     */
+    public int size() {
+
+        return size;
+    }
+
+
+    /**
+     * Returns the version at specified index.
+     *
+     * @param index the index
+     *
+     * @return the version
+     *
+     * @throws IndexOutOfBoundsException if {@code index} is out of range
+     */
+    public NormalVersion get(final int index) {
+
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(
+                "index(" + index + ") out of range");
+        }
+
+        final Decoder decoder = new Decoder();
+        decoder.reset(index / BLOCK_SIZE);
+        for (int i = index % BLOCK_SIZE; i > 0; i--) {
+            decoder.next(false);
+        }
+
+        return decoder.next(true);
+    }
+
+
+    /**
+     * Returns an iterator decoding versions on the fly.
+     *
+     * @return an iterator of versions in total order
+     */
+    @Override
+    public Iterator<NormalVersion> iterator() {
+
+        if (size == 0) {
+            return Collections.<NormalVersion>emptyList().iterator();
+        }
+
+        final Decoder decoder = new Decoder();
+        decoder.reset(0);
+
+        return new Iterator<NormalVersion>() {
+
+            @Override
+            public boolean hasNext() {
+
+                return index < size;
+            }
+
+
+            @Override
+            public NormalVersion next() {
+
+                if (index >= size) {
+                    throw new NoSuchElementException();
+                }
+
+                if (index % BLOCK_SIZE == 0) {
+                    decoder.reset(index / BLOCK_SIZE);
+                }
+                index++;
+
+                return decoder.next(true);
+            }
+
+
+            @Override
+            public void remove() {
+
+                throw new UnsupportedOperationException();
+            }
+
+
+            private int index;
+
+        };
+    }
+
+
+    /**
+     * Returns the number of bytes encoding versions.
+     *
+     * @return the encoded size in bytes
+     */
+    public int getEncodedSize() {
+
+        return bytes.length;
+    }
+
+
+    private final int size;
+
+
+    private final byte[] bytes;
+
+
+    private final int[] checkpoints;
+
+}
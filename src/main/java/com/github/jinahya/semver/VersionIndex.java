@@ -0,0 +1,191 @@
+/*
+ * Copyright 2015 Jin Kwon &lt;jinahya_at_gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.jinahya.semver;
+
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+
+/**
+ * An immutable, precedence-ordered list of distinct {@link NormalVersion}s
+ * which assigns each version a dense ordinal. Versions with equal precedence
+ * share a single ordinal.
+ *
+ * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
+ * @see VersionSet
+ */
+public class VersionIndex {
+
+
+    /**
+     * Class for building {@link VersionIndex}es.
+     */
+    public static class Builder {
+
+
+        /**
+         * Adds versions.
+         *
+         * @param version a version
+         * @param otherVersions more versions
+         *
+         * @return this
+         */
+        public Builder versions(final NormalVersion version,
+                                final NormalVersion... otherVersions) {
+
+            if (version == null) {
+                throw new NullPointerException("null version");
+            }
+            versions.add(version);
+
+            if (otherVersions != null) {
+                for (final NormalVersion otherVersion : otherVersions) {
+                    versions(otherVersion);
+                }
+            }
+
+            return this;
+        }
+
+
+        /**
+         * Adds versions.
+         *
+         * @param versions versions
+         *
+         * @return this
+         */
+        public Builder versions(final Iterator<NormalVersion> versions) {
+
+            while (versions.hasNext()) {
+                versions(versions.next());
+            }
+
+            return this;
+        }
+
+
+        /**
+         * Adds versions.
+         *
+         * @param versions versions
+         *
+         * @return this
+         */
+        public Builder versions(final Iterable<NormalVersion> versions) {
+
+            return versions(versions.iterator());
+        }
+
+
+        /**
+         * Builds an instance of {@code VersionIndex}.
+         *
+         * @return an instance of {@code VersionIndex}
+         */
+        public VersionIndex build() {
+
+            final NormalVersion[] sorted
+                = versions.toArray(new NormalVersion[versions.size()]);
+            Arrays.sort(sorted);
+
+            final int size = NormalVersions.dedupe(sorted, 0, sorted.length);
+
+            return new VersionIndex(Arrays.copyOf(sorted, size));
+        }
+
+
+        private final List<NormalVersion> versions
+            = new ArrayList<NormalVersion>();
+
+    }
+
+
+    private VersionIndex(final NormalVersion[] versions) {
+
+        super();
+
+        this.versions = versions;
+    }
+
+
+    /**
+     * Returns the number of versions in this index.
+     *
+     * @return the number of versions
+     */
+    public int size() {
+
+        return versions.length;
+    }
+
+
+    /**
+     * Returns the version of specified ordinal.
+     *
+     * @param ordinal the ordinal
+     *
+     * @return the version
+     *
+     * @throws IndexOutOfBoundsException if {@code ordinal} is out of range
+     */
+    public NormalVersion get(final int ordinal) {
+
+        if (ordinal < 0 || ordinal >= versions.length) {
+            throw new IndexOutOfBoundsException(
+                "ordinal(" + ordinal + ") out of range");
+        }
+
+        return versions[ordinal];
+    }
+
+
+    /**
+     * Returns the ordinal of the version whose precedence is equal to
+     * specified version.
+     *
+     * @param version the version
+     *
+     * @return the ordinal; {@code -1} if not indexed
+     */
+    public int ordinalOf(final NormalVersion version) {
+
+        final int ordinal = Arrays.binarySearch(versions, version);
+
+        return ordinal < 0 ? -1 : ordinal;
+    }
+
+
+    /**
+     * Returns an unmodifiable list of indexed versions in ordinal order.
+     *
+     * @return an unmodifiable list of indexed versions
+     */
+    public List<NormalVersion> getVersions() {
+
+        return Collections.unmodifiableList(Arrays.asList(versions));
+    }
+
+
+    private final NormalVersion[] versions;
+
+}
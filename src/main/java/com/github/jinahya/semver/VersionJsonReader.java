@@ -0,0 +1,397 @@
+/*
+ * Copyright 2015 Jin Kwon &lt;jinahya_at_gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.jinahya.semver;
+
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+
+/**
+ * Reads a JSON array of version strings, such as
+ * {@code ["1.0.0", "1.1.0-rc.1"]}, as {@link NormalVersion}s.
+ * <p>
+ * Each string is parsed straight out of the character buffer of this reader;
+ * no intermediate string is created unless the string contains escape
+ * sequences.
+ *
+ * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
+ * @see VersionJsonWriter
+ */
+public class VersionJsonReader implements Closeable {
+
+
+    /**
+     * A view of a character array.
+     */
+    private static final class Chars implements CharSequence {
+
+
+        Chars(final char[] array) {
+
+            super();
+
+            this.array = array;
+        }
+
+
+        @Override
+        public int length() {
+
+            return array.length;
+        }
+
+
+        @Override
+        public char charAt(final int index) {
+
+            return array[index];
+        }
+
+
+        @Override
+        public CharSequence subSequence(final int start, final int end) {
+
+            return new String(array, start, end - start);
+        }
+
+
+        @Override
+        public String toString() {
+
+            return new String(array);
+        }
+
+
+        private final char[] array;
+
+    }
+
+
+    private static final int BEFORE_ARRAY = 0;
+
+
+    private static final int IN_ARRAY = 1;
+
+
+    private static final int AFTER_ARRAY = 2;
+
+
+    /**
+     * Creates a new instance.
+     *
+     * @param reader the reader to read from
+     */
+    public VersionJsonReader(final Reader reader) {
+
+        this(reader, 8192);
+    }
+
+
+    /**
+     * Creates a new instance with specified initial buffer size. The buffer
+     * grows to hold the longest string.
+     *
+     * @param reader the reader to read from
+     * @param bufferSize the initial buffer size
+     */
+    public VersionJsonReader(final Reader reader, final int bufferSize) {
+
+        super();
+
+        if (reader == null) {
+            throw new NullPointerException("null reader");
+        }
+
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException(
+                "bufferSize(" + bufferSize + ") <= 0");
+        }
+
+        this.reader = reader;
+        this.buffer = new char[bufferSize];
+        this.view = new Chars(buffer);
+    }
+
+
+    private static IOException malformed(final String message) {
+
+        return new IOException("malformed: " + message);
+    }
+
+
+    /**
+     * Moves remaining characters, from {@code from}, to the front of the
+     * buffer, growing it if full, and reads more.
+     *
+     * @return the number of characters moved out of the front; {@code -1} if
+     * the end of the stream has been reached
+     */
+    private int fill(final int from) throws IOException {
+
+        System.arraycopy(buffer, from, buffer, 0, limit - from);
+        limit -= from;
+        position -= from;
+
+        if (limit == buffer.length) {
+            buffer = Arrays.copyOf(buffer, buffer.length << 1);
+            view = new Chars(buffer);
+        }
+
+        final int read = reader.read(buffer, limit, buffer.length - limit);
+        if (read == -1) {
+            return -1;
+        }
+        limit += read;
+
+        return from;
+    }
+
+
+    private int read() throws IOException {
+
+        if (position == limit && fill(position) == -1) {
+            return -1;
+        }
+
+        return buffer[position++];
+    }
+
+
+    private int readNonWhitespace() throws IOException {
+
+        while (true) {
+            final int c = read();
+            if (c != ' ' && c != '\t' && c != '\n' && c != '\r') {
+                return c;
+            }
+        }
+    }
+
+
+    /**
+     * Checks that nothing but whitespace follows the end of the array.
+     *
+     * @return {@code false}
+     */
+    private boolean end() throws IOException {
+
+        if (readNonWhitespace() != -1) {
+            throw malformed("content after end of array");
+        }
+
+        state = AFTER_ARRAY;
+
+        return false;
+    }
+
+
+    /**
+     * Checks whether there's another version to read.
+     *
+     * @return {@code true} if there's another version; {@code false} if the
+     * end of the array has been reached
+     *
+     * @throws IOException if an I/O error occurs or the input is malformed
+     */
+    public boolean hasNext() throws IOException {
+
+        if (ready) {
+            return true;
+        }
+
+        switch (state) {
+            case BEFORE_ARRAY:
+                if (readNonWhitespace() != '[') {
+                    throw malformed("no beginning of array");
+                }
+                state = IN_ARRAY;
+                final int first = readNonWhitespace();
+                if (first == ']') {
+                    return end();
+                }
+                if (first == -1) {
+                    throw malformed("no end of array");
+                }
+                position--; // unread
+                break;
+            case IN_ARRAY:
+                final int c = readNonWhitespace();
+                if (c == ']') {
+                    return end();
+                }
+                if (c != ',') {
+                    throw malformed(c == -1 ? "no end of array" : "no separator");
+                }
+                break;
+            default:
+                return false;
+        }
+
+        ready = true;
+
+        return true;
+    }
+
+
+    /**
+     * Reads the next version.
+     *
+     * @return the next version
+     *
+     * @throws IOException if an I/O error occurs or the input is malformed
+     * @throws NoSuchElementException if there's no more version
+     * @throws IllegalArgumentException if the string is not a valid version;
+     * the reader stays usable
+     */
+    public NormalVersion next() throws IOException {
+
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        ready = false;
+
+        if (readNonWhitespace() != '"') {
+            throw malformed("not a string");
+        }
+
+        int start = position;
+        for (int i = start;; i++) {
+            if (i == limit) {
+                position = i;
+                final int moved = fill(start);
+                if (moved == -1) {
+                    throw malformed("unterminated string");
+                }
+                start -= moved;
+                i -= moved;
+            }
+            final char c = buffer[i];
+            if (c == '"') {
+                position = i + 1;
+                return NormalVersion.valueOf(view, start, i);
+            }
+            if (c == '\\') {
+                position = i;
+                return unescape(start);
+            }
+        }
+    }
+
+
+    /**
+     * Reads the rest of a string containing escape sequences.
+     */
+    private NormalVersion unescape(final int start) throws IOException {
+
+        scratch.setLength(0);
+        scratch.append(buffer, start, position - start);
+
+        while (true) {
+            int c = read();
+            if (c == -1) {
+                throw malformed("unterminated string");
+            }
+            if (c == '"') {
+                break;
+            }
+            if (c == '\\') {
+                c = read();
+                switch (c) {
+                    case '"':
+                    case '\\':
+                    case '/':
+                        break;
+                    case 'b':
+                        c = '\b';
+                        break;
+                    case 'f':
+                        c = '\f';
+                        break;
+                    case 'n':
+                        c = '\n';
+                        break;
+                    case 'r':
+                        c = '\r';
+                        break;
+                    case 't':
+                        c = '\t';
+                        break;
+                    case 'u':
+                        c = 0;
+                        for (int i = 0; i < 4; i++) {
+                            final int digit = Character.digit(read(), 16);
+                            if (digit == -1) {
+                                throw malformed("illegal unicode escape");
+                            }
+                            c = (c << 4) | digit;
+                        }
+                        break;
+                    default:
+                        throw malformed("illegal escape");
+                }
+            }
+            scratch.append((char) c);
+        }
+
+        return NormalVersion.Builder.valueOf(scratch, 0, scratch.length())
+            .build();
+    }
+
+
+    /**
+     * Closes the underlying reader.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    @Override
+    public void close() throws IOException {
+
+        reader.close();
+    }
+
+
+    private final Reader reader;
+
+
+    private char[] buffer;
+
+
+    private Chars view;
+
+
+    private int position;
+
+
+    private int limit;
+
+
+    private int state = BEFORE_ARRAY;
+
+
+    /**
+     * Whether the separator before the next element has been consumed.
+     */
+    private boolean ready;
+
+
+    private final StringBuilder scratch = new StringBuilder();
+
+}
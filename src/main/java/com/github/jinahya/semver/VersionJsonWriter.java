@@ -0,0 +1,223 @@
+/*
+ * Copyright 2015 Jin Kwon &lt;jinahya_at_gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.jinahya.semver;
+
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+
+
+/**
+ * Writes {@link NormalVersion}s as a JSON array of version strings.
+ * <p>
+ * Versions are formatted straight into a single character buffer of this
+ * writer, which is handed to the underlying writer when full, without
+ * creating intermediate strings. Version strings never need to be escaped.
+ *
+ * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
+ * @see VersionJsonReader
+ */
+public class VersionJsonWriter implements Closeable, Flushable {
+
+
+    private static final int BUFFER_SIZE = 8192;
+
+
+    /**
+     * Creates a new instance.
+     *
+     * @param writer the writer to write to
+     */
+    public VersionJsonWriter(final Writer writer) {
+
+        super();
+
+        if (writer == null) {
+            throw new NullPointerException("null writer");
+        }
+
+        this.writer = writer;
+    }
+
+
+    /**
+     * Makes room for specified number of more characters, writing buffered
+     * ones out if needed.
+     */
+    private void reserve(final int length) throws IOException {
+
+        if (position + length <= chars.length) {
+            return;
+        }
+
+        drain();
+        if (length > chars.length) {
+            chars = new char[length];
+        }
+    }
+
+
+    private void drain() throws IOException {
+
+        writer.write(chars, 0, position);
+        position = 0;
+    }
+
+
+    private void put(final int value) {
+
+        // digits are written backwards from the end of the number
+        int end = position;
+        for (int v = value; v >= 10; v /= 10) {
+            end++;
+        }
+        position = end + 1;
+        int v = value;
+        do {
+            chars[end--] = (char) ('0' + v % 10);
+            v /= 10;
+        } while (v != 0);
+    }
+
+
+    private void put(final String value) {
+
+        value.getChars(0, value.length(), chars, position);
+        position += value.length();
+    }
+
+
+    /**
+     * Writes specified version as the next element.
+     *
+     * @param version the version to write
+     *
+     * @return this
+     *
+     * @throws IOException if an I/O error occurs
+     * @throws IllegalStateException if closed
+     */
+    public VersionJsonWriter write(final NormalVersion version)
+        throws IOException {
+
+        if (version == null) {
+            throw new NullPointerException("null version");
+        }
+
+        if (closed) {
+            throw new IllegalStateException("closed");
+        }
+
+        final String preReleaseVersion = version.getPreReleaseVersion() == null
+            ? null : version.getPreReleaseVersion().toString();
+        final String buildMetadata = version.getBuildMetadata() == null
+            ? null : version.getBuildMetadata().toString();
+
+        // three numbers of at most ten digits, two dots, two quotes and a
+        // separator
+        int length = 35;
+        if (preReleaseVersion != null) {
+            length += 1 + preReleaseVersion.length();
+        }
+        if (buildMetadata != null) {
+            length += 1 + buildMetadata.length();
+        }
+        reserve(length);
+
+        chars[position++] = count++ == 0 ? '[' : ',';
+        chars[position++] = '"';
+        put(version.getMajorVersion());
+        chars[position++] = '.';
+        put(version.getMinorVersion());
+        chars[position++] = '.';
+        put(version.getPatchVersion());
+        if (preReleaseVersion != null) {
+            chars[position++] = '-';
+            put(preReleaseVersion);
+        }
+        if (buildMetadata != null) {
+            chars[position++] = '+';
+            put(buildMetadata);
+        }
+        chars[position++] = '"';
+
+        return this;
+    }
+
+
+    /**
+     * Writes buffered characters and flushes the underlying writer.
+     *
+     * @throws IOException if an I/O error occurs
+     * @throws IllegalStateException if closed
+     */
+    @Override
+    public void flush() throws IOException {
+
+        if (closed) {
+            throw new IllegalStateException("closed");
+        }
+
+        drain();
+        writer.flush();
+    }
+
+
+    /**
+     * Ends the array and closes the underlying writer.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    @Override
+    public void close() throws IOException {
+
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+
+        try {
+            reserve(2);
+            if (count == 0) {
+                chars[position++] = '[';
+            }
+            chars[position++] = ']';
+            drain();
+        } finally {
+            writer.close();
+        }
+    }
+
+
+    private final Writer writer;
+
+
+    private char[] chars = new char[BUFFER_SIZE];
+
+
+    private int position;
+
+
+    private int count;
+
+
+    private boolean closed;
+
+}
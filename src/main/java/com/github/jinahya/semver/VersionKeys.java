@@ -0,0 +1,329 @@
+/*
+ * Copyright 2015 Jin Kwon &lt;jinahya_at_gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.jinahya.semver;
+
+
+/**
+ * Utilities for packing the core part of {@link NormalVersion}s into
+ * {@code long} keys and for filtering arrays of those keys.
+ * <p>
+ * A key holds, from the most significant side, a zero sign bit, 21 bits of
+ * major version, 21 bits of minor version, 20 bits of patch version and a
+ * single bit which is set when the version has no pre-release version. Keys
+ * compare, as signed {@code long}s, in the same order as the versions they
+ * were packed from except that all pre-release versions of the same core
+ * share a single key.
+ *
+ * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
+ */
+public final class VersionKeys {
+
+
+    private static final int PATCH_SHIFT = 1;
+
+
+    private static final int MINOR_SHIFT = 21;
+
+
+    private static final int MAJOR_SHIFT = 42;
+
+
+    /**
+     * The maximum major version can be packed.
+     */
+    public static final int MAX_MAJOR_VERSION = (1 << 21) - 1;
+
+
+    /**
+     * The maximum minor version can be packed.
+     */
+    public static final int MAX_MINOR_VERSION = (1 << 21) - 1;
+
+
+    /**
+     * The maximum patch version can be packed.
+     */
+    public static final int MAX_PATCH_VERSION = (1 << 20) - 1;
+
+
+    /**
+     * Checks whether specified version can be packed.
+     *
+     * @param version the version to check
+     *
+     * @return {@code true} if packable; {@code false} otherwise
+     */
+    public static boolean isPackable(final NormalVersion version) {
+
+        return version.getMajorVersion() <= MAX_MAJOR_VERSION
+               && version.getMinorVersion() <= MAX_MINOR_VERSION
+               && version.getPatchVersion() <= MAX_PATCH_VERSION;
+    }
+
+
+    /**
+     * Packs specified components into a key.
+     *
+     * @param major major version
+     * @param minor minor version
+     * @param patch patch version
+     * @param release {@code true} if the version has no pre-release version
+     *
+     * @return a key
+     *
+     * @throws IllegalArgumentException if any component is negative or out of
+     * range
+     */
+    public static long pack(final int major, final int minor, final int patch,
+                            final boolean release) {
+
+        if (major < 0 || major > MAX_MAJOR_VERSION) {
+            throw new IllegalArgumentException("major out of range: " + major);
+        }
+        if (minor < 0 || minor > MAX_MINOR_VERSION) {
+            throw new IllegalArgumentException("minor out of range: " + minor);
+        }
+        if (patch < 0 || patch > MAX_PATCH_VERSION) {
+            throw new IllegalArgumentException("patch out of range: " + patch);
+        }
+
+        return ((long) major << MAJOR_SHIFT)
+               | ((long) minor << MINOR_SHIFT)
+               | ((long) patch << PATCH_SHIFT)
+               | (release ? 1L : 0L);
+    }
+
+
+    /**
+     * Packs specified version into a key.
+     *
+     * @param version the version to pack
+     *
+     * @return a key
+     *
+     * @throws IllegalArgumentException if {@code version} is not packable
+     *
+     * @see #isPackable(com.github.jinahya.semver.NormalVersion)
+     */
+    public static long pack(final NormalVersion version) {
+
+        return pack(version.getMajorVersion(), version.getMinorVersion(),
+                    version.getPatchVersion(),
+                    version.getPreReleaseVersion() == null);
+    }
+
+
+    /**
+     * Packs each of specified versions.
+     *
+     * @param versions the versions to pack
+     *
+     * @return an array of keys
+     */
+    public static long[] pack(final NormalVersion... versions) {
+
+        final long[] keys = new long[versions.length];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = pack(versions[i]);
+        }
+
+        return keys;
+    }
+
+
+    /**
+     * Returns the major version of specified key.
+     *
+     * @param key the key
+     *
+     * @return the major version
+     */
+    public static int majorVersion(final long key) {
+
+        return (int) (key >>> MAJOR_SHIFT) & MAX_MAJOR_VERSION;
+    }
+
+
+    /**
+     * Returns the minor version of specified key.
+     *
+     * @param key the key
+     *
+     * @return the minor version
+     */
+    public static int minorVersion(final long key) {
+
+        return (int) (key >>> MINOR_SHIFT) & MAX_MINOR_VERSION;
+    }
+
+
+    /**
+     * Returns the patch version of specified key.
+     *
+     * @param key the key
+     *
+     * @return the patch version
+     */
+    public static int patchVersion(final long key) {
+
+        return (int) (key >>> PATCH_SHIFT) & MAX_PATCH_VERSION;
+    }
+
+
+    /**
+     * Returns whether specified key was packed from a version without any
+     * pre-release version.
+     *
+     * @param key the key
+     *
+     * @return {@code true} if released; {@code false} otherwise
+     */
+    public static boolean isRelease(final long key) {
+
+        return (key & 1L) != 0L;
+    }
+
+
+    /**
+     * Filters keys between specified inclusive bounds.
+     *
+     * @param keys the keys to filter
+     * @param from the first index, inclusive, to filter
+     * @param to the last index, exclusive, to filter
+     * @param lower the lower bound, inclusive, between {@code 0} and
+     * {@link Long#MAX_VALUE}
+     * @param upper the upper bound, inclusive, between {@code -1} and
+     * {@link Long#MAX_VALUE}
+     * @param stableOnly a flag for excluding keys of pre-release versions
+     *
+     * @return a bitmask whose {@code i}-th bit is set if
+     * {@code keys[from + i]} matches
+     */
+    public static long[] filter(final long[] keys, final int from,
+                                final int to, final long lower,
+                                final long upper, final boolean stableOnly) {
+
+        if (from < 0 || to > keys.length || from > to) {
+            throw new IndexOutOfBoundsException(
+                "from(" + from + "), to(" + to + "), length(" + keys.length
+                + ")");
+        }
+
+        final long[] mask = new long[(to - from + 63) >>> 6];
+
+        // (lower - 1 - k) and (k - upper - 1) are negative, and so have the
+        // sign bit set, exactly when lower <= k and k <= upper; no branches
+        final long lowerMinusOne = lower - 1L;
+        final long stable = stableOnly ? 0L : 1L;
+        for (int i = 0, j = from; j < to; i++, j++) {
+            final long k = keys[j];
+            final long m = ((lowerMinusOne - k) & (k - upper - 1L)) >>> 63
+                           & (k | stable);
+            mask[i >>> 6] |= m << i;
+        }
+
+        return mask;
+    }
+
+
+    /**
+     * Filters keys satisfying specified constraint.
+     *
+     * @param keys the keys to filter
+     * @param constraint the constraint; bounds, if any, must not have a
+     * pre-release version
+     *
+     * @return a bitmask whose {@code i}-th bit is set if {@code keys[i]}
+     * satisfies {@code constraint}
+     *
+     * @throws IllegalArgumentException if {@code constraint} can't be
+     * represented with keys
+     */
+    public static long[] filter(final long[] keys,
+                                final VersionConstraint constraint) {
+
+        long lower = 0L;
+        final NormalVersion lowerBound = constraint.getLowerBound();
+        if (lowerBound != null) {
+            lower = pack(requireRelease(lowerBound));
+            if (!constraint.isLowerBoundInclusive()) {
+                if (lower == Long.MAX_VALUE) {
+                    return new long[(keys.length + 63) >>> 6];
+                }
+                lower++;
+            }
+        }
+
+        long upper = Long.MAX_VALUE;
+        final NormalVersion upperBound = constraint.getUpperBound();
+        if (upperBound != null) {
+            upper = pack(requireRelease(upperBound));
+            if (!constraint.isUpperBoundInclusive()) {
+                upper--;
+            }
+        }
+
+        return filter(keys, 0, keys.length, lower, upper,
+                      constraint.isStableOnly());
+    }
+
+
+    private static NormalVersion requireRelease(final NormalVersion bound) {
+
+        if (bound.getPreReleaseVersion() != null) {
+            throw new IllegalArgumentException(
+                "pre-release bound can't be packed: " + bound);
+        }
+
+        return bound;
+    }
+
+
+    /**
+     * Returns the indices of bits set in specified bitmask.
+     *
+     * @param mask the bitmask
+     *
+     * @return an array of indices in ascending order
+     */
+    public static int[] indices(final long[] mask) {
+
+        int count = 0;
+        for (final long word : mask) {
+            count += Long.bitCount(word);
+        }
+
+        final int[] indices = new int[count];
+        int index = 0;
+        for (int i = 0; i < mask.length; i++) {
+            long word = mask[i];
+            while (word != 0L) {
+                indices[index++] = (i << 6) + Long.numberOfTrailingZeros(word);
+                word &= word - 1L;
+            }
+        }
+
+        return indices;
+    }
+
+
+    private VersionKeys() {
+
+        super();
+    }
+
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2015 Jin Kwon &lt;jinahya_at_gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.jinahya.semver;
+
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+
+/**
+ * Marks a constant {@code String} field as a version literal.
+ * <p>
+ * {@link VersionLiteralProcessor} validates the value at compile time and
+ * generates, in the same package, a class named after the enclosing type
+ * followed by {@code Versions} which has a {@link NormalVersion} constant of
+ * the same name built directly from the parts of the value.
+ * <blockquote><pre>
+ * class Compatibility {
+ *     &#64;VersionLiteral
+ *     static final String MINIMUM_CLIENT = "1.2.0-rc.1";
+ * }
+ *
+ * NormalVersion minimum = CompatibilityVersions.MINIMUM_CLIENT;
+ * </pre></blockquote>
+ * <p>
+ * The processor isn't registered in the main artifact, so that it never runs
+ * uninvited; put the artifact of the {@code processor} classifier on the
+ * processor path, or name the processor with {@code -processor}.
+ *
+ * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
+ */
+@Documented
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.FIELD)
+public @interface VersionLiteral {
+
+}
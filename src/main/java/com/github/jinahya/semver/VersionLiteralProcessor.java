@@ -0,0 +1,217 @@
+/*
+ * Copyright 2015 Jin Kwon &lt;jinahya_at_gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.jinahya.semver;
+
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.tools.Diagnostic;
+
+
+/**
+ * Processes {@link VersionLiteral}s.
+ *
+ * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
+ */
+@SupportedAnnotationTypes("com.github.jinahya.semver.VersionLiteral")
+public class VersionLiteralProcessor extends AbstractProcessor {
+
+
+    private static final String SUFFIX = "Versions";
+
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+
+        return SourceVersion.latestSupported();
+    }
+
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations,
+                           final RoundEnvironment roundEnv) {
+
+        final Map<TypeElement, List<VariableElement>> fields
+            = new LinkedHashMap<TypeElement, List<VariableElement>>();
+
+        for (final Element element
+             : roundEnv.getElementsAnnotatedWith(VersionLiteral.class)) {
+            if (element.getKind() != ElementKind.FIELD
+                || !element.getModifiers().contains(Modifier.STATIC)
+                || !(((VariableElement) element).getConstantValue()
+                     instanceof String)) {
+                error(element, "not a constant String field");
+                continue;
+            }
+            final String value
+                = (String) ((VariableElement) element).getConstantValue();
+            try {
+                NormalVersion.valueOf(value);
+            } catch (final IllegalArgumentException iae) {
+                error(element, "invalid version literal: \"" + value + "\"");
+                continue;
+            }
+            final TypeElement type
+                = (TypeElement) element.getEnclosingElement();
+            List<VariableElement> list = fields.get(type);
+            if (list == null) {
+                list = new ArrayList<VariableElement>();
+                fields.put(type, list);
+            }
+            list.add((VariableElement) element);
+        }
+
+        for (final Map.Entry<TypeElement, List<VariableElement>> entry
+             : fields.entrySet()) {
+            try {
+                generate(entry.getKey(), entry.getValue());
+            } catch (final IOException ioe) {
+                error(entry.getKey(), "failed to generate: " + ioe);
+            }
+        }
+
+        return true;
+    }
+
+
+    private void error(final Element element, final String message) {
+
+        processingEnv.getMessager().printMessage(
+            Diagnostic.Kind.ERROR, message, element);
+    }
+
+
+    /**
+     * Returns the simple name of the class generated for specified type;
+     * names of enclosing types are joined with {@code _}.
+     */
+    private static String simpleName(final TypeElement type) {
+
+        final StringBuilder builder = new StringBuilder();
+        for (Element e = type; e instanceof TypeElement;
+             e = e.getEnclosingElement()) {
+            if (builder.length() > 0) {
+                builder.insert(0, '_');
+            }
+            builder.insert(0, e.getSimpleName());
+        }
+
+        return builder.append(SUFFIX).toString();
+    }
+
+
+    /**
+     * Prints the joined identifiers and their offsets, as expected by
+     * {@link VersionLiterals#normalVersion(int, int, int, String, int[],
+     * String, int[])}, or two {@code null}s if none.
+     */
+    private static void identifiers(final PrintWriter writer,
+                                    final List<String> identifiers) {
+
+        if (identifiers == null) {
+            writer.print("null, null");
+            return;
+        }
+
+        final StringBuilder joined = new StringBuilder();
+        final StringBuilder offsets = new StringBuilder("new int[]{");
+        for (final String identifier : identifiers) {
+            if (joined.length() > 0) {
+                joined.append('.');
+                offsets.append(", ");
+            }
+            offsets.append(joined.length());
+            joined.append(identifier);
+        }
+        offsets.append(", ").append(joined.length() + 1).append('}');
+
+        // identifiers never need to be escaped
+        writer.print('"' + joined.toString() + "\", " + offsets);
+    }
+
+
+    private void generate(final TypeElement type,
+                          final List<VariableElement> fields)
+        throws IOException {
+
+        final String packageName = processingEnv.getElementUtils()
+            .getPackageOf(type).getQualifiedName().toString();
+        final String simpleName = simpleName(type);
+        final String name = packageName.length() == 0
+                            ? simpleName : packageName + "." + simpleName;
+
+        final PrintWriter writer = new PrintWriter(
+            processingEnv.getFiler()
+            .createSourceFile(name, fields.toArray(new Element[0]))
+            .openWriter());
+        try {
+            if (packageName.length() > 0) {
+                writer.println("package " + packageName + ";");
+                writer.println();
+            }
+            writer.println("/**");
+            writer.println(" * Version constants of {@link "
+                           + type.getQualifiedName() + "}.");
+            writer.println(" */");
+            writer.println("public final class " + simpleName + " {");
+            for (final VariableElement field : fields) {
+                final NormalVersion version = NormalVersion.valueOf(
+                    (String) field.getConstantValue());
+                writer.println();
+                writer.println("    /** {@code " + version + "} */");
+                writer.println("    public static final"
+                               + " com.github.jinahya.semver.NormalVersion "
+                               + field.getSimpleName() + " =");
+                writer.print("        com.github.jinahya.semver"
+                             + ".VersionLiterals.normalVersion("
+                             + version.getMajorVersion() + ", "
+                             + version.getMinorVersion() + ", "
+                             + version.getPatchVersion() + ", ");
+                identifiers(writer, version.getPreReleaseVersion() == null
+                                    ? null : version.getPreReleaseVersion()
+                                    .getIdentifiers());
+                writer.print(", ");
+                identifiers(writer, version.getBuildMetadata() == null
+                                    ? null : version.getBuildMetadata()
+                                    .getIdentifiers());
+                writer.println(");");
+            }
+            writer.println();
+            writer.println("    private " + simpleName + "() {");
+            writer.println("        super();");
+            writer.println("    }");
+            writer.println("}");
+        } finally {
+            writer.close();
+        }
+    }
+
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2015 Jin Kwon &lt;jinahya_at_gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.jinahya.semver;
+
+
+/**
+ * Support for classes generated by {@link VersionLiteralProcessor}.
+ *
+ * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
+ */
+public final class VersionLiterals {
+
+
+    private static int requireNonNegative(final String name,
+                                          final int value) {
+
+        if (value < 0) {
+            throw new IllegalArgumentException(
+                name + "(" + value + ") < 0");
+        }
+
+        return value;
+    }
+
+
+    /**
+     * Checks, in a single pass, that specified offsets split specified string
+     * into non-empty identifiers at dots, and only at dots. Identifiers
+     * themselves are not validated.
+     */
+    private static Identifiers identifiers(final String joined,
+                                           final int[] offsets) {
+
+        if (joined == null) {
+            return null;
+        }
+
+        if (offsets == null) {
+            throw new NullPointerException("null offsets");
+        }
+
+        final int last = offsets.length - 1;
+        if (last < 1 || offsets[0] != 0
+            || offsets[last] != joined.length() + 1) {
+            throw new IllegalArgumentException(
+                "offsets don't span \"" + joined + "\"");
+        }
+
+        for (int i = 0; i < last; i++) {
+            final int start = offsets[i];
+            final int end = offsets[i + 1] - 1; // at the dot or the length
+            if (end <= start) {
+                throw new IllegalArgumentException(
+                    "empty identifier at " + start + " in \"" + joined
+                    + "\"");
+            }
+            for (int j = start; j < end; j++) {
+                if (joined.charAt(j) == '.') {
+                    throw new IllegalArgumentException(
+                        "misaligned offsets at " + j + " in \"" + joined
+                        + "\"");
+                }
+            }
+            if (i + 1 < last && joined.charAt(end) != '.') {
+                throw new IllegalArgumentException(
+                    "misaligned offsets at " + end + " in \"" + joined
+                    + "\"");
+            }
+        }
+
+        return new Identifiers(joined, offsets);
+    }
+
+
+    /**
+     * Creates a version from the parts of a literal which
+     * {@link VersionLiteralProcessor} has already validated. This method is
+     * meant only for generated code. It skips parsing and validating
+     * identifiers but checks, in linear time, that numbers are not negative
+     * and that offsets split the strings into non-empty identifiers at dots.
+     *
+     * @param major the major version
+     * @param minor the minor version
+     * @param patch the patch version
+     * @param preReleaseVersion the dot-separated pre-release identifiers;
+     * {@code null} if none
+     * @param preReleaseOffsets the start of each pre-release identifier
+     * followed by the length of {@code preReleaseVersion} plus one
+     * @param buildMetadata the dot-separated build metadata identifiers;
+     * {@code null} if none
+     * @param buildMetadataOffsets the start of each build metadata identifier
+     * followed by the length of {@code buildMetadata} plus one
+     *
+     * @return a new instance
+     *
+     * @throws NullPointerException if offsets are {@code null} for a
+     * non-{@code null} string
+     * @throws IllegalArgumentException if a number is negative or if offsets
+     * don't match their string
+     */
+    public static NormalVersion normalVersion(
+        final int major, final int minor, final int patch,
+        final String preReleaseVersion, final int[] preReleaseOffsets,
+        final String buildMetadata, final int[] buildMetadataOffsets) {
+
+        final Identifiers release
+            = identifiers(preReleaseVersion, preReleaseOffsets);
+        final Identifiers metadata
+            = identifiers(buildMetadata, buildMetadataOffsets);
+
+        return new NormalVersion(
+            requireNonNegative("major", major),
+            requireNonNegative("minor", minor),
+            requireNonNegative("patch", patch),
+            release == null ? null : new PreReleaseVersion(release),
+            metadata == null ? null : new BuildMetadata(metadata));
+    }
+
+
+    private VersionLiterals() {
+
+        super();
+    }
+
+}
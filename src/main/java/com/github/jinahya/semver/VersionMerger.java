@@ -0,0 +1,260 @@
+/*
+ * Copyright 2015 Jin Kwon &lt;jinahya_at_gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.jinahya.semver;
+
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+
+/**
+ * Merges sources of versions, each already sorted in ascending order of
+ * precedence, into a single sorted stream.
+ * <p>
+ * The merge is backed by a loser tree, so each version costs
+ * {@code O(log k)} comparisons for {@code k} sources, and only the head of
+ * each source is held in memory. Versions of equal precedence are emitted in
+ * the order of their sources or, when deduplicating, only the first of them
+ * is emitted.
+ *
+ * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
+ */
+public class VersionMerger implements Iterator<NormalVersion> {
+
+
+    /**
+     * Class for building {@link VersionMerger}s.
+     */
+    public static class Builder {
+
+
+        /**
+         * Adds a source.
+         *
+         * @param source the source sorted in ascending order of precedence
+         *
+         * @return this
+         */
+        public Builder source(final Iterator<NormalVersion> source) {
+
+            if (source == null) {
+                throw new NullPointerException("null source");
+            }
+
+            sources.add(source);
+
+            return this;
+        }
+
+
+        /**
+         * Adds a source.
+         *
+         * @param source the source sorted in ascending order of precedence
+         *
+         * @return this
+         */
+        public Builder source(final Iterable<NormalVersion> source) {
+
+            return source(source.iterator());
+        }
+
+
+        /**
+         * Sets whether versions of equal precedence are emitted only once.
+         *
+         * @param unique the flag
+         *
+         * @return this
+         */
+        public Builder unique(final boolean unique) {
+
+            this.unique = unique;
+
+            return this;
+        }
+
+
+        /**
+         * Builds an instance of {@code VersionMerger}.
+         *
+         * @return an instance of {@code VersionMerger}
+         */
+        public VersionMerger build() {
+
+            return new VersionMerger(
+                new ArrayList<Iterator<NormalVersion>>(sources), unique);
+        }
+
+
+        private final List<Iterator<NormalVersion>> sources
+            = new ArrayList<Iterator<NormalVersion>>();
+
+
+        private boolean unique;
+
+    }
+
+
+    private VersionMerger(final List<Iterator<NormalVersion>> sources,
+                          final boolean unique) {
+
+        super();
+
+        this.sources = sources;
+        this.unique = unique;
+
+        heads = new NormalVersion[sources.size()];
+        for (int i = 0; i < sources.size(); i++) {
+            if (sources.get(i).hasNext()) {
+                heads[i] = sources.get(i).next();
+            }
+        }
+
+        losers = new int[Math.max(1, sources.size())];
+        if (sources.size() > 0) {
+            losers[0] = play(1);
+        }
+    }
+
+
+    /**
+     * Checks whether the head of source {@code i} precedes the head of
+     * source {@code j}; an exhausted source never precedes.
+     */
+    private boolean precedes(final int i, final int j) {
+
+        if (heads[i] == null) {
+            return false;
+        }
+        if (heads[j] == null) {
+            return true;
+        }
+
+        final int compared = heads[i].compareTo(heads[j]);
+
+        return compared < 0 || (compared == 0 && i < j);
+    }
+
+
+    /**
+     * Plays the subtree of specified node, recording losers, and returns the
+     * winner.
+     */
+    private int play(final int node) {
+
+        if (node >= sources.size()) {
+            return node - sources.size();
+        }
+
+        final int left = play(node << 1);
+        final int right = play((node << 1) + 1);
+        if (precedes(left, right)) {
+            losers[node] = right;
+            return left;
+        }
+        losers[node] = left;
+
+        return right;
+    }
+
+
+    /**
+     * Replaces the head of the winner and replays its path to the root.
+     */
+    private void advance() {
+
+        int winner = losers[0];
+        final NormalVersion previous = heads[winner];
+        final Iterator<NormalVersion> source = sources.get(winner);
+        heads[winner] = source.hasNext() ? source.next() : null;
+        if (heads[winner] != null && heads[winner].compareTo(previous) < 0) {
+            throw new IllegalStateException(
+                "unsorted source(" + winner + "): " + heads[winner]
+                + " after " + previous);
+        }
+
+        for (int node = (winner + sources.size()) >> 1; node > 0;
+             node >>= 1) {
+            if (precedes(losers[node], winner)) {
+                final int loser = losers[node];
+                losers[node] = winner;
+                winner = loser;
+            }
+        }
+        losers[0] = winner;
+    }
+
+
+    @Override
+    public boolean hasNext() {
+
+        return sources.size() > 0 && heads[losers[0]] != null;
+    }
+
+
+    /**
+     * Returns the next version.
+     *
+     * @return the next version
+     *
+     * @throws IllegalStateException if a source is found not sorted
+     */
+    @Override
+    public NormalVersion next() {
+
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        final NormalVersion next = heads[losers[0]];
+        advance();
+
+        if (unique) {
+            while (hasNext() && heads[losers[0]].compareTo(next) == 0) {
+                advance();
+            }
+        }
+
+        return next;
+    }
+
+
+    @Override
+    public void remove() {
+
+        throw new UnsupportedOperationException("remove");
+    }
+
+
+    private final List<Iterator<NormalVersion>> sources;
+
+
+    private final boolean unique;
+
+
+    private final NormalVersion[] heads;
+
+
+    /**
+     * Losers of each internal node; the overall winner at {@code 0}.
+     */
+    private final int[] losers;
+
+}
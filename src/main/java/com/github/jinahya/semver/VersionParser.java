@@ -0,0 +1,266 @@
+/*
+ * Copyright 2015 Jin Kwon &lt;jinahya_at_gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.jinahya.semver;
+
+
+import java.util.Arrays;
+
+
+/**
+ * A reusable parser of a version in a range of a sequence.
+ * <p>
+ * {@link #parse(java.lang.CharSequence, int, int)} validates the range
+ * without throwing for invalid input, and without allocating once the arrays
+ * of offsets have grown to the number of identifiers. The major, minor
+ * and patch versions are parsed while identifiers are kept as offsets in the
+ * indices of the sequence, in the form of {@link Identifiers}.
+ *
+ * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
+ */
+final class VersionParser {
+
+
+    /**
+     * Returns the index of the first occurrence of specified character in
+     * specified range; {@code end} if not found.
+     */
+    private static int indexOf(final CharSequence s, final char c,
+                               final int start, final int end) {
+
+        for (int i = start; i < end; i++) {
+            if (s.charAt(i) == c) {
+                return i;
+            }
+        }
+
+        return end;
+    }
+
+
+    /**
+     * Appends an offset to specified array, growing it if needed.
+     */
+    private static int[] offset(int[] offsets, final int count,
+                                final int offset) {
+
+        if (offsets == null) {
+            offsets = new int[4];
+        } else if (count + 1 == offsets.length) {
+            offsets = Arrays.copyOf(offsets, offsets.length << 1);
+        }
+
+        offsets[count] = offset;
+
+        return offsets;
+    }
+
+
+    /**
+     * Creates identifiers from specified offsets in the sequence.
+     */
+    private static Identifiers identifiers(final CharSequence s,
+                                           final int[] offsets,
+                                           final int count) {
+
+        final int base = offsets[0];
+        final String joined
+            = s.subSequence(base, offsets[count] - 1).toString();
+
+        final int[] rebased = new int[count + 1];
+        for (int i = 0; i <= count; i++) {
+            rebased[i] = offsets[i] - base;
+        }
+
+        return new Identifiers(joined, rebased);
+    }
+
+
+    /**
+     * Parses specified range of a sequence.
+     *
+     * @param s the sequence
+     * @param start the start index, inclusive
+     * @param end the end index, exclusive
+     *
+     * @return {@code true} if the range is a valid version; {@code false}
+     * otherwise
+     */
+    boolean parse(final CharSequence s, final int start, final int end) {
+
+        valid = false;
+        preReleaseCount = 0;
+        buildMetadataCount = 0;
+
+        final int minorStart = indexOf(s, '.', start, end) + 1;
+        final int patchStart = indexOf(s, '.', minorStart, end) + 1;
+        if (patchStart > end) {
+            return false;
+        }
+        final int buildStart = indexOf(s, '+', patchStart, end);
+        final int preReleaseStart = indexOf(s, '-', patchStart, buildStart);
+
+        majorVersion = IdentifierValidator.parseNumeric(
+            s, start, minorStart - 1);
+        minorVersion = IdentifierValidator.parseNumeric(
+            s, minorStart, patchStart - 1);
+        patchVersion = IdentifierValidator.parseNumeric(
+            s, patchStart, preReleaseStart);
+        if (majorVersion == -1 || minorVersion == -1 || patchVersion == -1) {
+            return false;
+        }
+
+        if (preReleaseStart < buildStart) {
+            int from = preReleaseStart + 1;
+            while (true) {
+                final int to = indexOf(s, '.', from, buildStart);
+                if (!IdentifierValidator.PRE_RELEASE.isValid(s, from, to)) {
+                    return false;
+                }
+                preReleaseOffsets = offset(
+                    preReleaseOffsets, preReleaseCount++, from);
+                if (to == buildStart) {
+                    break;
+                }
+                from = to + 1;
+            }
+            // the end of the last plus one
+            preReleaseOffsets[preReleaseCount] = buildStart + 1;
+        }
+
+        if (buildStart < end) {
+            int from = buildStart + 1;
+            while (true) {
+                final int to = indexOf(s, '.', from, end);
+                if (!IdentifierValidator.BUILD_METADATA.isValid(s, from, to)) {
+                    return false;
+                }
+                buildMetadataOffsets = offset(
+                    buildMetadataOffsets, buildMetadataCount++, from);
+                if (to == end) {
+                    break;
+                }
+                from = to + 1;
+            }
+            buildMetadataOffsets[buildMetadataCount] = end + 1;
+        }
+
+        valid = true;
+
+        return true;
+    }
+
+
+    boolean isValid() {
+
+        return valid;
+    }
+
+
+    int getMajorVersion() {
+
+        return majorVersion;
+    }
+
+
+    int getMinorVersion() {
+
+        return minorVersion;
+    }
+
+
+    int getPatchVersion() {
+
+        return patchVersion;
+    }
+
+
+    int getPreReleaseCount() {
+
+        return preReleaseCount;
+    }
+
+
+    /**
+     * Returns offsets of pre-release identifiers in the form of
+     * {@link Identifiers}. Only the first
+     * {@link #getPreReleaseCount()} {@code + 1} elements are meaningful.
+     */
+    int[] getPreReleaseOffsets() {
+
+        return preReleaseOffsets;
+    }
+
+
+    /**
+     * Returns the start index of the build metadata; {@code -1} if none.
+     */
+    int getBuildMetadataStart() {
+
+        return buildMetadataCount == 0 ? -1 : buildMetadataOffsets[0];
+    }
+
+
+    /**
+     * Returns the end index of the build metadata; {@code -1} if none.
+     */
+    int getBuildMetadataEnd() {
+
+        return buildMetadataCount == 0
+               ? -1 : buildMetadataOffsets[buildMetadataCount] - 1;
+    }
+
+
+    /**
+     * Creates a version of the parsed range. The range must be valid and
+     * specified sequence must be the one parsed.
+     */
+    NormalVersion toNormalVersion(final CharSequence s) {
+
+        return new NormalVersion(
+            majorVersion, minorVersion, patchVersion,
+            preReleaseCount == 0 ? null : new PreReleaseVersion(
+                identifiers(s, preReleaseOffsets, preReleaseCount)),
+            buildMetadataCount == 0 ? null : new BuildMetadata(
+                identifiers(s, buildMetadataOffsets,
+                            buildMetadataCount)));
+    }
+
+
+    private boolean valid;
+
+
+    private int majorVersion;
+
+
+    private int minorVersion;
+
+
+    private int patchVersion;
+
+
+    private int[] preReleaseOffsets;
+
+
+    private int preReleaseCount;
+
+
+    private int[] buildMetadataOffsets;
+
+
+    private int buildMetadataCount;
+
+}
@@ -0,0 +1,556 @@
+/*
+ * Copyright 2015 Jin Kwon &lt;jinahya_at_gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.jinahya.semver;
+
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * A lightweight server answering version queries over a line-based text
+ * protocol, for processes which can't link this library.
+ * <p>
+ * Each request is a single line of a command followed by whitespace-separated
+ * arguments and is answered with a single line starting with {@code OK} or
+ * {@code ERR}. Clients may pipeline any number of requests on a connection;
+ * responses are written in order and flushed only when no more requests are
+ * already buffered, so that a batch of pipelined requests costs a single
+ * write.
+ * <p>
+ * A connection arriving while all threads are busy and the backlog is full
+ * is answered with {@code ERR busy} and closed; a request line longer than
+ * the maximum line length is answered with {@code ERR line too long} and its
+ * connection is closed.
+ * <table summary="commands">
+ * <tr><th>request</th><th>response</th></tr>
+ * <tr><td>{@code PARSE v...}</td><td>{@code OK} followed by each version in
+ * canonical form or {@code !} if invalid</td></tr>
+ * <tr><td>{@code COMPARE a b [a b]...}</td><td>{@code OK} followed by
+ * {@code -1}, {@code 0} or {@code 1} for each pair</td></tr>
+ * <tr><td>{@code SORT v...}</td><td>{@code OK} followed by the versions in
+ * ascending order of precedence</td></tr>
+ * <tr><td>{@code MAX constraint ; v...}</td><td>{@code OK} followed by the
+ * highest version satisfying the constraint or {@code -} if none</td></tr>
+ * <tr><td>{@code QUIT}</td><td>none; the connection is closed</td></tr>
+ * </table>
+ *
+ * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
+ * @see VersionConstraint#valueOf(java.lang.String)
+ */
+public class VersionQueryServer implements Runnable, Closeable {
+
+
+    /**
+     * Class for building {@link VersionQueryServer}s.
+     */
+    public static class Builder {
+
+
+        /**
+         * Sets the address to bind. The default is the loopback address.
+         *
+         * @param address the address
+         *
+         * @return this
+         */
+        public Builder address(final InetAddress address) {
+
+            this.address = address;
+
+            return this;
+        }
+
+
+        /**
+         * Sets the port to bind. The default is {@code 0} which selects an
+         * ephemeral port.
+         *
+         * @param port the port
+         *
+         * @return this
+         */
+        public Builder port(final int port) {
+
+            if (port < 0 || port > 65535) {
+                throw new IllegalArgumentException(
+                    "port(" + port + ") out of range");
+            }
+
+            this.port = port;
+
+            return this;
+        }
+
+
+        /**
+         * Sets the maximum number of connections served concurrently.
+         *
+         * @param threads the number of threads serving connections
+         *
+         * @return this
+         */
+        public Builder threads(final int threads) {
+
+            if (threads <= 0) {
+                throw new IllegalArgumentException(
+                    "threads(" + threads + ") <= 0");
+            }
+
+            this.threads = threads;
+
+            return this;
+        }
+
+
+        /**
+         * Sets the maximum number of accepted connections waiting for a
+         * thread. The default is {@code 0}; connections are rejected as soon
+         * as all threads are busy.
+         *
+         * @param backlog the number of waiting connections
+         *
+         * @return this
+         */
+        public Builder backlog(final int backlog) {
+
+            if (backlog < 0) {
+                throw new IllegalArgumentException(
+                    "backlog(" + backlog + ") < 0");
+            }
+
+            this.backlog = backlog;
+
+            return this;
+        }
+
+
+        /**
+         * Sets the maximum number of characters of a request line. The
+         * default is {@code 65536}.
+         *
+         * @param maximumLineLength the maximum line length
+         *
+         * @return this
+         */
+        public Builder maximumLineLength(final int maximumLineLength) {
+
+            if (maximumLineLength <= 0) {
+                throw new IllegalArgumentException(
+                    "maximumLineLength(" + maximumLineLength + ") <= 0");
+            }
+
+            this.maximumLineLength = maximumLineLength;
+
+            return this;
+        }
+
+
+        /**
+         * Builds and binds an instance of {@code VersionQueryServer}. Call
+         * {@link VersionQueryServer#run()} to start accepting connections.
+         *
+         * @return a bound instance of {@code VersionQueryServer}
+         *
+         * @throws IOException if an I/O error occurs while binding
+         */
+        public VersionQueryServer build() throws IOException {
+
+            final ServerSocket server = new ServerSocket();
+            try {
+                server.bind(new InetSocketAddress(
+                    address == null ? InetAddress.getByName(null) : address,
+                    port));
+            } catch (final IOException ioe) {
+                server.close();
+                throw ioe;
+            }
+
+            final BlockingQueue<Runnable> queue = backlog == 0
+                ? new SynchronousQueue<Runnable>()
+                : new ArrayBlockingQueue<Runnable>(backlog);
+
+            return new VersionQueryServer(
+                server,
+                new ThreadPoolExecutor(threads, threads, 0L,
+                                       TimeUnit.MILLISECONDS, queue),
+                maximumLineLength);
+        }
+
+
+        private InetAddress address;
+
+
+        private int port;
+
+
+        private int threads = 16;
+
+
+        private int backlog;
+
+
+        private int maximumLineLength = 65536;
+
+    }
+
+
+    private static final String OK = "OK";
+
+
+    private static final String ERR = "ERR";
+
+
+    /**
+     * The initial pause, in milliseconds, after a failed accept.
+     */
+    private static final long MINIMUM_BACKOFF = 10L;
+
+
+    /**
+     * The longest pause, in milliseconds, after consecutive failed accepts.
+     */
+    private static final long MAXIMUM_BACKOFF = 1000L;
+
+
+    /**
+     * Reads a line terminated by {@code \n} or {@code \r\n} into specified
+     * buffer.
+     *
+     * @return {@code -1} at the end of the stream; {@code 1} if the line is
+     * longer than {@code limit}; {@code 0} otherwise
+     */
+    private static int readLine(final Reader reader, final StringBuilder line,
+                                final int limit)
+        throws IOException {
+
+        line.setLength(0);
+        for (int c; (c = reader.read()) != -1;) {
+            if (c == '\n') {
+                final int length = line.length();
+                if (length > 0 && line.charAt(length - 1) == '\r') {
+                    line.setLength(length - 1);
+                }
+                return line.length() > limit ? 1 : 0;
+            }
+            if (line.length() > limit) { // not even for a trailing '\r'
+                return 1;
+            }
+            line.append((char) c);
+        }
+
+        if (line.length() == 0) {
+            return -1;
+        }
+
+        return line.length() > limit ? 1 : 0;
+    }
+
+
+    /**
+     * Splits specified range of a line by whitespaces.
+     */
+    private static List<String> tokens(final String line, final int start,
+                                       final int end) {
+
+        final List<String> tokens = new ArrayList<String>();
+
+        int i = start;
+        while (i < end) {
+            while (i < end && Character.isWhitespace(line.charAt(i))) {
+                i++;
+            }
+            final int tokenStart = i;
+            while (i < end && !Character.isWhitespace(line.charAt(i))) {
+                i++;
+            }
+            if (tokenStart < i) {
+                tokens.add(line.substring(tokenStart, i));
+            }
+        }
+
+        return tokens;
+    }
+
+
+    private static NormalVersion[] versions(final List<String> tokens) {
+
+        final NormalVersion[] versions = new NormalVersion[tokens.size()];
+        for (int i = 0; i < versions.length; i++) {
+            versions[i] = NormalVersion.valueOf(tokens.get(i));
+        }
+
+        return versions;
+    }
+
+
+    /**
+     * Answers a single request line.
+     *
+     * @param line the request line
+     *
+     * @return the response line; {@code null} if the connection should be
+     * closed
+     */
+    static String respond(final String line) {
+
+        int commandEnd = 0;
+        while (commandEnd < line.length()
+               && !Character.isWhitespace(line.charAt(commandEnd))) {
+            commandEnd++;
+        }
+        final String command = line.substring(0, commandEnd);
+
+        final StringBuilder response = new StringBuilder(OK);
+        try {
+            if ("PARSE".equals(command)) {
+                for (final String token
+                     : tokens(line, commandEnd, line.length())) {
+                    response.append(' ');
+                    try {
+                        response.append(NormalVersion.valueOf(token));
+                    } catch (final IllegalArgumentException iae) {
+                        response.append('!');
+                    }
+                }
+            } else if ("COMPARE".equals(command)) {
+                final NormalVersion[] versions
+                    = versions(tokens(line, commandEnd, line.length()));
+                if (versions.length % 2 != 0) {
+                    return ERR + " odd number of versions";
+                }
+                for (int i = 0; i < versions.length; i += 2) {
+                    response.append(' ').append(
+                        Integer.signum(versions[i].compareTo(versions[i + 1])));
+                }
+            } else if ("SORT".equals(command)) {
+                final NormalVersion[] versions
+                    = versions(tokens(line, commandEnd, line.length()));
+                Arrays.sort(versions);
+                for (final NormalVersion version : versions) {
+                    response.append(' ').append(version);
+                }
+            } else if ("MAX".equals(command)) {
+                final int separator = line.indexOf(';', commandEnd);
+                if (separator == -1) {
+                    return ERR + " no separator";
+                }
+                final VersionConstraint constraint = VersionConstraint.valueOf(
+                    line.substring(commandEnd, separator));
+                NormalVersion max = null;
+                for (final NormalVersion version : versions(
+                     tokens(line, separator + 1, line.length()))) {
+                    if (constraint.isSatisfiedBy(version)
+                        && (max == null || version.compareTo(max) > 0)) {
+                        max = version;
+                    }
+                }
+                response.append(' ').append(max == null ? "-" : max);
+            } else if ("QUIT".equals(command)) {
+                return null;
+            } else {
+                return ERR + " unknown command: " + command;
+            }
+        } catch (final IllegalArgumentException iae) {
+            return ERR + " " + iae.getMessage();
+        }
+
+        return response.toString();
+    }
+
+
+    private VersionQueryServer(final ServerSocket server,
+                               final ExecutorService executor,
+                               final int maximumLineLength) {
+
+        super();
+
+        this.server = server;
+        this.executor = executor;
+        this.maximumLineLength = maximumLineLength;
+    }
+
+
+    private static void close(final Socket socket) {
+
+        try {
+            socket.close();
+        } catch (final IOException ioe) {
+            // ignored
+        }
+    }
+
+
+    /**
+     * Accepts connections until closed or interrupted. Failed accepts, for
+     * example, for running out of file descriptors, are retried after pauses
+     * growing up to a second.
+     */
+    @Override
+    public void run() {
+
+        long backoff = 0L;
+        while (!server.isClosed()) {
+            final Socket socket;
+            try {
+                socket = server.accept();
+            } catch (final IOException ioe) {
+                if (server.isClosed()) {
+                    return;
+                }
+                backoff = Math.min(Math.max(MINIMUM_BACKOFF, backoff << 1),
+                                   MAXIMUM_BACKOFF);
+                try {
+                    Thread.sleep(backoff);
+                } catch (final InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                continue;
+            }
+            backoff = 0L;
+            sockets.add(socket);
+            try {
+                executor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            serve(socket);
+                        } catch (final IOException ioe) {
+                            // the connection is broken; nothing to answer
+                        } finally {
+                            sockets.remove(socket);
+                            close(socket);
+                        }
+                    }
+                });
+            } catch (final RejectedExecutionException ree) {
+                sockets.remove(socket);
+                if (!executor.isShutdown()) { // saturated
+                    try {
+                        socket.getOutputStream().write(
+                            (ERR + " busy\n").getBytes("US-ASCII"));
+                    } catch (final IOException ioe) {
+                        // ignored
+                    }
+                }
+                close(socket);
+            }
+        }
+    }
+
+
+    private void serve(final Socket socket) throws IOException {
+
+        socket.setTcpNoDelay(true);
+
+        final BufferedReader reader = new BufferedReader(
+            new InputStreamReader(socket.getInputStream(), "UTF-8"));
+        final Writer writer = new BufferedWriter(
+            new OutputStreamWriter(socket.getOutputStream(), "UTF-8"));
+
+        final StringBuilder buffer = new StringBuilder();
+        for (int read; (read = readLine(reader, buffer, maximumLineLength))
+                       != -1;) {
+            if (read == 1) {
+                writer.write(ERR + " line too long\n");
+                break;
+            }
+            final String response = respond(buffer.toString());
+            if (response == null) {
+                break;
+            }
+            writer.write(response);
+            writer.write('\n');
+            if (!reader.ready()) { // no more pipelined requests buffered
+                writer.flush();
+            }
+        }
+        writer.flush();
+    }
+
+
+    /**
+     * Stops accepting connections and closes all open connections.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    @Override
+    public void close() throws IOException {
+
+        try {
+            server.close();
+        } finally {
+            executor.shutdown();
+            for (final Socket socket : sockets) {
+                try {
+                    socket.close();
+                } catch (final IOException ioe) {
+                    // ignored
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Returns the port this server is bound to.
+     *
+     * @return the local port
+     */
+    public int getLocalPort() {
+
+        return server.getLocalPort();
+    }
+
+
+    private final ServerSocket server;
+
+
+    private final ExecutorService executor;
+
+
+    private final int maximumLineLength;
+
+
+    private final Set<Socket> sockets = Collections.newSetFromMap(
+        new ConcurrentHashMap<Socket, Boolean>());
+
+}
@@ -0,0 +1,376 @@
+/*
+ * Copyright 2015 Jin Kwon &lt;jinahya_at_gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.jinahya.semver;
+
+
+/**
+ * Converters for well-known version schemes. Each converter parses its input
+ * in place without creating intermediate strings.
+ *
+ * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
+ */
+public enum VersionSchemes implements VersionConverter {
+
+
+    /**
+     * A converter for Maven versions such as {@code 1.2-SNAPSHOT},
+     * {@code 1.0.0.Final} or {@code 2.0-beta-3}.
+     * <p>
+     * Up to three numbers become major, minor and patch versions; missing ones
+     * are {@code 0}. An optional qualifier, following a {@code .} or a
+     * {@code -}, is mapped as below so that precedence follows Maven's order
+     * of {@code alpha < beta < milestone < rc < snapshot < release}.
+     * <ul>
+     * <li>{@code alpha}, {@code a} &rarr; pre-release {@code alpha[.n]}</li>
+     * <li>{@code beta}, {@code b} &rarr; pre-release {@code beta[.n]}</li>
+     * <li>{@code milestone}, {@code m} &rarr; pre-release
+     * {@code milestone[.n]}</li>
+     * <li>{@code rc}, {@code cr} &rarr; pre-release {@code rc[.n]}</li>
+     * <li>{@code snapshot} &rarr; pre-release {@code snapshot[.n]}</li>
+     * <li>{@code ga}, {@code final}, {@code release} &rarr; no pre-release</li>
+     * <li>anything else, including {@code sp} &rarr; build metadata, which
+     * doesn't affect precedence</li>
+     * </ul>
+     * Qualifier names are case-insensitive.
+     */
+    MAVEN {
+        @Override
+        public NormalVersion convert(final CharSequence s) {
+
+            final int end = s.length();
+            final int[] numbers = new int[3];
+            int count = 0;
+            int i = 0;
+            while (true) {
+                final int digits = digitsEnd(s, i, end);
+                if (digits == i) {
+                    throw invalid(s);
+                }
+                numbers[count++] = parseInt(s, i, digits);
+                i = digits;
+                if (count < 3 && isSeparatedDigit(s, i, end, '.')) {
+                    i++;
+                    continue;
+                }
+                break;
+            }
+
+            final NormalVersion.Builder builder = new NormalVersion.Builder()
+                .majorVersion(numbers[0])
+                .minorVersion(numbers[1])
+                .patchVersion(numbers[2]);
+
+            if (i == end) {
+                return builder.build();
+            }
+
+            if (s.charAt(i) == '.' || s.charAt(i) == '-') {
+                i++;
+            }
+            if (i == end) {
+                throw invalid(s);
+            }
+
+            final int nameEnd = lettersEnd(s, i, end);
+            int numberStart = nameEnd;
+            if (isSeparatedDigit(s, nameEnd, end, '.')
+                || isSeparatedDigit(s, nameEnd, end, '-')) {
+                numberStart++;
+            }
+            final int numberEnd = digitsEnd(s, numberStart, end);
+
+            String name = null;
+            if (nameEnd > i && numberEnd == end) {
+                if (equalsIgnoreCase(s, i, nameEnd, "alpha")
+                    || equalsIgnoreCase(s, i, nameEnd, "a")) {
+                    name = "alpha";
+                } else if (equalsIgnoreCase(s, i, nameEnd, "beta")
+                           || equalsIgnoreCase(s, i, nameEnd, "b")) {
+                    name = "beta";
+                } else if (equalsIgnoreCase(s, i, nameEnd, "milestone")
+                           || equalsIgnoreCase(s, i, nameEnd, "m")) {
+                    name = "milestone";
+                } else if (equalsIgnoreCase(s, i, nameEnd, "rc")
+                           || equalsIgnoreCase(s, i, nameEnd, "cr")) {
+                    name = "rc";
+                } else if (equalsIgnoreCase(s, i, nameEnd, "snapshot")) {
+                    name = "snapshot";
+                } else if (numberStart == end
+                           && (equalsIgnoreCase(s, i, nameEnd, "ga")
+                               || equalsIgnoreCase(s, i, nameEnd, "final")
+                               || equalsIgnoreCase(s, i, nameEnd, "release"))) {
+                    return builder.build();
+                }
+            }
+
+            if (name == null) {
+                return builder.buildMetadata(
+                    new BuildMetadata.Builder().identifiers(s, i, end).build())
+                    .build();
+            }
+
+            final PreReleaseVersion.Builder preReleaseVersion
+                = new PreReleaseVersion.Builder()
+                .identifiers(name, 0, name.length());
+            if (numberStart < numberEnd) {
+                preReleaseVersion.identifiers(
+                    s, withoutLeadingZeros(s, numberStart, numberEnd),
+                    numberEnd);
+            }
+
+            return builder.preReeleaseVersion(preReleaseVersion.build())
+                .build();
+        }
+    },
+    /**
+     * A converter for OSGi versions such as {@code 1.2.3.qualifier}.
+     * <p>
+     * Missing minor and micro versions are {@code 0}. The qualifier becomes
+     * build metadata, with each {@code _} replaced with {@code -}, and so
+     * doesn't affect precedence.
+     */
+    OSGI {
+        @Override
+        public NormalVersion convert(final CharSequence s) {
+
+            final int end = s.length();
+            final int[] numbers = new int[3];
+            int count = 0;
+            int i = 0;
+            while (true) {
+                final int digits = digitsEnd(s, i, end);
+                if (digits == i) {
+                    throw invalid(s);
+                }
+                numbers[count++] = parseInt(s, i, digits);
+                i = digits;
+                if (i == end) {
+                    break;
+                }
+                if (s.charAt(i) != '.' || i + 1 == end) {
+                    throw invalid(s);
+                }
+                i++;
+                if (count == 3) {
+                    break;
+                }
+            }
+
+            final NormalVersion.Builder builder = new NormalVersion.Builder()
+                .majorVersion(numbers[0])
+                .minorVersion(numbers[1])
+                .patchVersion(numbers[2]);
+
+            if (i == end) {
+                return builder.build();
+            }
+
+            CharSequence qualifier = s;
+            for (int j = i; j < end; j++) {
+                final char c = s.charAt(j);
+                if (c == '.') {
+                    throw invalid(s);
+                }
+                if (c == '_' && qualifier == s) {
+                    qualifier = new StringBuilder(s);
+                }
+                if (c == '_') {
+                    ((StringBuilder) qualifier).setCharAt(j, '-');
+                }
+            }
+
+            return builder.buildMetadata(
+                new BuildMetadata.Builder().identifiers(qualifier, i, end)
+                .build())
+                .build();
+        }
+    },
+    /**
+     * A converter for calendar versions such as {@code 2024.10.01},
+     * {@code 24.04}, {@code 2024-10-01} or {@code 20241001}.
+     * <p>
+     * Year, month and day become major, minor and patch versions; missing
+     * ones are {@code 0}. Leading zeros are allowed. An optional modifier
+     * following a {@code -} becomes the pre-release version and an optional
+     * suffix following a {@code +} becomes the build metadata.
+     */
+    CALENDAR {
+        @Override
+        public NormalVersion convert(final CharSequence s) {
+
+            final int end = s.length();
+            final int[] numbers = new int[3];
+            int count = 0;
+            int i = 0;
+            while (true) {
+                final int digits = digitsEnd(s, i, end);
+                if (digits == i) {
+                    throw invalid(s);
+                }
+                numbers[count++] = parseInt(s, i, digits);
+                i = digits;
+                if (count < 3 && (isSeparatedDigit(s, i, end, '.')
+                                  || isSeparatedDigit(s, i, end, '-'))) {
+                    i++;
+                    continue;
+                }
+                break;
+            }
+
+            if (count == 1 && i == 8) {
+                final int yyyymmdd = numbers[0];
+                numbers[0] = yyyymmdd / 10000;
+                numbers[1] = yyyymmdd / 100 % 100;
+                numbers[2] = yyyymmdd % 100;
+                count = 3;
+            }
+
+            if ((count > 1 && (numbers[1] < 1 || numbers[1] > 12))
+                || (count > 2 && (numbers[2] < 1 || numbers[2] > 31))) {
+                throw invalid(s);
+            }
+
+            final NormalVersion.Builder builder = new NormalVersion.Builder()
+                .majorVersion(numbers[0])
+                .minorVersion(numbers[1])
+                .patchVersion(numbers[2]);
+
+            int buildStart = i;
+            while (buildStart < end && s.charAt(buildStart) != '+') {
+                buildStart++;
+            }
+
+            if (i < buildStart) {
+                if (s.charAt(i) != '-') {
+                    throw invalid(s);
+                }
+                builder.preReeleaseVersion(
+                    new PreReleaseVersion.Builder()
+                    .identifiers(s, i + 1, buildStart)
+                    .build());
+            }
+
+            if (buildStart < end) {
+                builder.buildMetadata(
+                    new BuildMetadata.Builder()
+                    .identifiers(s, buildStart + 1, end)
+                    .build());
+            }
+
+            return builder.build();
+        }
+    };
+
+
+    private static IllegalArgumentException invalid(final CharSequence s) {
+
+        return new IllegalArgumentException("invalid: " + s);
+    }
+
+
+    private static boolean isDigit(final char c) {
+
+        return c >= '0' && c <= '9';
+    }
+
+
+    private static int digitsEnd(final CharSequence s, int i, final int end) {
+
+        while (i < end && isDigit(s.charAt(i))) {
+            i++;
+        }
+
+        return i;
+    }
+
+
+    private static int lettersEnd(final CharSequence s, int i, final int end) {
+
+        while (i < end) {
+            final char c = s.charAt(i);
+            if ((c < 'A' || c > 'Z') && (c < 'a' || c > 'z')) {
+                break;
+            }
+            i++;
+        }
+
+        return i;
+    }
+
+
+    /**
+     * Checks whether the character at {@code i} is {@code separator} followed
+     * by a digit.
+     */
+    private static boolean isSeparatedDigit(final CharSequence s, final int i,
+                                            final int end,
+                                            final char separator) {
+
+        return i + 1 < end && s.charAt(i) == separator
+               && isDigit(s.charAt(i + 1));
+    }
+
+
+    /**
+     * Parses digits allowing leading zeros.
+     */
+    private static int parseInt(final CharSequence s, final int start,
+                                final int end) {
+
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            final int digit = s.charAt(i) - '0';
+            if (value > (Integer.MAX_VALUE - digit) / 10) {
+                throw new IllegalArgumentException(
+                    "too big: " + s.subSequence(start, end));
+            }
+            value = value * 10 + digit;
+        }
+
+        return value;
+    }
+
+
+    private static int withoutLeadingZeros(final CharSequence s, int start,
+                                           final int end) {
+
+        while (end - start > 1 && s.charAt(start) == '0') {
+            start++;
+        }
+
+        return start;
+    }
+
+
+    private static boolean equalsIgnoreCase(final CharSequence s,
+                                            final int start, final int end,
+                                            final String name) {
+
+        if (end - start != name.length()) {
+            return false;
+        }
+
+        for (int i = 0; i < name.length(); i++) {
+            if (Character.toLowerCase(s.charAt(start + i)) != name.charAt(i)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+}
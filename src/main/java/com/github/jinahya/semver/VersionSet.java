@@ -0,0 +1,797 @@
+/*
+ * Copyright 2015 Jin Kwon &lt;jinahya_at_gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.jinahya.semver;
+
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+
+/**
+ * An immutable set of versions of a {@link VersionIndex} stored as a
+ * compressed bitmap of ordinals.
+ * <p>
+ * Ordinals are partitioned by their high 16 bits into chunks each of which
+ * is held either as a sorted array, when sparse, or as a plain bitmap, when
+ * dense.
+ *
+ * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
+ */
+public class VersionSet implements Iterable<NormalVersion> {
+
+
+    /**
+     * The maximum cardinality of a chunk stored as an array.
+     */
+    private static final int ARRAY_MAX = 4096;
+
+
+    private static final int BITMAP_WORDS = 1024;
+
+
+    /**
+     * A chunk of up to 65536 ordinals sharing the same high 16 bits.
+     */
+    private abstract static class Chunk {
+
+
+        abstract int cardinality();
+
+
+        abstract boolean contains(char low);
+
+
+        /**
+         * Copies lows of this chunk, or-ed with {@code high}, into
+         * {@code ordinals} starting at {@code offset}.
+         */
+        abstract int ordinals(int high, int[] ordinals, int offset);
+
+
+        abstract long[] words();
+
+    }
+
+
+    private static final class ArrayChunk extends Chunk {
+
+
+        ArrayChunk(final char[] lows) {
+
+            super();
+
+            this.lows = lows;
+        }
+
+
+        @Override
+        int cardinality() {
+
+            return lows.length;
+        }
+
+
+        @Override
+        boolean contains(final char low) {
+
+            int from = 0;
+            int to = lows.length - 1;
+            while (from <= to) {
+                final int mid = (from + to) >>> 1;
+                if (lows[mid] < low) {
+                    from = mid + 1;
+                } else if (lows[mid] > low) {
+                    to = mid - 1;
+                } else {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+
+        @Override
+        int ordinals(final int high, final int[] ordinals, int offset) {
+
+            for (final char low : lows) {
+                ordinals[offset++] = high | low;
+            }
+
+            return offset;
+        }
+
+
+        @Override
+        long[] words() {
+
+            final long[] words = new long[BITMAP_WORDS];
+            for (final char low : lows) {
+                words[low >>> 6] |= 1L << low;
+            }
+
+            return words;
+        }
+
+
+        private final char[] lows;
+
+    }
+
+
+    private static final class BitmapChunk extends Chunk {
+
+
+        BitmapChunk(final long[] words, final int cardinality) {
+
+            super();
+
+            this.words = words;
+            this.cardinality = cardinality;
+        }
+
+
+        @Override
+        int cardinality() {
+
+            return cardinality;
+        }
+
+
+        @Override
+        boolean contains(final char low) {
+
+            return (words[low >>> 6] & (1L << low)) != 0L;
+        }
+
+
+        @Override
+        int ordinals(final int high, final int[] ordinals, int offset) {
+
+            for (int i = 0; i < words.length; i++) {
+                long word = words[i];
+                while (word != 0L) {
+                    ordinals[offset++]
+                        = high | (i << 6) | Long.numberOfTrailingZeros(word);
+                    word &= word - 1L;
+                }
+            }
+
+            return offset;
+        }
+
+
+        @Override
+        long[] words() {
+
+            return words;
+        }
+
+
+        private final long[] words;
+
+
+        private final int cardinality;
+
+    }
+
+
+    /**
+     * Returns a chunk of given words; {@code null} if empty.
+     */
+    private static Chunk chunk(final long[] words) {
+
+        int cardinality = 0;
+        for (final long word : words) {
+            cardinality += Long.bitCount(word);
+        }
+
+        if (cardinality == 0) {
+            return null;
+        }
+
+        if (cardinality > ARRAY_MAX) {
+            return new BitmapChunk(words, cardinality);
+        }
+
+        final char[] lows = new char[cardinality];
+        int index = 0;
+        for (int i = 0; i < words.length; i++) {
+            long word = words[i];
+            while (word != 0L) {
+                lows[index++]
+                    = (char) ((i << 6) | Long.numberOfTrailingZeros(word));
+                word &= word - 1L;
+            }
+        }
+
+        return new ArrayChunk(lows);
+    }
+
+
+    private static final int AND = 0;
+
+
+    private static final int OR = 1;
+
+
+    private static final int AND_NOT = 2;
+
+
+    private static Chunk merge(final ArrayChunk c1, final ArrayChunk c2,
+                               final int operation) {
+
+        final char[] lows1 = c1.lows;
+        final char[] lows2 = c2.lows;
+        final char[] merged = new char[lows1.length + lows2.length];
+        int i1 = 0;
+        int i2 = 0;
+        int size = 0;
+        while (i1 < lows1.length && i2 < lows2.length) {
+            if (lows1[i1] < lows2[i2]) {
+                if (operation != AND) {
+                    merged[size++] = lows1[i1];
+                }
+                i1++;
+            } else if (lows1[i1] > lows2[i2]) {
+                if (operation == OR) {
+                    merged[size++] = lows2[i2];
+                }
+                i2++;
+            } else {
+                if (operation != AND_NOT) {
+                    merged[size++] = lows1[i1];
+                }
+                i1++;
+                i2++;
+            }
+        }
+        if (operation != AND) {
+            while (i1 < lows1.length) {
+                merged[size++] = lows1[i1++];
+            }
+        }
+        if (operation == OR) {
+            while (i2 < lows2.length) {
+                merged[size++] = lows2[i2++];
+            }
+        }
+
+        if (size == 0) {
+            return null;
+        }
+        if (size > ARRAY_MAX) {
+            return new BitmapChunk(new ArrayChunk(
+                Arrays.copyOf(merged, size)).words(), size);
+        }
+
+        return new ArrayChunk(Arrays.copyOf(merged, size));
+    }
+
+
+    private static Chunk merge(final Chunk c1, final Chunk c2,
+                               final int operation) {
+
+        if (c1 instanceof ArrayChunk && c2 instanceof ArrayChunk) {
+            return merge((ArrayChunk) c1, (ArrayChunk) c2, operation);
+        }
+
+        if (operation == AND && c1 instanceof ArrayChunk) {
+            return filter((ArrayChunk) c1, c2, true);
+        }
+        if (operation == AND && c2 instanceof ArrayChunk) {
+            return filter((ArrayChunk) c2, c1, true);
+        }
+        if (operation == AND_NOT && c1 instanceof ArrayChunk) {
+            return filter((ArrayChunk) c1, c2, false);
+        }
+
+        final long[] words1 = c1.words();
+        final long[] words2 = c2.words();
+        final long[] words = new long[BITMAP_WORDS];
+        for (int i = 0; i < BITMAP_WORDS; i++) {
+            switch (operation) {
+                case AND:
+                    words[i] = words1[i] & words2[i];
+                    break;
+                case OR:
+                    words[i] = words1[i] | words2[i];
+                    break;
+                default:
+                    words[i] = words1[i] & ~words2[i];
+                    break;
+            }
+        }
+
+        return chunk(words);
+    }
+
+
+    /**
+     * Returns lows of {@code c1} which are, or are not, contained in
+     * {@code c2}.
+     */
+    private static Chunk filter(final ArrayChunk c1, final Chunk c2,
+                                final boolean contained) {
+
+        final char[] lows = new char[c1.lows.length];
+        int size = 0;
+        for (final char low : c1.lows) {
+            if (c2.contains(low) == contained) {
+                lows[size++] = low;
+            }
+        }
+
+        return size == 0
+               ? null : new ArrayChunk(Arrays.copyOf(lows, size));
+    }
+
+
+    /**
+     * Class for building {@link VersionSet}s.
+     */
+    public static class Builder {
+
+
+        /**
+         * Creates a new instance for specified index.
+         *
+         * @param index the index
+         */
+        public Builder(final VersionIndex index) {
+
+            super();
+
+            if (index == null) {
+                throw new NullPointerException("null index");
+            }
+
+            this.index = index;
+            this.ordinals = new BitSet(index.size());
+        }
+
+
+        /**
+         * Adds a version by its ordinal.
+         *
+         * @param ordinal the ordinal
+         *
+         * @return this
+         *
+         * @throws IndexOutOfBoundsException if {@code ordinal} is out of
+         * range
+         */
+        public Builder ordinal(final int ordinal) {
+
+            if (ordinal < 0 || ordinal >= index.size()) {
+                throw new IndexOutOfBoundsException(
+                    "ordinal(" + ordinal + ") out of range");
+            }
+
+            ordinals.set(ordinal);
+
+            return this;
+        }
+
+
+        /**
+         * Adds a range of ordinals.
+         *
+         * @param from the first ordinal, inclusive
+         * @param to the last ordinal, exclusive
+         *
+         * @return this
+         */
+        public Builder ordinals(final int from, final int to) {
+
+            if (from < 0 || to > index.size() || from > to) {
+                throw new IndexOutOfBoundsException(
+                    "from(" + from + "), to(" + to + ")");
+            }
+
+            ordinals.set(from, to);
+
+            return this;
+        }
+
+
+        /**
+         * Adds versions.
+         *
+         * @param version a version
+         * @param otherVersions more versions
+         *
+         * @return this
+         *
+         * @throws IllegalArgumentException if any version is not indexed
+         */
+        public Builder versions(final NormalVersion version,
+                                final NormalVersion... otherVersions) {
+
+            final int ordinal = index.ordinalOf(version);
+            if (ordinal == -1) {
+                throw new IllegalArgumentException("not indexed: " + version);
+            }
+            ordinals.set(ordinal);
+
+            if (otherVersions != null) {
+                for (final NormalVersion otherVersion : otherVersions) {
+                    versions(otherVersion);
+                }
+            }
+
+            return this;
+        }
+
+
+        /**
+         * Adds versions.
+         *
+         * @param versions versions
+         *
+         * @return this
+         *
+         * @throws IllegalArgumentException if any version is not indexed
+         */
+        public Builder versions(final Iterable<NormalVersion> versions) {
+
+            for (final NormalVersion version : versions) {
+                versions(version);
+            }
+
+            return this;
+        }
+
+
+        /**
+         * Adds versions satisfying specified constraint.
+         *
+         * @param constraint the constraint
+         *
+         * @return this
+         */
+        public Builder versions(final VersionConstraint constraint) {
+
+            for (int i = 0; i < index.size(); i++) {
+                if (constraint.isSatisfiedBy(index.get(i))) {
+                    ordinals.set(i);
+                }
+            }
+
+            return this;
+        }
+
+
+        /**
+         * Builds an instance of {@code VersionSet}.
+         *
+         * @return an instance of {@code VersionSet}
+         */
+        public VersionSet build() {
+
+            final int count = (index.size() + 0xFFFF) >>> 16;
+            final char[] highs = new char[count];
+            final Chunk[] chunks = new Chunk[count];
+            int size = 0;
+            for (int high = 0; high < count; high++) {
+                final long[] words = new long[BITMAP_WORDS];
+                final int base = high << 16;
+                for (int i = ordinals.nextSetBit(base);
+                     i != -1 && i < base + 0x10000;
+                     i = ordinals.nextSetBit(i + 1)) {
+                    words[(i - base) >>> 6] |= 1L << i;
+                }
+                final Chunk chunk = chunk(words);
+                if (chunk != null) {
+                    highs[size] = (char) high;
+                    chunks[size] = chunk;
+                    size++;
+                }
+            }
+
+            return new VersionSet(index, highs, chunks, size);
+        }
+
+
+        private final VersionIndex index;
+
+
+        private final BitSet ordinals;
+
+    }
+
+
+    private VersionSet(final VersionIndex index, final char[] highs,
+                       final Chunk[] chunks, final int size) {
+
+        super();
+
+        this.index = index;
+        this.highs = highs;
+        this.chunks = chunks;
+        this.size = size;
+    }
+
+
+    private VersionSet merge(final VersionSet other, final int operation) {
+
+        if (other.index != index) {
+            throw new IllegalArgumentException("different index");
+        }
+
+        final char[] mergedHighs = new char[size + other.size];
+        final Chunk[] mergedChunks = new Chunk[size + other.size];
+        int mergedSize = 0;
+        int i1 = 0;
+        int i2 = 0;
+        while (i1 < size || i2 < other.size) {
+            final int high1 = i1 < size ? highs[i1] : Integer.MAX_VALUE;
+            final int high2
+                = i2 < other.size ? other.highs[i2] : Integer.MAX_VALUE;
+            final Chunk chunk;
+            final int high;
+            if (high1 < high2) {
+                high = high1;
+                chunk = operation == AND ? null : chunks[i1];
+                i1++;
+            } else if (high1 > high2) {
+                high = high2;
+                chunk = operation == OR ? other.chunks[i2] : null;
+                i2++;
+            } else {
+                high = high1;
+                chunk = merge(chunks[i1], other.chunks[i2], operation);
+                i1++;
+                i2++;
+            }
+            if (chunk != null) {
+                mergedHighs[mergedSize] = (char) high;
+                mergedChunks[mergedSize] = chunk;
+                mergedSize++;
+            }
+        }
+
+        return new VersionSet(index, mergedHighs, mergedChunks, mergedSize);
+    }
+
+
+    /**
+     * Returns a new set of versions contained in both this set and specified
+     * set.
+     *
+     * @param other the other set
+     *
+     * @return the intersection
+     *
+     * @throws IllegalArgumentException if {@code other} is of a different
+     * index
+     */
+    public VersionSet and(final VersionSet other) {
+
+        return merge(other, AND);
+    }
+
+
+    /**
+     * Returns a new set of versions contained in either this set or specified
+     * set.
+     *
+     * @param other the other set
+     *
+     * @return the union
+     *
+     * @throws IllegalArgumentException if {@code other} is of a different
+     * index
+     */
+    public VersionSet or(final VersionSet other) {
+
+        return merge(other, OR);
+    }
+
+
+    /**
+     * Returns a new set of versions contained in this set but not in
+     * specified set.
+     *
+     * @param other the other set
+     *
+     * @return the difference
+     *
+     * @throws IllegalArgumentException if {@code other} is of a different
+     * index
+     */
+    public VersionSet andNot(final VersionSet other) {
+
+        return merge(other, AND_NOT);
+    }
+
+
+    /**
+     * Returns the number of versions in this set.
+     *
+     * @return the number of versions
+     */
+    public int cardinality() {
+
+        int cardinality = 0;
+        for (int i = 0; i < size; i++) {
+            cardinality += chunks[i].cardinality();
+        }
+
+        return cardinality;
+    }
+
+
+    /**
+     * Checks whether this set is empty.
+     *
+     * @return {@code true} if empty; {@code false} otherwise
+     */
+    public boolean isEmpty() {
+
+        return size == 0;
+    }
+
+
+    /**
+     * Checks whether this set contains specified ordinal.
+     *
+     * @param ordinal the ordinal
+     *
+     * @return {@code true} if contained; {@code false} otherwise
+     */
+    public boolean contains(final int ordinal) {
+
+        if (ordinal < 0) {
+            return false;
+        }
+
+        final char high = (char) (ordinal >>> 16);
+        int from = 0;
+        int to = size - 1;
+        while (from <= to) {
+            final int mid = (from + to) >>> 1;
+            if (highs[mid] < high) {
+                from = mid + 1;
+            } else if (highs[mid] > high) {
+                to = mid - 1;
+            } else {
+                return chunks[mid].contains((char) ordinal);
+            }
+        }
+
+        return false;
+    }
+
+
+    /**
+     * Checks whether this set contains a version whose precedence is equal to
+     * specified version.
+     *
+     * @param version the version
+     *
+     * @return {@code true} if contained; {@code false} otherwise
+     */
+    public boolean contains(final NormalVersion version) {
+
+        return contains(index.ordinalOf(version));
+    }
+
+
+    /**
+     * Returns ordinals of this set in ascending order.
+     *
+     * @return an array of ordinals
+     */
+    public int[] ordinals() {
+
+        final int[] ordinals = new int[cardinality()];
+        int offset = 0;
+        for (int i = 0; i < size; i++) {
+            offset = chunks[i].ordinals(highs[i] << 16, ordinals, offset);
+        }
+
+        return ordinals;
+    }
+
+
+    /**
+     * Returns an iterator of versions in precedence order.
+     *
+     * @return an iterator of versions
+     */
+    @Override
+    public Iterator<NormalVersion> iterator() {
+
+        final int[] ordinals = ordinals();
+
+        return new Iterator<NormalVersion>() {
+
+
+            @Override
+            public boolean hasNext() {
+
+                return next < ordinals.length;
+            }
+
+
+            @Override
+            public NormalVersion next() {
+
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+
+                return index.get(ordinals[next++]);
+            }
+
+
+            @Override
+            public void remove() {
+
+                throw new UnsupportedOperationException("immutable");
+            }
+
+
+            private int next;
+
+        };
+    }
+
+
+    @Override
+    public String toString() {
+
+        final StringBuilder builder = new StringBuilder().append('[');
+
+        final Iterator<NormalVersion> i = iterator();
+        if (i.hasNext()) {
+            builder.append(i.next());
+        }
+        while (i.hasNext()) {
+            builder.append(", ").append(i.next());
+        }
+
+        return builder.append(']').toString();
+    }
+
+
+    /**
+     * Returns the index of this set.
+     *
+     * @return the index
+     */
+    public VersionIndex getIndex() {
+
+        return index;
+    }
+
+
+    private final VersionIndex index;
+
+
+    private final char[] highs;
+
+
+    private final Chunk[] chunks;
+
+
+    private final int size;
+
+}
@@ -0,0 +1,724 @@
+/*
+ * Copyright 2015 Jin Kwon &lt;jinahya_at_gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.jinahya.semver;
+
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+
+/**
+ * A command-line tool which sorts, filters, deduplicates or finds the
+ * maximum of versions, one per line, read from files or the standard input.
+ * <pre>
+ * java -jar semver.jar [-r] [-u] [-m] [-i] [-c constraint] [-o file]
+ *                      [-S lines] [-T directory] [-P threads] [file...]
+ * </pre>
+ * <table summary="options">
+ * <tr><td>{@code -r}</td><td>sorts in descending order</td></tr>
+ * <tr><td>{@code -u}</td><td>prints only the first of versions of equal
+ * precedence</td></tr>
+ * <tr><td>{@code -m}</td><td>prints only the highest version, without
+ * sorting</td></tr>
+ * <tr><td>{@code -i}</td><td>skips invalid lines instead of failing</td></tr>
+ * <tr><td>{@code -c constraint}</td><td>keeps only versions satisfying the
+ * constraint</td></tr>
+ * <tr><td>{@code -o file}</td><td>writes to the file instead of the standard
+ * output</td></tr>
+ * <tr><td>{@code -S lines}</td><td>the number of versions sorted in memory
+ * at a time; derived from the maximum heap size by default</td></tr>
+ * <tr><td>{@code -T directory}</td><td>the directory for temporary
+ * files</td></tr>
+ * <tr><td>{@code -P threads}</td><td>the number of threads sorting in
+ * parallel</td></tr>
+ * </table>
+ * Versions are ordered by precedence and then by build metadata. Inputs
+ * larger than a single run are sorted in runs by parallel threads, spilled
+ * to temporary files and merged, so that at most {@code (threads + 1) * lines}
+ * versions are held in memory. Runs are merged at most 64 at a time, through
+ * intermediate runs if needed, so that merging holds a bounded number of
+ * files open and buffers. The exit status is {@code 0} on success,
+ * {@code 1} if {@code -m} found no version, and {@code 2} on errors.
+ *
+ * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
+ * @see VersionConstraint#valueOf(java.lang.String)
+ */
+public final class VersionTool {
+
+
+    private static final String USAGE
+        = "usage: java -jar semver.jar [-r] [-u] [-m] [-i] [-c constraint]"
+          + " [-o file] [-S lines] [-T directory] [-P threads] [file...]";
+
+
+    private static final String CHARSET = "UTF-8";
+
+
+    private static final int BUFFER_SIZE = 65536;
+
+
+    /**
+     * The maximum number of runs merged at a time. More runs are merged in
+     * passes through intermediate runs.
+     */
+    private static final int FAN_IN = 64;
+
+
+    /**
+     * The buffer size of each run being merged; the runs of a merge together
+     * buffer as much as sixteen default buffers, whatever their number.
+     */
+    private static final int RUN_BUFFER_SIZE = BUFFER_SIZE * 16 / FAN_IN;
+
+
+    /**
+     * A rough estimate of heap bytes retained by a parsed version with a
+     * short pre-release version, including its slot in a run.
+     */
+    private static final int BYTES_PER_VERSION = 256;
+
+
+    private static final int MINIMUM_RUN_LENGTH = 1024;
+
+
+    private static final int MAXIMUM_RUN_LENGTH = 1 << 20;
+
+
+    /**
+     * Derives the default number of versions in a run so that runs of all
+     * threads, plus the one being filled, take about a quarter of specified
+     * maximum heap size.
+     *
+     * @param maxMemory the maximum heap size in bytes
+     * @param threads the number of sorting threads
+     *
+     * @return the number of versions in a run
+     */
+    static int defaultRunLength(final long maxMemory, final int threads) {
+
+        final long runLength
+            = maxMemory / 4L / (threads + 1L) / BYTES_PER_VERSION;
+
+        return (int) Math.max(MINIMUM_RUN_LENGTH,
+                              Math.min(MAXIMUM_RUN_LENGTH, runLength));
+    }
+
+
+    /**
+     * Writes versions, skipping ones of equal precedence if asked.
+     */
+    private static final class Output {
+
+
+        Output(final Writer writer, final boolean unique) {
+
+            super();
+
+            this.writer = writer;
+            this.unique = unique;
+        }
+
+
+        void write(final NormalVersion version) throws IOException {
+
+            if (unique && last != null && version.compareTo(last) == 0) {
+                return;
+            }
+
+            last = version;
+            writer.write(version.toString());
+            writer.write('\n');
+        }
+
+
+        private final Writer writer;
+
+
+        private final boolean unique;
+
+
+        private NormalVersion last;
+
+    }
+
+
+    /**
+     * A sorted run read back from a temporary file.
+     */
+    private static final class Run {
+
+
+        Run(final File file) throws IOException {
+
+            super();
+
+            reader = new BufferedReader(new InputStreamReader(
+                new FileInputStream(file), CHARSET), RUN_BUFFER_SIZE);
+        }
+
+
+        boolean advance() throws IOException {
+
+            final String line = reader.readLine();
+            if (line == null) {
+                head = null;
+                return false;
+            }
+
+            head = NormalVersion.valueOf(line);
+
+            return true;
+        }
+
+
+        private final BufferedReader reader;
+
+
+        private NormalVersion head;
+
+    }
+
+
+    /**
+     * An external merge sort.
+     */
+    private final class Sorter {
+
+
+        Sorter() {
+
+            super();
+
+            executor = Executors.newFixedThreadPool(threads);
+            permits = new Semaphore(threads);
+            chunk = new NormalVersion[Math.min(runLength, 1024)];
+        }
+
+
+        void add(final NormalVersion version)
+            throws IOException, InterruptedException {
+
+            if (count == chunk.length) {
+                if (count == runLength) {
+                    spill();
+                } else {
+                    chunk = Arrays.copyOf(
+                        chunk, (int) Math.min(runLength, count * 2L));
+                }
+            }
+
+            chunk[count++] = version;
+        }
+
+
+        /**
+         * Sorts and writes the current chunk to a temporary file in the
+         * background.
+         */
+        private void spill() throws IOException, InterruptedException {
+
+            final NormalVersion[] versions = chunk;
+            final int length = count;
+            final File file = File.createTempFile("semver", ".run", temporary);
+            file.deleteOnExit();
+            files.add(file);
+
+            permits.acquire();
+            try {
+                futures.add(executor.submit(new Callable<Void>() {
+
+
+                    @Override
+                    public Void call() throws IOException {
+
+                        try {
+                            Arrays.sort(versions, 0, length, order);
+                            final Writer writer = writer(file);
+                            try {
+                                final Output output
+                                    = new Output(writer, unique);
+                                for (int i = 0; i < length; i++) {
+                                    output.write(versions[i]);
+                                }
+                            } finally {
+                                writer.close();
+                            }
+                        } finally {
+                            permits.release();
+                        }
+
+                        return null;
+                    }
+
+                }));
+            } catch (final RuntimeException re) {
+                permits.release();
+                throw re;
+            }
+
+            chunk = new NormalVersion[runLength];
+            count = 0;
+        }
+
+
+        void finish(final Output output)
+            throws IOException, InterruptedException {
+
+            if (files.isEmpty()) {
+                Arrays.sort(chunk, 0, count, order);
+                for (int i = 0; i < count; i++) {
+                    output.write(chunk[i]);
+                }
+                return;
+            }
+
+            if (count > 0) {
+                spill();
+            }
+            chunk = null;
+            for (final Future<Void> future : futures) {
+                try {
+                    future.get();
+                } catch (final ExecutionException ee) {
+                    if (ee.getCause() instanceof IOException) {
+                        throw (IOException) ee.getCause();
+                    }
+                    throw new RuntimeException(ee.getCause());
+                }
+            }
+            merge(output);
+        }
+
+
+        /**
+         * Stops sorting threads and deletes temporary files.
+         */
+        void close() {
+
+            executor.shutdownNow();
+            for (final File file : files) {
+                if (!file.delete()) {
+                    file.deleteOnExit();
+                }
+            }
+        }
+
+
+        private Writer writer(final File file) throws IOException {
+
+            return new BufferedWriter(new OutputStreamWriter(
+                new FileOutputStream(file), CHARSET), BUFFER_SIZE);
+        }
+
+
+        /**
+         * Merges runs, at most {@link #FAN_IN} at a time, until few enough
+         * are left to be merged into specified output.
+         */
+        private void merge(final Output output) throws IOException {
+
+            while (files.size() > FAN_IN) {
+                final List<File> merged
+                    = new ArrayList<File>(files.subList(0, FAN_IN));
+                final File file
+                    = File.createTempFile("semver", ".run", temporary);
+                file.deleteOnExit();
+                files.add(file);
+                final Writer writer = writer(file);
+                try {
+                    merge(merged, new Output(writer, unique));
+                } finally {
+                    writer.close();
+                }
+                files.subList(0, FAN_IN).clear();
+                for (final File source : merged) {
+                    if (!source.delete()) {
+                        source.deleteOnExit();
+                    }
+                }
+            }
+
+            merge(files, output);
+        }
+
+
+        private void merge(final List<File> sources, final Output output)
+            throws IOException {
+
+            final List<Run> runs = new ArrayList<Run>(sources.size());
+            try {
+                final PriorityQueue<Run> queue = new PriorityQueue<Run>(
+                    sources.size(), new Comparator<Run>() {
+
+
+                        @Override
+                        public int compare(final Run o1, final Run o2) {
+
+                            return order.compare(o1.head, o2.head);
+                        }
+
+                    });
+                for (final File file : sources) {
+                    final Run run = new Run(file);
+                    runs.add(run);
+                    if (run.advance()) {
+                        queue.add(run);
+                    }
+                }
+                while (!queue.isEmpty()) {
+                    final Run run = queue.poll();
+                    output.write(run.head);
+                    if (run.advance()) {
+                        queue.add(run);
+                    }
+                }
+            } finally {
+                for (final Run run : runs) {
+                    run.reader.close();
+                }
+            }
+        }
+
+
+        private final ExecutorService executor;
+
+
+        private final Semaphore permits;
+
+
+        private final List<File> files = new ArrayList<File>();
+
+
+        private final List<Future<Void>> futures
+            = new ArrayList<Future<Void>>();
+
+
+        private NormalVersion[] chunk;
+
+
+        private int count;
+
+    }
+
+
+    /**
+     * Runs the tool with specified arguments and streams.
+     *
+     * @param args the arguments
+     * @param in the standard input
+     * @param out the standard output
+     * @param err the standard error
+     *
+     * @return the exit status
+     */
+    static int run(final String[] args, final InputStream in,
+                   final OutputStream out, final PrintStream err) {
+
+        final VersionTool tool = new VersionTool();
+        try {
+            tool.parse(args);
+        } catch (final IllegalArgumentException iae) {
+            err.println(iae.getMessage());
+            err.println(USAGE);
+            return 2;
+        }
+
+        try {
+            return tool.execute(in, out);
+        } catch (final IllegalArgumentException iae) {
+            err.println(iae.getMessage());
+            return 2;
+        } catch (final IOException ioe) {
+            err.println(ioe.getMessage());
+            return 2;
+        } catch (final RuntimeException re) { // e.g. a failed sorting thread
+            err.println(re.getMessage() == null ? re : re.getMessage());
+            return 2;
+        } catch (final Error e) { // e.g. out of memory; 1 means no version
+            err.println(e);
+            return 2;
+        } catch (final InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            err.println("interrupted");
+            return 2;
+        }
+    }
+
+
+    /**
+     * Runs the tool and exits with its exit status.
+     *
+     * @param args the arguments
+     */
+    public static void main(final String[] args) {
+
+        System.exit(run(args, System.in, System.out, System.err));
+    }
+
+
+    private VersionTool() {
+
+        super();
+    }
+
+
+    private static String value(final String[] args, final int index) {
+
+        if (index >= args.length) {
+            throw new IllegalArgumentException(
+                "no value for " + args[index - 1]);
+        }
+
+        return args[index];
+    }
+
+
+    private static int positive(final String option, final String value) {
+
+        final int parsed;
+        try {
+            parsed = Integer.parseInt(value);
+        } catch (final NumberFormatException nfe) {
+            throw new IllegalArgumentException(
+                "invalid value for " + option + ": " + value);
+        }
+
+        if (parsed <= 0) {
+            throw new IllegalArgumentException(
+                "invalid value for " + option + ": " + value);
+        }
+
+        return parsed;
+    }
+
+
+    private void parse(final String[] args) {
+
+        int i = 0;
+        for (; i < args.length; i++) {
+            final String arg = args[i];
+            if ("--".equals(arg)) {
+                i++;
+                break;
+            }
+            if (!arg.startsWith("-") || "-".equals(arg)) {
+                break;
+            }
+            if ("-r".equals(arg)) {
+                reverse = true;
+            } else if ("-u".equals(arg)) {
+                unique = true;
+            } else if ("-m".equals(arg)) {
+                max = true;
+            } else if ("-i".equals(arg)) {
+                ignoreInvalid = true;
+            } else if ("-c".equals(arg)) {
+                constraint = VersionConstraint.valueOf(value(args, ++i));
+            } else if ("-o".equals(arg)) {
+                output = new File(value(args, ++i));
+            } else if ("-S".equals(arg)) {
+                runLength = positive(arg, value(args, ++i));
+            } else if ("-T".equals(arg)) {
+                temporary = new File(value(args, ++i));
+            } else if ("-P".equals(arg)) {
+                threads = positive(arg, value(args, ++i));
+            } else {
+                throw new IllegalArgumentException("unknown option: " + arg);
+            }
+        }
+
+        inputs.addAll(Arrays.asList(args).subList(i, args.length));
+        if (inputs.isEmpty()) {
+            inputs.add("-");
+        }
+
+        if (runLength == 0) {
+            runLength = defaultRunLength(Runtime.getRuntime().maxMemory(),
+                                         threads);
+        }
+
+        order = reverse
+                ? Collections.reverseOrder(NormalVersions.totalOrder())
+                : NormalVersions.totalOrder();
+    }
+
+
+    private int execute(final InputStream in, final OutputStream out)
+        throws IOException, InterruptedException {
+
+        final Writer writer = new BufferedWriter(new OutputStreamWriter(
+            output == null ? out : new FileOutputStream(output), CHARSET),
+                                                 BUFFER_SIZE);
+        try {
+            final Output sink = new Output(writer, unique);
+            if (max) {
+                final NormalVersion[] highest = new NormalVersion[1];
+                read(in, new Sink() {
+
+
+                    @Override
+                    public void accept(final NormalVersion version) {
+
+                        if (highest[0] == null
+                            || version.compareTo(highest[0]) > 0) {
+                            highest[0] = version;
+                        }
+                    }
+
+                });
+                if (highest[0] == null) {
+                    return 1;
+                }
+                sink.write(highest[0]);
+                return 0;
+            }
+            final Sorter sorter = new Sorter();
+            try {
+                read(in, new Sink() {
+
+
+                    @Override
+                    public void accept(final NormalVersion version)
+                        throws IOException, InterruptedException {
+
+                        sorter.add(version);
+                    }
+
+                });
+                sorter.finish(sink);
+            } finally {
+                sorter.close();
+            }
+            return 0;
+        } finally {
+            if (output == null) {
+                writer.flush();
+            } else {
+                writer.close();
+            }
+        }
+    }
+
+
+    private interface Sink {
+
+
+        void accept(NormalVersion version)
+            throws IOException, InterruptedException;
+
+    }
+
+
+    private void read(final InputStream in, final Sink sink)
+        throws IOException, InterruptedException {
+
+        for (final String input : inputs) {
+            final boolean standard = "-".equals(input);
+            final Reader reader = new InputStreamReader(
+                standard ? in : new FileInputStream(input), CHARSET);
+            try {
+                final BufferedReader lines
+                    = new BufferedReader(reader, BUFFER_SIZE);
+                int number = 0;
+                for (String line; (line = lines.readLine()) != null;) {
+                    number++;
+                    final String trimmed = line.trim();
+                    if (trimmed.isEmpty()) {
+                        continue;
+                    }
+                    final NormalVersion version;
+                    try {
+                        version = NormalVersion.valueOf(trimmed);
+                    } catch (final IllegalArgumentException iae) {
+                        if (ignoreInvalid) {
+                            continue;
+                        }
+                        throw new IllegalArgumentException(
+                            input + ":" + number + ": " + iae.getMessage());
+                    }
+                    if (constraint.isSatisfiedBy(version)) {
+                        sink.accept(version);
+                    }
+                }
+            } finally {
+                if (!standard) {
+                    reader.close();
+                }
+            }
+        }
+    }
+
+
+    private boolean reverse;
+
+
+    private boolean unique;
+
+
+    private boolean max;
+
+
+    private boolean ignoreInvalid;
+
+
+    private VersionConstraint constraint = VersionConstraint.ANY;
+
+
+    private File output;
+
+
+    /**
+     * The number of versions in a run; {@code 0} until derived or given.
+     */
+    private int runLength;
+
+
+    private File temporary;
+
+
+    private int threads = Runtime.getRuntime().availableProcessors();
+
+
+    private final List<String> inputs = new ArrayList<String>();
+
+
+    private Comparator<NormalVersion> order;
+
+}
@@ -0,0 +1,272 @@
+/*
+ * Copyright 2015 Jin Kwon &lt;jinahya_at_gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.jinahya.semver;
+
+
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.SkipException;
+import static org.testng.Assert.assertTrue;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+
+/**
+ * Checks that hot paths stay within budgets of bytes allocated per
+ * operation, measured by {@link com.sun.management.ThreadMXBean}.
+ * <p>
+ * Budgets are upper bounds; the JIT compiler may eliminate some allocations.
+ *
+ * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
+ */
+public class AllocationTest {
+
+
+    private static final Logger logger
+        = LoggerFactory.getLogger(AllocationTest.class);
+
+
+    private static final int ITERATIONS = 100000;
+
+
+    private static final int ROUNDS = 3;
+
+
+    /**
+     * An operation returning something to keep it from being eliminated.
+     */
+    private interface Operation {
+
+        Object run();
+
+    }
+
+
+    @BeforeClass
+    public void checkSupported() {
+
+        if (!(ManagementFactory.getThreadMXBean()
+              instanceof com.sun.management.ThreadMXBean)) {
+            throw new SkipException("no com.sun.management.ThreadMXBean");
+        }
+        threads = (com.sun.management.ThreadMXBean)
+            ManagementFactory.getThreadMXBean();
+        if (!threads.isThreadAllocatedMemorySupported()) {
+            throw new SkipException("thread allocated memory not supported");
+        }
+        threads.setThreadAllocatedMemoryEnabled(true);
+    }
+
+
+    private long allocatedBytes() {
+
+        return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+
+    /**
+     * Returns the bytes allocated per run of specified operation.
+     */
+    private double measure(final Operation operation) {
+
+        Object sink = null;
+        for (int i = 0; i < ITERATIONS; i++) { // warm-up
+            sink = operation.run();
+        }
+
+        // the least of a few rounds filters out unrelated allocations
+        long allocated = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            final long baseline = allocatedBytes();
+            final long overhead = allocatedBytes() - baseline;
+            final long start = allocatedBytes();
+            for (int i = 0; i < ITERATIONS; i++) {
+                sink = operation.run();
+            }
+            allocated = Math.min(allocated,
+                                 allocatedBytes() - start - overhead);
+        }
+        if (sink == this) {
+            logger.trace("unreachable");
+        }
+
+        return (double) allocated / ITERATIONS;
+    }
+
+
+    private void assertBudget(final String name, final Operation operation,
+                              final int budget) {
+
+        final double allocated = measure(operation);
+        logger.info("{}: {} bytes/op (budget: {})", name, allocated, budget);
+        assertTrue(allocated <= budget,
+                   name + ": " + allocated + " bytes/op > " + budget);
+    }
+
+
+    private static final NormalVersion RELEASE1
+        = NormalVersion.valueOf("1.2.3");
+
+
+    private static final NormalVersion RELEASE2
+        = NormalVersion.valueOf("1.2.4");
+
+
+    private static final NormalVersion PRE_RELEASE1
+        = NormalVersion.valueOf("1.2.3-rc.1+b.1");
+
+
+    private static final NormalVersion PRE_RELEASE2
+        = NormalVersion.valueOf("1.2.3-rc.11+b.2");
+
+
+    @Test
+    public void compareTo() {
+
+        assertBudget("compareTo(release)", new Operation() {
+            @Override
+            public Object run() {
+                return RELEASE1.compareTo(RELEASE2) < 0 ? this : null;
+            }
+        }, 0);
+        assertBudget("compareTo(pre-release)", new Operation() {
+            @Override
+            public Object run() {
+                return PRE_RELEASE1.compareTo(PRE_RELEASE2) < 0 ? this : null;
+            }
+        }, 0);
+        assertBudget("totalOrder()", new Operation() {
+            @Override
+            public Object run() {
+                return NormalVersions.totalOrder()
+                    .compare(PRE_RELEASE1, PRE_RELEASE2) < 0 ? this : null;
+            }
+        }, 0);
+    }
+
+
+    @Test
+    public void derived() {
+
+        final VersionConstraint constraint
+            = VersionConstraint.valueOf(">=1.0.0 <2.0.0");
+        assertBudget("isSatisfiedBy", new Operation() {
+            @Override
+            public Object run() {
+                return constraint.isSatisfiedBy(PRE_RELEASE2) ? this : null;
+            }
+        }, 0);
+        assertBudget("VersionDelta.diff", new Operation() {
+            @Override
+            public Object run() {
+                return VersionDelta.diff(PRE_RELEASE1, PRE_RELEASE2);
+            }
+        }, 0);
+        assertBudget("VersionKeys.pack", new Operation() {
+            @Override
+            public Object run() {
+                return VersionKeys.pack(RELEASE1) > 0L ? this : null;
+            }
+        }, 0);
+        assertBudget("getFingerprint", new Operation() {
+            @Override
+            public Object run() {
+                return PRE_RELEASE1.getFingerprint() != 0L ? this : null;
+            }
+        }, 0);
+        final MutableVersionView view = new MutableVersionView();
+        final String string = "1.2.3-rc.11+b.2";
+        final byte[] bytes = string.getBytes(StandardCharsets.US_ASCII);
+        assertBudget("MutableVersionView(CharSequence)", new Operation() {
+            @Override
+            public Object run() {
+                return view.parse(string) && view.compareTo(PRE_RELEASE1) > 0
+                       ? this : null;
+            }
+        }, 0);
+        assertBudget("MutableVersionView(byte[])", new Operation() {
+            @Override
+            public Object run() {
+                return view.parse(bytes, 0, bytes.length)
+                       && view.compareTo(PRE_RELEASE2) == 0 ? this : null;
+            }
+        }, 0);
+    }
+
+
+    @Test
+    public void valueOf() {
+
+        // a builder and the version
+        assertBudget("valueOf(release)", new Operation() {
+            @Override
+            public Object run() {
+                return NormalVersion.valueOf("1.2.3");
+            }
+        }, 96);
+        assertBudget("valueOf(pre-release)", new Operation() {
+            @Override
+            public Object run() {
+                return NormalVersion.valueOf("1.2.3-rc.1+b.1");
+            }
+        }, 512);
+    }
+
+
+    @Test
+    public void builder() {
+
+        assertBudget("Builder", new Operation() {
+            @Override
+            public Object run() {
+                return new NormalVersion.Builder().majorVersion(1)
+                    .minorVersion(2).patchVersion(3).build();
+            }
+        }, 96);
+        assertBudget("Builder.valueOf(NormalVersion)", new Operation() {
+            @Override
+            public Object run() {
+                return NormalVersion.Builder.valueOf(PRE_RELEASE1)
+                    .patchVersion(4).build();
+            }
+        }, 96);
+    }
+
+
+    @Test
+    public void toStrings() {
+
+        assertBudget("toString(release)", new Operation() {
+            @Override
+            public Object run() {
+                return RELEASE1.toString();
+            }
+        }, 128);
+        assertBudget("toString(pre-release)", new Operation() {
+            @Override
+            public Object run() {
+                return PRE_RELEASE1.toString();
+            }
+        }, 192);
+    }
+
+
+    private com.sun.management.ThreadMXBean threads;
+
+}
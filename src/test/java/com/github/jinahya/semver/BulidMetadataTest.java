@@ -49,5 +49,21 @@ public class BulidMetadataTest {
         });
     }
 
-}
 
+    @Test
+    public static void identifiers() {
+
+        final BuildMetadata built = BuildMetadata.valueOf("exp.sha.5114f85");
+        assertEquals(built.getIdentifiers(),
+                     Arrays.asList("exp", "sha", "5114f85"));
+        assertEquals(built.getIdentifierViews().get(2).toString(), "5114f85");
+    }
+
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public static void emptyIdentifier() {
+
+        BuildMetadata.valueOf("exp..sha");
+    }
+
+}
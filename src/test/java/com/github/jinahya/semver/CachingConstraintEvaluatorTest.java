@@ -0,0 +1,214 @@
+/*
+ * Copyright 2015 Jin Kwon &lt;jinahya_at_gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.jinahya.semver;
+
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import static java.util.concurrent.ThreadLocalRandom.current;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.annotations.Test;
+
+
+/**
+ *
+ * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
+ */
+public class CachingConstraintEvaluatorTest {
+
+
+    private static final Logger logger
+        = LoggerFactory.getLogger(CachingConstraintEvaluatorTest.class);
+
+
+    @Test
+    public void memoize() {
+
+        final CachingConstraintEvaluator evaluator
+            = new CachingConstraintEvaluator(1024);
+        final VersionConstraint constraint
+            = VersionConstraint.valueOf(">=1.0.0-alpha <1.0.0-rc");
+        final NormalVersion in = NormalVersion.valueOf("1.0.0-beta");
+        final NormalVersion out = NormalVersion.valueOf("1.0.0-rc.1");
+
+        // one key at a time; different keys may share a slot
+        assertTrue(evaluator.isSatisfied(constraint, in));
+        assertEquals(evaluator.getMissCount(), 1L);
+        assertEquals(evaluator.getHitCount(), 0L);
+        assertTrue(evaluator.isSatisfied(constraint, in));
+        assertEquals(evaluator.getHitCount(), 1L);
+
+        assertTrue(!evaluator.isSatisfied(constraint, out));
+        assertEquals(evaluator.getMissCount(), 2L);
+        assertTrue(!evaluator.isSatisfied(constraint, out));
+        assertEquals(evaluator.getHitCount(), 2L);
+        assertEquals(evaluator.getHitRate(), 0.5d);
+
+        // keyed by identity
+        evaluator.isSatisfied(constraint, NormalVersion.valueOf("1.0.0-beta"));
+        assertEquals(evaluator.getMissCount(), 3L);
+
+        evaluator.clear();
+        assertEquals(evaluator.size(), 0);
+    }
+
+
+    @Test
+    public void direct() {
+
+        final CachingConstraintEvaluator evaluator
+            = new CachingConstraintEvaluator(1024);
+        final VersionConstraint constraint
+            = VersionConstraint.valueOf(">=1.0.0-alpha <2.0.0");
+
+        // no identifiers to compare
+        assertTrue(evaluator.isSatisfied(
+            constraint, NormalVersion.valueOf("1.5.0")));
+        assertTrue(evaluator.isSatisfied(
+            constraint, NormalVersion.valueOf("1.5.0-beta")));
+        assertTrue(!evaluator.isSatisfied(
+            constraint, NormalVersion.valueOf("0.9.0-beta")));
+        assertEquals(evaluator.getHitCount() + evaluator.getMissCount(), 0L);
+        assertEquals(evaluator.size(), 0);
+
+        assertTrue(evaluator.isSatisfied(
+            constraint, NormalVersion.valueOf("1.0.0-beta")));
+        assertEquals(evaluator.getMissCount(), 1L);
+        assertEquals(evaluator.size(), 1);
+    }
+
+
+    @Test
+    public void bounded() {
+
+        final VersionConstraint constraint
+            = VersionConstraint.valueOf(">=1.0.0-0");
+        for (final int maximumSize : new int[]{1, 2, 3, 64, 100}) {
+            final CachingConstraintEvaluator evaluator
+                = new CachingConstraintEvaluator(maximumSize);
+            for (int i = 0; i < 10000; i++) {
+                evaluator.isSatisfied(constraint,
+                                      NormalVersion.valueOf("1.0.0-" + i));
+            }
+            assertTrue(evaluator.size() <= maximumSize,
+                       maximumSize + ": " + evaluator.size());
+        }
+    }
+
+
+    private static long nanosPerEvaluation(
+        final VersionConstraint constraint, final NormalVersion[] versions,
+        final CachingConstraintEvaluator evaluator) {
+
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < 10; round++) {
+            int satisfied = 0;
+            final long start = System.nanoTime();
+            for (int i = 0; i < 100; i++) {
+                for (final NormalVersion version : versions) {
+                    if (evaluator == null
+                        ? constraint.isSatisfiedBy(version)
+                        : evaluator.isSatisfied(constraint, version)) {
+                        satisfied++;
+                    }
+                }
+            }
+            best = Math.min(best, System.nanoTime() - start);
+            assertEquals(satisfied, 100 * versions.length);
+        }
+
+        return best / (100L * versions.length);
+    }
+
+
+    /**
+     * Compares cached evaluations with direct ones where identifiers of long
+     * pre-release versions have to be compared. Only logs the numbers; wall
+     * clock times are no gate on shared machines.
+     */
+    @Test
+    public void benchmark() {
+
+        final VersionConstraint constraint = VersionConstraint.valueOf(
+            ">=1.0.0-beta.2026.10.1.build.100 <1.0.0-beta.2026.10.1.build.999");
+        final NormalVersion[] versions = new NormalVersion[512];
+        for (int i = 0; i < versions.length; i++) {
+            versions[i] = NormalVersion.valueOf(
+                "1.0.0-beta.2026.10.1.build." + (100 + i));
+        }
+        final CachingConstraintEvaluator evaluator
+            = new CachingConstraintEvaluator(4096);
+
+        long direct = 0L;
+        long cached = 0L;
+        for (int i = 0; i < 5; i++) {
+            direct = nanosPerEvaluation(constraint, versions, null);
+            cached = nanosPerEvaluation(constraint, versions, evaluator);
+        }
+        logger.info("direct: {} ns, cached: {} ns, hit rate: {}", direct,
+                    cached, evaluator.getHitRate());
+    }
+
+
+    @Test
+    public void concurrent() throws Exception {
+
+        final VersionConstraint[] constraints = {
+            VersionConstraint.valueOf(">=1.0.0-rc.10"),
+            VersionConstraint.valueOf("<1.0.0-rc.50"),
+            VersionConstraint.valueOf(">1.0.0-rc.1 <=1.0.0-rc.90")};
+        final NormalVersion[] versions = new NormalVersion[100];
+        for (int i = 0; i < versions.length; i++) {
+            versions[i] = NormalVersion.valueOf("1.0.0-rc." + i);
+        }
+
+        final CachingConstraintEvaluator evaluator
+            = new CachingConstraintEvaluator(16384);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 10000; i++) {
+                        final VersionConstraint constraint = constraints[
+                            current().nextInt(constraints.length)];
+                        final NormalVersion version
+                            = versions[current().nextInt(versions.length)];
+                        assertEquals(evaluator.isSatisfied(constraint, version),
+                                     constraint.isSatisfiedBy(version));
+                    }
+                }));
+            }
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(evaluator.getHitCount() + evaluator.getMissCount(),
+                     40000L);
+        assertTrue(evaluator.getHitRate() > 0.9d);
+    }
+
+}
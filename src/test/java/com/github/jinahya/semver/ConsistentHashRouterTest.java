@@ -0,0 +1,179 @@
+/*
+ * Copyright 2015 Jin Kwon &lt;jinahya_at_gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.jinahya.semver;
+
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import static java.util.concurrent.ThreadLocalRandom.current;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertTrue;
+import org.testng.annotations.Test;
+
+
+/**
+ *
+ * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
+ */
+public class ConsistentHashRouterTest {
+
+
+    private static long fnv1a(final String s) {
+
+        long h = 0xcbf29ce484222325L;
+        for (final byte b : s.getBytes(StandardCharsets.US_ASCII)) {
+            h = (h ^ (b & 0xFF)) * 0x100000001b3L;
+        }
+
+        return h;
+    }
+
+
+    @Test
+    public void fingerprints() {
+
+        for (final String s : new String[]{
+            "0.0.0", "1.10.100", "2147483647.0.9", "1.0.0-rc.1",
+            "1.0.0-rc.1+build.5", "1.0.0+x"}) {
+            final NormalVersion version = NormalVersion.valueOf(s);
+            assertEquals(version.getFingerprint(), fnv1a(s), s);
+            final int plus = s.indexOf('+');
+            assertEquals(version.getPrecedenceFingerprint(),
+                         fnv1a(plus == -1 ? s : s.substring(0, plus)), s);
+        }
+
+        assertEquals(
+            NormalVersion.valueOf("1.0.0+a").getPrecedenceFingerprint(),
+            NormalVersion.valueOf("1.0.0").getPrecedenceFingerprint());
+        assertNotEquals(
+            NormalVersion.valueOf("1.0.0+a").getFingerprint(),
+            NormalVersion.valueOf("1.0.0").getFingerprint());
+        assertEquals(
+            new NormalVersion.Builder().majorVersion(1).build()
+            .getFingerprint(),
+            NormalVersion.valueOf("1.0.0").getFingerprint());
+    }
+
+
+    private static Map<NormalVersion, String> route(
+        final ConsistentHashRouter<String> router,
+        final NormalVersion[] versions) {
+
+        final Map<NormalVersion, String> routes = new HashMap<>();
+        for (final NormalVersion version : versions) {
+            routes.put(version, router.route(version));
+        }
+
+        return routes;
+    }
+
+
+    @Test
+    public void route() {
+
+        final NormalVersion[] versions = new NormalVersion[100000];
+        for (int i = 0; i < versions.length; i++) {
+            versions[i] = new NormalVersion.Builder()
+                .majorVersion(current().nextInt(100))
+                .minorVersion(current().nextInt(100))
+                .patchVersion(current().nextInt(100))
+                .build();
+        }
+
+        final ConsistentHashRouter<String> router
+            = new ConsistentHashRouter<>(200);
+        final int count = 10;
+        for (int i = 0; i < count; i++) {
+            assertTrue(router.addNode("node-" + i));
+        }
+        assertFalse(router.addNode("node-0"));
+
+        final Map<NormalVersion, String> before = route(router, versions);
+        final Map<String, Integer> loads = new HashMap<>();
+        for (final String node : before.values()) {
+            final Integer load = loads.get(node);
+            loads.put(node, load == null ? 1 : load + 1);
+        }
+        assertEquals(loads.size(), count);
+        for (final int load : loads.values()) {
+            assertTrue(load > versions.length / count / 2, loads.toString());
+            assertTrue(load < versions.length / count * 3 / 2,
+                       loads.toString());
+        }
+
+        // adding moves versions only to the new node
+        assertTrue(router.addNode("node-" + count));
+        final Map<NormalVersion, String> added = route(router, versions);
+        int moved = 0;
+        for (final NormalVersion version : versions) {
+            if (!added.get(version).equals(before.get(version))) {
+                assertEquals(added.get(version), "node-" + count);
+                moved++;
+            }
+        }
+        assertTrue(moved < versions.length / 5, Integer.toString(moved));
+
+        // removing restores previous routes
+        assertTrue(router.removeNode("node-" + count));
+        assertEquals(route(router, versions), before);
+    }
+
+
+    /**
+     * Checks that colliding points are rehashed, rather than lost, and that
+     * the ring doesn't depend on the order of changes.
+     */
+    @Test
+    public void collisions() {
+
+        // 3 * 60 points on a ring of 256
+        final ConsistentHashRouter<String> forward
+            = new ConsistentHashRouter<>(60, 0xFFL);
+        final ConsistentHashRouter<String> backward
+            = new ConsistentHashRouter<>(60, 0xFFL);
+        for (int i = 0; i < 3; i++) {
+            forward.addNode("node-" + i);
+            backward.addNode("node-" + (2 - i));
+        }
+        assertEquals(forward.points(), 180);
+        assertEquals(backward.points(), 180);
+
+        final NormalVersion[] versions = new NormalVersion[1000];
+        for (int i = 0; i < versions.length; i++) {
+            versions[i] = NormalVersion.valueOf("1.0." + i);
+        }
+        final Map<NormalVersion, String> routes = route(forward, versions);
+        assertEquals(route(backward, versions), routes);
+
+        // the points node-0 took from others go back to them
+        forward.removeNode("node-0");
+        assertEquals(forward.points(), 120);
+        forward.addNode("node-0");
+        assertEquals(route(forward, versions), routes);
+    }
+
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void noNodes() {
+
+        new ConsistentHashRouter<String>(1).route(NormalVersion.valueOf("1.0.0"));
+    }
+
+}
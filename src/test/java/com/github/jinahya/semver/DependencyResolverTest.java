@@ -0,0 +1,259 @@
+/*
+ * Copyright 2015 Jin Kwon &lt;jinahya_at_gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.jinahya.semver;
+
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import static java.util.concurrent.ThreadLocalRandom.current;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+import org.testng.annotations.Test;
+
+
+/**
+ *
+ * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
+ */
+public class DependencyResolverTest {
+
+
+    private static NormalVersion v(final String s) {
+
+        return NormalVersion.valueOf(s);
+    }
+
+
+    private static VersionConstraint c(final String s) {
+
+        return VersionConstraint.valueOf(s);
+    }
+
+
+    @Test
+    public void highest() {
+
+        final DependencyCatalog catalog = new InMemoryDependencyCatalog.Builder()
+            .dependency("a", v("1.0.0"), "b", c(">=1.0.0 <2.0.0"))
+            .version("b", v("1.0.0"))
+            .version("b", v("1.5.0"))
+            .version("b", v("2.0.0"))
+            .build();
+
+        final Map<String, NormalVersion> resolved
+            = new DependencyResolver(catalog)
+            .resolve(Collections.singletonMap("a", VersionConstraint.ANY));
+        assertEquals(resolved.toString(), "{a=1.0.0, b=1.5.0}");
+    }
+
+
+    @Test
+    public void backtrack() {
+
+        final DependencyCatalog catalog = new InMemoryDependencyCatalog.Builder()
+            .dependency("a", v("2.0.0"), "c", c("<1.0.0"))
+            .dependency("a", v("1.0.0"), "c", c(">=1.0.0"))
+            .dependency("b", v("1.0.0"), "c", c(">=1.0.0"))
+            .version("c", v("0.9.0"))
+            .version("c", v("1.0.0"))
+            .build();
+
+        final Map<String, VersionConstraint> roots = new HashMap<>();
+        roots.put("a", VersionConstraint.ANY);
+        roots.put("b", VersionConstraint.ANY);
+        final Map<String, NormalVersion> resolved
+            = new DependencyResolver(catalog).resolve(roots);
+        assertEquals(resolved.toString(), "{a=1.0.0, b=1.0.0, c=1.0.0}");
+    }
+
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void unsatisfiable() {
+
+        final DependencyCatalog catalog = new InMemoryDependencyCatalog.Builder()
+            .dependency("a", v("1.0.0"), "b", c(">=1.0.0 <2.0.0"))
+            .dependency("c", v("1.0.0"), "b", c(">=2.0.0"))
+            .version("b", v("1.0.0"))
+            .version("b", v("2.0.0"))
+            .build();
+
+        final Map<String, VersionConstraint> roots = new HashMap<>();
+        roots.put("a", VersionConstraint.ANY);
+        roots.put("c", VersionConstraint.ANY);
+        new DependencyResolver(catalog).resolve(roots);
+    }
+
+
+    private static void chain(final int length) {
+
+        final InMemoryDependencyCatalog.Builder builder
+            = new InMemoryDependencyCatalog.Builder();
+        for (int i = 0; i < length; i++) {
+            for (int j = 0; j < 3; j++) {
+                final NormalVersion version = v(j + ".0.0");
+                builder.version("p" + i, version);
+                if (i + 1 < length) {
+                    builder.dependency("p" + i, version, "p" + (i + 1),
+                                       c(">=" + j + ".0.0"));
+                }
+            }
+        }
+        // only 0.0.0 of the last one is allowed by the root
+        final Map<String, VersionConstraint> roots = new HashMap<>();
+        roots.put("p0", VersionConstraint.ANY);
+        roots.put("p" + (length - 1), c("<1.0.0"));
+
+        final Map<String, NormalVersion> resolved
+            = new DependencyResolver(builder.build()).resolve(roots);
+        assertEquals(resolved.size(), length);
+        assertEquals(resolved.get("p0").toString(), "0.0.0");
+    }
+
+
+    @Test(timeOut = 10000L)
+    public void chain() {
+
+        chain(2000);
+    }
+
+
+    /**
+     * Backjumps over a chain deeper than a recursive search could go on a
+     * default thread stack.
+     */
+    @Test(timeOut = 30000L)
+    public void deepChain() {
+
+        chain(5000);
+    }
+
+
+    private static boolean isConsistent(final DependencyCatalog catalog,
+                                        final Map<String, VersionConstraint> roots,
+                                        final Map<String, NormalVersion> assignments) {
+
+        for (final Map.Entry<String, VersionConstraint> root
+             : roots.entrySet()) {
+            final NormalVersion assigned = assignments.get(root.getKey());
+            if (assigned == null || !root.getValue().isSatisfiedBy(assigned)) {
+                return false;
+            }
+        }
+        for (final Map.Entry<String, NormalVersion> assignment
+             : assignments.entrySet()) {
+            for (final Map.Entry<String, VersionConstraint> dependency
+                 : catalog.getDependencies(assignment.getKey(),
+                                           assignment.getValue()).entrySet()) {
+                final NormalVersion assigned
+                    = assignments.get(dependency.getKey());
+                if (assigned == null
+                    || !dependency.getValue().isSatisfiedBy(assigned)) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
+
+    private static boolean exists(final DependencyCatalog catalog,
+                                  final Map<String, VersionConstraint> roots,
+                                  final List<String> names, final int index,
+                                  final Map<String, NormalVersion> assignments) {
+
+        if (index == names.size()) {
+            return isConsistent(catalog, roots, assignments);
+        }
+
+        final String name = names.get(index);
+        if (exists(catalog, roots, names, index + 1, assignments)) {
+            return true;
+        }
+        for (final NormalVersion version : catalog.getVersions(name)) {
+            assignments.put(name, version);
+            final boolean exists
+                = exists(catalog, roots, names, index + 1, assignments);
+            assignments.remove(name);
+            if (exists) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+
+    @Test
+    public void random() {
+
+        final String[] constraints = {"<1.0.0", ">=1.0.0", ">=1.0.0 <2.0.0",
+                                      ">=2.0.0", "1.0.0", "*"};
+        final List<String> names = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            names.add("p" + i);
+        }
+
+        for (int round = 0; round < 300; round++) {
+            final InMemoryDependencyCatalog.Builder builder
+                = new InMemoryDependencyCatalog.Builder();
+            for (final String name : names) {
+                for (int j = 0; j < 3; j++) {
+                    if (current().nextInt(4) == 0) {
+                        continue;
+                    }
+                    final NormalVersion version = v(j + ".0.0");
+                    builder.version(name, version);
+                    for (final String other : names) {
+                        if (!other.equals(name) && current().nextInt(3) == 0) {
+                            builder.dependency(
+                                name, version, other,
+                                c(constraints[current().nextInt(
+                                    constraints.length)]));
+                        }
+                    }
+                }
+            }
+            final DependencyCatalog catalog = builder.build();
+            final Map<String, VersionConstraint> roots = new HashMap<>();
+            roots.put("p0", VersionConstraint.ANY);
+            roots.put("p1", c(constraints[current().nextInt(
+                constraints.length)]));
+
+            final boolean expected
+                = exists(catalog, roots, names, 0, new HashMap<>());
+            Map<String, NormalVersion> resolved = null;
+            try {
+                resolved = new DependencyResolver(catalog).resolve(roots);
+            } catch (final IllegalArgumentException iae) {
+                if (expected) {
+                    fail("should be resolved", iae);
+                }
+            }
+            if (expected) {
+                assertNotNull(resolved);
+                assertTrue(isConsistent(catalog, roots, resolved));
+            }
+        }
+    }
+
+}
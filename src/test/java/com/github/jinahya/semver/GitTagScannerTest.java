@@ -0,0 +1,270 @@
+/*
+ * Copyright 2015 Jin Kwon &lt;jinahya_at_gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.jinahya.semver;
+
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.fail;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.SkipException;
+import org.testng.annotations.Test;
+
+
+/**
+ *
+ * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
+ */
+public class GitTagScannerTest {
+
+
+    private static final Logger logger
+        = LoggerFactory.getLogger(GitTagScannerTest.class);
+
+
+    private static final String OBJECT
+        = "0123456789abcdef0123456789abcdef01234567";
+
+
+    private static void delete(final Path path) throws IOException {
+
+        try (Stream<Path> paths = Files.walk(path)) {
+            paths.sorted(Comparator.reverseOrder()).map(Path::toFile)
+                .forEach(File::delete);
+        }
+    }
+
+
+    private static void loose(final Path git, final String tag)
+        throws IOException {
+
+        final Path path = git.resolve("refs/tags").resolve(tag);
+        Files.createDirectories(path.getParent());
+        Files.write(path, (OBJECT + "\n").getBytes(StandardCharsets.US_ASCII));
+    }
+
+
+    @Test
+    public void scan() throws IOException {
+
+        final Path work = Files.createTempDirectory("semver");
+        try {
+            final Path git = Files.createDirectory(work.resolve(".git"));
+            Files.write(git.resolve("packed-refs"), Arrays.asList(
+                "# pack-refs with: peeled fully-peeled sorted ",
+                OBJECT + " refs/heads/1.0.0",
+                OBJECT + " refs/tags/1.0.0",
+                OBJECT + " refs/tags/v1.0.0",
+                "^" + OBJECT,
+                OBJECT + " refs/tags/v2.0.0-rc.1",
+                OBJECT + " refs/tags/release-3.0.0",
+                OBJECT + " refs/tags/v01.0.0",
+                OBJECT + " refs/tags/1.1.0+b\r"),
+                        StandardCharsets.US_ASCII);
+            loose(git, "1.2.0");
+            loose(git, "sub/1.3.0");
+            loose(git, "not-a-version");
+
+            final GitTagScanner scanner = new GitTagScanner(work.toFile());
+
+            final Map<String, NormalVersion> tags = scanner.scan();
+            assertEquals(new ArrayList<>(tags.keySet()), Arrays.asList(
+                "1.0.0", "v1.0.0", "1.1.0+b", "1.2.0", "v2.0.0-rc.1"));
+            assertEquals(tags.get("1.1.0+b").toString(), "1.1.0+b");
+
+            assertEquals(scanner.index().size(), 4);
+            assertEquals(scanner.latestStableTag(), "1.2.0");
+
+            loose(git, "v1.5.0");
+            assertEquals(scanner.latestStableTag(), "v1.5.0");
+        } finally {
+            delete(work);
+        }
+    }
+
+
+    /**
+     * Scans a linked worktree whose {@code .git} file points to a private git
+     * directory sharing refs of the main one.
+     */
+    @Test
+    public void worktree() throws IOException {
+
+        final Path work = Files.createTempDirectory("semver");
+        try {
+            final Path git = Files.createDirectories(work.resolve("main/.git"));
+            Files.write(git.resolve("packed-refs"), Arrays.asList(
+                OBJECT + " refs/tags/v1.0.0",
+                OBJECT + " refs/tags/v1.1.0-rc.1"),
+                        StandardCharsets.US_ASCII);
+            loose(git, "v1.0.1");
+            final Path linked
+                = Files.createDirectories(git.resolve("worktrees/linked"));
+            Files.write(linked.resolve("commondir"),
+                        "../..\n".getBytes(StandardCharsets.UTF_8));
+
+            final Path absolute = Files.createDirectory(work.resolve("abs"));
+            Files.write(absolute.resolve(".git"),
+                        ("gitdir: " + linked + "\n")
+                        .getBytes(StandardCharsets.UTF_8));
+            final Path relative = Files.createDirectory(work.resolve("rel"));
+            Files.write(relative.resolve(".git"),
+                        ("gitdir: " + relative.relativize(linked) + "\n")
+                        .getBytes(StandardCharsets.UTF_8));
+
+            for (final Path tree : Arrays.asList(absolute, relative)) {
+                final GitTagScanner scanner = new GitTagScanner(tree.toFile());
+                assertEquals(new ArrayList<>(scanner.scan().keySet()),
+                             Arrays.asList("v1.0.0", "v1.0.1", "v1.1.0-rc.1"));
+                assertEquals(scanner.latestStableTag(), "v1.0.1");
+            }
+
+            // the private git directory itself
+            assertEquals(new GitTagScanner(linked.toFile()).latestStableTag(),
+                         "v1.0.1");
+
+            Files.write(absolute.resolve(".git"),
+                        "garbage\n".getBytes(StandardCharsets.UTF_8));
+            try {
+                new GitTagScanner(absolute.toFile()).scan();
+                fail("garbage gitdir file");
+            } catch (final IOException expected) {
+            }
+        } finally {
+            delete(work);
+        }
+    }
+
+
+    @Test
+    public void empty() throws IOException {
+
+        final Path git = Files.createTempDirectory("semver");
+        try {
+            final GitTagScanner scanner = new GitTagScanner(git.toFile());
+            assertEquals(scanner.scan().size(), 0);
+            assertNull(scanner.latestStableTag());
+        } finally {
+            delete(git);
+        }
+    }
+
+
+    @Test
+    public void large() throws IOException {
+
+        final int count = 100000;
+        final Path git = Files.createTempDirectory("semver");
+        try {
+            try (Writer writer = Files.newBufferedWriter(
+                git.resolve("packed-refs"), StandardCharsets.US_ASCII)) {
+                for (int i = 0; i < count; i++) {
+                    writer.write(OBJECT + " refs/tags/");
+                    switch (i % 4) {
+                        case 0:
+                            writer.write("v" + (i / 1000) + "." + (i % 1000)
+                                         + ".0");
+                            break;
+                        case 1:
+                            writer.write((i / 1000) + "." + (i % 1000)
+                                         + ".1-rc." + i);
+                            break;
+                        case 2:
+                            writer.write("module-" + i + "/1.0.0");
+                            break;
+                        default:
+                            writer.write("build-" + i);
+                            break;
+                    }
+                    writer.write('\n');
+                }
+            }
+
+            final GitTagScanner scanner = new GitTagScanner(git.toFile());
+            for (int i = 0; i < 5; i++) {
+                final long started = System.nanoTime();
+                final Map<String, NormalVersion> tags = scanner.scan();
+                final long elapsed = System.nanoTime() - started;
+                assertEquals(tags.size(), count / 2);
+                logger.info("scanned {} tags in {} ms", count,
+                            TimeUnit.NANOSECONDS.toMillis(elapsed));
+            }
+            assertEquals(scanner.latestStableTag(), "v99.996.0");
+        } finally {
+            delete(git);
+        }
+    }
+
+
+    @Test
+    public void git() throws IOException, InterruptedException {
+
+        final Path work = Files.createTempDirectory("semver");
+        try {
+            if (!run(work, "git", "init", "-q")
+                || !run(work, "git", "-c", "user.name=test",
+                        "-c", "user.email=test@example.com",
+                        "commit", "-q", "--allow-empty", "-m", "init")) {
+                throw new SkipException("git not available");
+            }
+            final List<String> tags = Arrays.asList(
+                "v0.9.0", "v1.0.0-rc.1", "v1.0.0", "v1.1.0-beta", "misc");
+            for (final String tag : tags) {
+                assertEquals(run(work, "git", "tag", tag), true);
+            }
+            assertEquals(run(work, "git", "pack-refs", "--all"), true);
+            assertEquals(run(work, "git", "tag", "v1.0.1"), true);
+
+            final GitTagScanner scanner = new GitTagScanner(work.toFile());
+            assertEquals(new ArrayList<>(scanner.scan().keySet()),
+                         Arrays.asList("v0.9.0", "v1.0.0-rc.1", "v1.0.0",
+                                       "v1.0.1", "v1.1.0-beta"));
+            assertEquals(scanner.latestStableTag(), "v1.0.1");
+        } finally {
+            delete(work);
+        }
+    }
+
+
+    private static boolean run(final Path directory, final String... command)
+        throws InterruptedException {
+
+        try {
+            final Process process = new ProcessBuilder(command)
+                .directory(directory.toFile()).redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.INHERIT).start();
+            return process.waitFor() == 0;
+        } catch (final IOException ioe) {
+            return false;
+        }
+    }
+
+}
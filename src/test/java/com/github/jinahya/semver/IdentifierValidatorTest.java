@@ -0,0 +1,105 @@
+/*
+ * Copyright 2015 Jin Kwon &lt;jinahya_at_gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.jinahya.semver;
+
+
+import java.util.BitSet;
+import java.util.regex.Pattern;
+import static java.util.concurrent.ThreadLocalRandom.current;
+import static org.testng.Assert.assertEquals;
+import org.testng.annotations.Test;
+
+
+/**
+ *
+ * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
+ */
+public class IdentifierValidatorTest {
+
+
+    private static final String CHARACTERS = "0019Az-.+_é";
+
+
+    private static String random() {
+
+        final char[] chars = new char[current().nextInt(5)];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = CHARACTERS.charAt(current().nextInt(CHARACTERS.length()));
+        }
+
+        return new String(chars);
+    }
+
+
+    private static void assertSameAsPattern(final IdentifierValidator validator,
+                                            final Pattern pattern) {
+
+        for (int i = 0; i < 10000; i++) {
+            final String identifier = random();
+            assertEquals(validator.isValid(identifier),
+                         pattern.matcher(identifier).matches(),
+                         validator + ": " + identifier);
+        }
+    }
+
+
+    @Test
+    public void sameAsPatterns() {
+
+        assertSameAsPattern(IdentifierValidator.NUMERIC,
+                            NormalVersion.IDENTIFIER_PATTERN);
+        assertSameAsPattern(IdentifierValidator.PRE_RELEASE,
+                            PreReleaseVersion.IDENTIFIER_PATTERN);
+        assertSameAsPattern(IdentifierValidator.BUILD_METADATA,
+                            BuildMetadata.IDENTIFIER_PATTERN);
+    }
+
+
+    @Test
+    public void parseNumeric() {
+
+        assertEquals(IdentifierValidator.parseNumeric("0", 0, 1), 0);
+        assertEquals(IdentifierValidator.parseNumeric("x123", 1, 4), 123);
+        assertEquals(IdentifierValidator.parseNumeric("2147483647", 0, 10),
+                     Integer.MAX_VALUE);
+        assertEquals(IdentifierValidator.parseNumeric("2147483648", 0, 10), -1);
+        assertEquals(IdentifierValidator.parseNumeric("01", 0, 2), -1);
+        assertEquals(IdentifierValidator.parseNumeric("1a", 0, 2), -1);
+        assertEquals(IdentifierValidator.parseNumeric("", 0, 0), -1);
+    }
+
+
+    @Test
+    public void validate() {
+
+        final BitSet invalids = IdentifierValidator.PRE_RELEASE.validate(
+            new CharSequence[]{"alpha", "01", "0", null, "", "x-1"});
+        final BitSet expected = new BitSet();
+        expected.set(1);
+        expected.set(3);
+        expected.set(4);
+        assertEquals(invalids, expected);
+    }
+
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void overflow() {
+
+        NormalVersion.valueOf("2147483648.0.0");
+    }
+
+}
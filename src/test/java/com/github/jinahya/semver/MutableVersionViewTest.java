@@ -0,0 +1,159 @@
+/*
+ * Copyright 2015 Jin Kwon &lt;jinahya_at_gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.jinahya.semver;
+
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ThreadLocalRandom;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import org.testng.annotations.Test;
+
+
+/**
+ *
+ * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
+ */
+public class MutableVersionViewTest {
+
+
+    private static final String[] IDENTIFIERS = {
+        "0", "1", "11", "2", "01", "alpha", "beta", "rc", "x-y", "-", "0a",
+        "a0", ""};
+
+
+    private static String random() {
+
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final StringBuilder builder = new StringBuilder()
+            .append(random.nextInt(3)).append('.')
+            .append(random.nextInt(3)).append('.')
+            .append(random.nextInt(3));
+        if (random.nextBoolean()) {
+            builder.append('-');
+            for (int i = random.nextInt(4); i >= 0; i--) {
+                builder.append(IDENTIFIERS[random.nextInt(IDENTIFIERS.length)]);
+                if (i > 0) {
+                    builder.append('.');
+                }
+            }
+        }
+        if (random.nextInt(4) == 0) {
+            builder.append('+').append(
+                IDENTIFIERS[random.nextInt(IDENTIFIERS.length)]);
+        }
+        if (random.nextInt(8) == 0) {
+            builder.setCharAt(random.nextInt(builder.length()), '.');
+        }
+
+        return builder.toString();
+    }
+
+
+    private static NormalVersion valueOf(final String s) {
+
+        try {
+            return NormalVersion.valueOf(s);
+        } catch (final IllegalArgumentException iae) {
+            return null;
+        }
+    }
+
+
+    @Test
+    public void parse() {
+
+        final MutableVersionView view = new MutableVersionView();
+        assertFalse(view.isValid());
+        assertEquals(view.toString(), "");
+
+        assertTrue(view.parse("1.2.3-rc.11.x-y+b.1"));
+        assertEquals(view.getMajorVersion(), 1);
+        assertEquals(view.getMinorVersion(), 2);
+        assertEquals(view.getPatchVersion(), 3);
+        assertEquals(view.getPreReleaseIdentifierCount(), 3);
+        assertEquals(view.getPreReleaseIdentifierStart(0), 6);
+        assertEquals(view.getPreReleaseIdentifierEnd(0), 8);
+        assertEquals(view.getPreReleaseIdentifierStart(2), 12);
+        assertEquals(view.getPreReleaseIdentifierEnd(2), 15);
+        assertEquals(view.getBuildMetadataStart(), 16);
+        assertEquals(view.getBuildMetadataEnd(), 19);
+        assertEquals(view.toNormalVersion().toString(), "1.2.3-rc.11.x-y+b.1");
+
+        final byte[] bytes
+            = "event:10.0.1 ...".getBytes(StandardCharsets.US_ASCII);
+        assertTrue(view.parse(bytes, 6, 6));
+        assertEquals(view.getMajorVersion(), 10);
+        assertEquals(view.getPreReleaseIdentifierCount(), 0);
+        assertEquals(view.getBuildMetadataStart(), -1);
+        assertEquals(view.getBuildMetadataEnd(), -1);
+        assertEquals(view.toString(), "10.0.1");
+
+        final char[] chars = "[0.1.0-a.b.c.d.e.f.g.h.i.j]".toCharArray();
+        assertTrue(view.parse(chars, 1, chars.length - 2));
+        assertEquals(view.getPreReleaseIdentifierCount(), 10);
+        assertEquals(view.getPreReleaseIdentifierStart(9), 25);
+        assertEquals(view.getPreReleaseIdentifierEnd(9), 26);
+        assertEquals(view.toNormalVersion().toString(),
+                     "0.1.0-a.b.c.d.e.f.g.h.i.j");
+
+        assertFalse(view.parse("1.2"));
+        assertFalse(view.isValid());
+        assertFalse(view.parse("1.2.3-"));
+        assertFalse(view.parse("1.2.3+b..c"));
+        assertFalse(view.parse("1.2.99999999999"));
+    }
+
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void invalid() {
+
+        final MutableVersionView view = new MutableVersionView();
+        view.parse("1.02.3");
+        view.getMajorVersion();
+    }
+
+
+    @Test(expectedExceptions = IndexOutOfBoundsException.class)
+    public void outOfRange() {
+
+        new MutableVersionView().parse("1.2.3", 2, 6);
+    }
+
+
+    @Test
+    public void compareToNormalVersion() {
+
+        final MutableVersionView view = new MutableVersionView();
+        for (int i = 0; i < 100000; i++) {
+            final String s1 = random();
+            final String s2 = random();
+            final NormalVersion v1 = valueOf(s1);
+            final NormalVersion v2 = valueOf(s2);
+            assertEquals(view.parse(s1), v1 != null, s1);
+            if (v1 == null || v2 == null) {
+                continue;
+            }
+            assertEquals(Integer.signum(view.compareTo(v2)),
+                         Integer.signum(v1.compareTo(v2)), s1 + " " + s2);
+            assertEquals(NormalVersions.totalOrder().compare(
+                view.toNormalVersion(), v1), 0);
+        }
+    }
+
+}
@@ -85,6 +85,21 @@ public class NormalVersionTest {
     }
 
 
+    @Test
+    public void precedenceOfMinorVersions() {
+
+        // the minor version decides between versions of the same major
+        assertTrue(NormalVersion.valueOf("1.2.0")
+            .compareTo(NormalVersion.valueOf("1.10.0")) < 0);
+        assertTrue(NormalVersion.valueOf("1.10.0")
+            .compareTo(NormalVersion.valueOf("1.2.0")) > 0);
+        assertTrue(NormalVersion.valueOf("1.3.0")
+            .compareTo(NormalVersion.valueOf("1.2.9")) > 0);
+        assertTrue(NormalVersion.valueOf("1.2.3")
+            .compareTo(NormalVersion.valueOf("1.3.1-rc.1")) < 0);
+    }
+
+
     @Test(expectedExceptions = IllegalArgumentException.class)
     public void leadingZerosInMajorNumber() {
 
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2015 Jin Kwon &lt;jinahya_at_gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.jinahya.semver;
+
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import static java.util.stream.Collectors.toList;
+import static org.testng.Assert.assertEquals;
+import org.testng.annotations.Test;
+
+
+/**
+ *
+ * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
+ */
+public class NormalVersionsTest {
+
+
+    private static List<NormalVersion> versions(final String... values) {
+
+        return Arrays.stream(values).map(NormalVersion::valueOf)
+            .collect(toList());
+    }
+
+
+    private static List<String> strings(final List<NormalVersion> versions) {
+
+        return versions.stream().map(NormalVersion::toString)
+            .collect(toList());
+    }
+
+
+    @Test
+    public void totalOrder() {
+
+        final List<String> expected = Arrays.asList(
+            "1.0.0-rc.1", "1.0.0-rc.1+a", "1.0.0", "1.0.0+sha.a",
+            "1.0.0+sha.a.1", "1.0.0+sha.b", "1.0.1");
+        final List<NormalVersion> versions
+            = versions(expected.toArray(new String[0]));
+        for (int i = 0; i < 10; i++) {
+            Collections.shuffle(versions);
+            Collections.sort(versions, NormalVersions.totalOrder());
+            assertEquals(strings(versions), expected);
+        }
+    }
+
+
+    @Test
+    public void dedupe() {
+
+        final List<NormalVersion> sorted = versions(
+            "1.0.0-rc.1", "1.0.0", "1.0.0+sha.a", "1.0.0+sha.b", "1.0.1",
+            "2.0.0+x", "2.0.0");
+
+        assertEquals(strings(NormalVersions.dedupe(sorted)),
+                     Arrays.asList("1.0.0-rc.1", "1.0.0", "1.0.1", "2.0.0+x"));
+
+        final NormalVersion[] array
+            = sorted.toArray(new NormalVersion[sorted.size()]);
+        final int to = NormalVersions.dedupe(array, 1, array.length);
+        assertEquals(strings(Arrays.asList(array).subList(0, to)),
+                     Arrays.asList("1.0.0-rc.1", "1.0.0", "1.0.1", "2.0.0+x"));
+
+        assertEquals(NormalVersions.dedupe(new ArrayList<>()).size(), 0);
+    }
+
+}
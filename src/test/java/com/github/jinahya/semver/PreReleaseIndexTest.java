@@ -0,0 +1,139 @@
+/*
+ * Copyright 2015 Jin Kwon &lt;jinahya_at_gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.jinahya.semver;
+
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import org.testng.annotations.Test;
+
+
+/**
+ *
+ * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
+ */
+public class PreReleaseIndexTest {
+
+
+    private static PreReleaseIndex index(final String... versions) {
+
+        final PreReleaseIndex.Builder builder = new PreReleaseIndex.Builder();
+        for (final String version : versions) {
+            builder.versions(NormalVersion.valueOf(version));
+        }
+
+        return builder.build();
+    }
+
+
+    private static String strings(final List<NormalVersion> versions) {
+
+        return versions.toString();
+    }
+
+
+    @Test
+    public void find() {
+
+        final PreReleaseIndex index = index(
+            "1.0.0", "1.0.0-rc.1", "2.0.0-rc.1", "1.0.0-rc.2", "3.1.0-rc.1",
+            "3.0.0-beta", "3.0.0-beta.2", "1.0.0-rc2", "3.0.0-rc.1+b",
+            "1.0.0-nightly.20261001", "1.0.0-nightly.20261002.1",
+            "1.0.0-nightly.20261101");
+
+        assertEquals(index.size(), 11);
+        assertEquals(strings(index.find("rc")),
+                     "[1.0.0-rc.1, 1.0.0-rc.2, 2.0.0-rc.1, 3.0.0-rc.1+b,"
+                     + " 3.1.0-rc.1]");
+        assertEquals(strings(index.find("rc", "1")),
+                     "[1.0.0-rc.1, 2.0.0-rc.1, 3.0.0-rc.1+b, 3.1.0-rc.1]");
+        assertEquals(strings(index.find("alpha")), "[]");
+        assertEquals(strings(index.find(
+            VersionConstraint.valueOf(">=3.0.0-0 <4.0.0-0"), "rc")),
+                     "[3.0.0-rc.1+b, 3.1.0-rc.1]");
+        assertEquals(strings(index.findByPrefix("nightly.202610")),
+                     "[1.0.0-nightly.20261001, 1.0.0-nightly.20261002.1]");
+        assertEquals(strings(index.findByPrefix("r")),
+                     "[1.0.0-rc.1, 1.0.0-rc.2, 1.0.0-rc2, 2.0.0-rc.1,"
+                     + " 3.0.0-rc.1+b, 3.1.0-rc.1]");
+        assertEquals(strings(index.findByPrefix("beta.")),
+                     "[3.0.0-beta.2]");
+
+        assertEquals(index.latest("beta").toString(), "3.0.0-beta.2");
+        assertEquals(index.latest("rc").toString(), "3.1.0-rc.1");
+        assertNull(index.latest("alpha"));
+    }
+
+
+    @Test(expectedExceptions = UnsupportedOperationException.class)
+    public void findByPrefixUnmodifiable() {
+
+        // merged from more than one node
+        index("1.0.0-rc.1", "1.0.0-rc2").findByPrefix("r").clear();
+    }
+
+
+    @Test(expectedExceptions = UnsupportedOperationException.class)
+    public void findWithConstraintUnmodifiable() {
+
+        index("1.0.0-rc.1").find(VersionConstraint.ANY, "rc").clear();
+    }
+
+
+    @Test
+    public void random() {
+
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final String[] channels = {"alpha", "beta", "rc"};
+        final List<NormalVersion> versions = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            versions.add(NormalVersion.valueOf(
+                random.nextInt(5) + "." + random.nextInt(5) + ".0-"
+                + channels[random.nextInt(channels.length)] + "."
+                + random.nextInt(20)));
+        }
+        final PreReleaseIndex index
+            = new PreReleaseIndex.Builder().versions(versions).build();
+
+        for (final String channel : channels) {
+            final List<NormalVersion> expected = new ArrayList<>();
+            for (final NormalVersion version : versions) {
+                if (version.getPreReleaseVersion().getIdentifiers().get(0)
+                    .equals(channel)) {
+                    expected.add(version);
+                }
+            }
+            expected.sort(NormalVersions.totalOrder());
+            final List<NormalVersion> found = index.find(channel);
+            assertEquals(found.size(), expected.size());
+            for (int i = 0; i < found.size(); i++) {
+                assertEquals(NormalVersions.totalOrder().compare(
+                    found.get(i), expected.get(i)), 0);
+            }
+            for (final NormalVersion version : versions) {
+                assertTrue(version.compareTo(index.latest(channel)) <= 0
+                           || !version.getPreReleaseVersion()
+                    .getIdentifiers().get(0).equals(channel));
+            }
+        }
+    }
+
+}
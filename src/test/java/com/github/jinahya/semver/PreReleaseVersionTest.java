@@ -22,6 +22,7 @@ import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 import org.testng.annotations.Test;
 
 
@@ -49,5 +50,47 @@ public class PreReleaseVersionTest {
         });
     }
 
-}
 
+    @Test
+    public void identifiers() {
+
+        final PreReleaseVersion built = PreReleaseVersion.valueOf("x.7.z.92");
+        assertEquals(built.getIdentifiers(), Arrays.asList("x", "7", "z", "92"));
+        assertEquals(built.getIdentifierViews().size(), 4);
+        final CharSequence view = built.getIdentifierViews().get(3);
+        assertEquals(view.length(), 2);
+        assertEquals(view.charAt(1), '2');
+        assertEquals(view.toString(), "92");
+        assertEquals(PreReleaseVersion.Builder.valueOf(built).identifiers("1")
+            .build().toString(), "x.7.z.92.1");
+    }
+
+
+    @Test
+    public void precedence() {
+
+        final String[] values = {
+            "0", "1", "2", "10", "123456789012345678901234567890", "-", "a",
+            "alpha", "alpha.1", "alpha.2", "alpha.10", "alpha.beta", "beta"
+        };
+
+        for (int i = 0; i < values.length; i++) {
+            final PreReleaseVersion version
+                = PreReleaseVersion.valueOf(values[i]);
+            for (int j = 0; j < values.length; j++) {
+                final int compared = version.compareTo(
+                    PreReleaseVersion.valueOf(values[j]));
+                assertEquals(Integer.signum(compared), Integer.signum(i - j),
+                             values[i] + " <> " + values[j]);
+            }
+        }
+    }
+
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void trailingDot() {
+
+        PreReleaseVersion.valueOf("alpha.");
+    }
+
+}
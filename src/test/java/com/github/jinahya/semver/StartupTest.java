@@ -0,0 +1,128 @@
+/*
+ * Copyright 2015 Jin Kwon &lt;jinahya_at_gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.jinahya.semver;
+
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import org.testng.annotations.Test;
+
+
+/**
+ * Measures time-to-first-parse in a fresh virtual machine.
+ *
+ * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
+ */
+public class StartupTest {
+
+
+    private static final Logger logger
+        = LoggerFactory.getLogger(StartupTest.class);
+
+
+    private static final String ELAPSED = "elapsed: ";
+
+
+    /**
+     * The entry point of forked virtual machines, kept apart from the test so
+     * that nothing but this library is loaded.
+     */
+    public static class Main {
+
+
+        /**
+         * Parses a version for the first time and prints the nanoseconds
+         * taken, class loading and initialization included.
+         *
+         * @param args ignored
+         */
+        public static void main(final String[] args) {
+
+            final long start = System.nanoTime();
+            final NormalVersion version
+                = NormalVersion.valueOf("1.0.0-rc.1+build.1");
+            final long elapsed = System.nanoTime() - start;
+            System.out.println(version);
+            System.out.println(ELAPSED + elapsed);
+        }
+
+    }
+
+
+    private static List<String> fork(final String... options)
+        throws IOException, InterruptedException {
+
+        final List<String> command = new ArrayList<>();
+        command.add(System.getProperty("java.home") + File.separator + "bin"
+                    + File.separator + "java");
+        for (final String option : options) {
+            command.add(option);
+        }
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(Main.class.getName());
+
+        final Process process
+            = new ProcessBuilder(command).redirectErrorStream(true).start();
+        final List<String> lines = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+            process.getInputStream(), StandardCharsets.UTF_8))) {
+            for (String line; (line = reader.readLine()) != null;) {
+                lines.add(line);
+            }
+        }
+        assertEquals(process.waitFor(), 0, lines.toString());
+
+        return lines;
+    }
+
+
+    @Test(timeOut = 60000L)
+    public void timeToFirstParse() throws IOException, InterruptedException {
+
+        final List<String> lines = fork();
+        assertEquals(lines.get(0), "1.0.0-rc.1+build.1");
+        logger.info("time-to-first-parse: {} ns",
+                    lines.get(1).substring(ELAPSED.length()));
+    }
+
+
+    @Test(timeOut = 60000L)
+    public void noPatternCompiled() throws IOException, InterruptedException {
+
+        String loaded = null;
+        for (final String line : fork("-verbose:class")) {
+            // holders are loaded, but never initialized, with their classes
+            assertFalse(line.contains("java.util.regex.Pattern"), line);
+            if (line.contains(NormalVersion.class.getName())) {
+                loaded = line;
+            }
+        }
+        assertNotNull(loaded);
+    }
+
+}
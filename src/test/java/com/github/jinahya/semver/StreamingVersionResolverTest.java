@@ -0,0 +1,227 @@
+/*
+ * Copyright 2015 Jin Kwon &lt;jinahya_at_gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.jinahya.semver;
+
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import org.testng.annotations.Test;
+
+
+/**
+ *
+ * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
+ */
+public class StreamingVersionResolverTest {
+
+
+    @Test
+    public void accept() {
+
+        final List<String> changes = new ArrayList<>();
+        final StreamingVersionResolver<String> resolver
+            = new StreamingVersionResolver.Builder<String>()
+            .constraint("1.x", VersionConstraint.valueOf(">=1.0.0 <2.0.0"))
+            .constraint("any", VersionConstraint.ANY)
+            .listener((key, previous, current)
+                -> changes.add(key + ":" + previous + "->" + current))
+            .build();
+
+        resolver.accept(NormalVersion.valueOf("1.2.0"));
+        resolver.accept(NormalVersion.valueOf("1.1.0"));
+        resolver.accept(NormalVersion.valueOf("2.0.0"));
+        assertFalse(resolver.accept(NormalVersion.valueOf("1.2.0+other")));
+
+        assertEquals(changes, Arrays.asList(
+                     "1.x:null->1.2.0", "any:null->1.2.0",
+                     "any:1.2.0->2.0.0"));
+        assertEquals(resolver.getBest("1.x").toString(), "1.2.0");
+    }
+
+
+    @Test(timeOut = 10000L)
+    public void stream() throws Exception {
+
+        final List<String> changes
+            = Collections.synchronizedList(new ArrayList<>());
+        final StreamingVersionResolver<Integer> resolver
+            = new StreamingVersionResolver.Builder<Integer>()
+            .constraint(1, VersionConstraint.valueOf(">=1.0.0 <2.0.0"))
+            .constraint(2, VersionConstraint.valueOf(">=2.0.0 <3.0.0"))
+            .listener((key, previous, current)
+                -> changes.add(key + ":" + current))
+            .capacity(4)
+            .build();
+
+        final ExecutorService executor = Executors.newFixedThreadPool(5);
+        try {
+            final Future<?> consumer = executor.submit(resolver);
+            final List<Future<?>> publishers = new ArrayList<>();
+            for (int p = 0; p < 4; p++) {
+                publishers.add(executor.submit(() -> {
+                    for (int i = 0; i < 1000; i++) {
+                        resolver.publish("1." + i + ".0");
+                        resolver.publish("2.0." + i);
+                        resolver.publish("invalid");
+                    }
+                    return null;
+                }));
+            }
+            for (final Future<?> publisher : publishers) {
+                publisher.get();
+            }
+            resolver.close();
+            consumer.get();
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(1L, TimeUnit.SECONDS);
+        }
+
+        assertEquals(resolver.getBest(1).toString(), "1.999.0");
+        assertEquals(resolver.getBest(2).toString(), "2.0.999");
+        assertEquals(resolver.getRejectedCount(), 4000L);
+        assertTrue(changes.contains("1:1.999.0"));
+        assertTrue(changes.contains("2:2.0.999"));
+    }
+
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void publishAfterClose() throws InterruptedException {
+
+        final StreamingVersionResolver<String> resolver
+            = new StreamingVersionResolver.Builder<String>()
+            .listener((key, previous, current) -> {
+            })
+            .build();
+        resolver.close();
+        resolver.publish("1.0.0");
+    }
+
+
+
+    @Test(timeOut = 10000L)
+    public void closeWhileFull() throws Exception {
+
+        final StreamingVersionResolver<String> resolver
+            = new StreamingVersionResolver.Builder<String>()
+            .constraint("any", VersionConstraint.ANY)
+            .listener((key, previous, current) -> {
+            })
+            .capacity(2)
+            .build();
+        resolver.publish("1.0.0");
+        resolver.publish("2.0.0");
+
+        // no room for the end of the stream
+        resolver.close();
+        resolver.run();
+        assertEquals(resolver.getBest("any").toString(), "2.0.0");
+    }
+
+
+    @Test(timeOut = 10000L)
+    public void failingListener() throws Exception {
+
+        final StreamingVersionResolver<String> resolver
+            = new StreamingVersionResolver.Builder<String>()
+            .constraint("any", VersionConstraint.ANY)
+            .listener((key, previous, current) -> {
+                if (current.getMajorVersion() == 1) {
+                    throw new IllegalArgumentException("failing listener");
+                }
+                if (current.getMajorVersion() == 2) {
+                    throw new IllegalStateException("failing listener");
+                }
+            })
+            .capacity(4)
+            .build();
+        resolver.publish("1.0.0");
+        resolver.publish("2.0.0");
+        resolver.publish("invalid");
+        resolver.publish("3.0.0");
+
+        // no room for the end of the stream
+        resolver.close();
+        resolver.run();
+        assertEquals(resolver.getBest("any").toString(), "3.0.0");
+        assertEquals(resolver.getRejectedCount(), 1L);
+        assertEquals(resolver.getFailedCount(), 2L);
+    }
+
+
+    /**
+     * Checks that every announcement either is refused or is consumed while
+     * publishers race with closing.
+     */
+    @Test(timeOut = 30000L)
+    public void raceWithClose() throws Exception {
+
+        for (int round = 0; round < 100; round++) {
+            final AtomicLong consumed = new AtomicLong();
+            final StreamingVersionResolver<String> resolver
+                = new StreamingVersionResolver.Builder<String>()
+                .constraint("0", VersionConstraint.valueOf("<1.0.0"))
+                .constraint("1", VersionConstraint.valueOf(">=1.0.0"))
+                .listener((key, previous, current)
+                    -> consumed.incrementAndGet())
+                .capacity(8)
+                .build();
+            final AtomicLong published = new AtomicLong();
+            final ExecutorService executor = Executors.newFixedThreadPool(3);
+            try {
+                final Future<?> consumer = executor.submit(resolver);
+                final List<Future<?>> publishers = new ArrayList<>();
+                for (int p = 0; p < 2; p++) {
+                    final int major = p;
+                    publishers.add(executor.submit(() -> {
+                        try {
+                            for (int i = 0; ; i++) {
+                                resolver.publish(major + "." + i + ".0");
+                                published.incrementAndGet();
+                            }
+                        } catch (final IllegalStateException ise) {
+                            // closed
+                        }
+                        return null;
+                    }));
+                }
+                Thread.sleep(1L);
+                resolver.close();
+                for (final Future<?> publisher : publishers) {
+                    publisher.get();
+                }
+                consumer.get();
+            } finally {
+                executor.shutdown();
+                executor.awaitTermination(1L, TimeUnit.SECONDS);
+            }
+            // each announcement of a publisher is the best of its key so far
+            assertEquals(consumed.get(), published.get());
+        }
+    }
+
+}
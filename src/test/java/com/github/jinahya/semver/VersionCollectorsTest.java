@@ -0,0 +1,162 @@
+/*
+ * Copyright 2015 Jin Kwon &lt;jinahya_at_gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.jinahya.semver;
+
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import org.testng.annotations.Test;
+
+
+/**
+ *
+ * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
+ */
+public class VersionCollectorsTest {
+
+
+    private static List<NormalVersion> versions(final String... strings) {
+
+        final List<NormalVersion> list = new ArrayList<>();
+        for (final String string : strings) {
+            list.add(NormalVersion.valueOf(string));
+        }
+
+        return list;
+    }
+
+
+    private static List<NormalVersion> random(final int count) {
+
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final List<NormalVersion> list = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            list.add(new NormalVersion.Builder()
+                .majorVersion(random.nextInt(20))
+                .minorVersion(random.nextInt(20))
+                .patchVersion(random.nextInt(20))
+                .preReeleaseVersion(random.nextInt(4) == 0
+                                    ? PreReleaseVersion.valueOf(
+                                        "rc." + random.nextInt(3))
+                                    : null)
+                .build());
+        }
+
+        return list;
+    }
+
+
+    private static NormalVersion line(final int major, final int minor) {
+
+        return new NormalVersion.Builder()
+            .majorVersion(major).minorVersion(minor).build();
+    }
+
+
+    @Test
+    public void maxMin() {
+
+        final List<NormalVersion> list = versions(
+            "1.0.0", "2.0.0-rc.1", "1.5.0", "0.9.0-alpha", "1.5.0+b");
+
+        assertEquals(list.stream().collect(VersionCollectors.max()).toString(),
+                     "2.0.0-rc.1");
+        assertEquals(list.stream().collect(VersionCollectors.max(true))
+            .toString(), "1.5.0");
+        assertEquals(list.stream().collect(VersionCollectors.min()).toString(),
+                     "0.9.0-alpha");
+        assertEquals(list.stream().collect(VersionCollectors.min(true))
+            .toString(), "1.0.0");
+
+        // the first of equal precedence wins
+        assertSame(list.stream().collect(VersionCollectors.max(true)),
+                   list.get(2));
+
+        assertNull(Stream.<NormalVersion>empty()
+            .collect(VersionCollectors.max()));
+        assertNull(versions("1.0.0-rc").stream()
+            .collect(VersionCollectors.min(true)));
+    }
+
+
+    @Test
+    public void lines() {
+
+        final List<NormalVersion> list = versions(
+            "1.0.0", "1.2.0", "1.2.3", "2.0.0-rc.1", "1.2.3-rc.1", "0.1.0");
+
+        final SortedMap<NormalVersion, NormalVersion> majors
+            = list.stream().collect(VersionCollectors.latestPerMajor());
+        assertEquals(majors.toString(),
+                     "{0.0.0=0.1.0, 1.0.0=1.2.3, 2.0.0=2.0.0-rc.1}");
+
+        final SortedMap<NormalVersion, NormalVersion> minors
+            = list.stream().collect(VersionCollectors.latestPerMinor());
+        assertEquals(minors.toString(),
+                     "{0.1.0=0.1.0, 1.0.0=1.0.0, 1.2.0=1.2.3,"
+                     + " 2.0.0=2.0.0-rc.1}");
+
+        assertEquals(list.stream().collect(VersionCollectors.countingByMajor())
+            .toString(), "{0.0.0=1, 1.0.0=4, 2.0.0=1}");
+        assertEquals(list.stream().collect(VersionCollectors.countingByMinor())
+            .toString(), "{0.1.0=1, 1.0.0=1, 1.2.0=3, 2.0.0=1}");
+    }
+
+
+    @Test
+    public void parallel() {
+
+        final List<NormalVersion> list = random(200000);
+
+        final Map<NormalVersion, NormalVersion> latests = new TreeMap<>();
+        final Map<NormalVersion, Long> counts = new TreeMap<>();
+        for (final NormalVersion version : list) {
+            final NormalVersion line = line(version.getMajorVersion(),
+                                            version.getMinorVersion());
+            final NormalVersion latest = latests.get(line);
+            if (latest == null || version.compareTo(latest) > 0) {
+                latests.put(line, version);
+            }
+            counts.merge(line, 1L, Long::sum);
+        }
+
+        assertEquals(list.parallelStream()
+            .collect(VersionCollectors.latestPerMinor()), latests);
+        assertEquals(list.parallelStream()
+            .collect(VersionCollectors.countingByMinor()), counts);
+        assertSame(list.parallelStream().collect(VersionCollectors.max()),
+                   list.stream().reduce((v1, v2) -> v2.compareTo(v1) > 0
+                                                    ? v2 : v1).get());
+        assertSame(list.parallelStream().collect(VersionCollectors.min(true)),
+                   list.stream()
+                   .filter(v -> v.getPreReleaseVersion() == null)
+                   .reduce((v1, v2) -> v2.compareTo(v1) < 0 ? v2 : v1)
+                   .get());
+        assertEquals(list.parallelStream()
+            .collect(VersionCollectors.countingByMajor()).values().stream()
+            .mapToLong(Long::longValue).sum(), list.size());
+    }
+
+}
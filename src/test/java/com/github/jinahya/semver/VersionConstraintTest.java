@@ -0,0 +1,116 @@
+/*
+ * Copyright 2015 Jin Kwon &lt;jinahya_at_gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.jinahya.semver;
+
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import org.testng.annotations.Test;
+
+
+/**
+ *
+ * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
+ */
+public class VersionConstraintTest {
+
+
+    @Test
+    public void valueOf() {
+
+        final VersionConstraint constraint
+            = VersionConstraint.valueOf(">=2.1.0 <3.0.0");
+        assertEquals(constraint.toString(), ">=2.1.0 <3.0.0");
+        assertFalse(constraint.isSatisfiedBy(NormalVersion.valueOf("2.0.9")));
+        assertFalse(constraint.isSatisfiedBy(
+            NormalVersion.valueOf("2.1.0-rc.1")));
+        assertTrue(constraint.isSatisfiedBy(NormalVersion.valueOf("2.1.0")));
+        assertTrue(constraint.isSatisfiedBy(NormalVersion.valueOf("2.10.0")));
+        assertTrue(constraint.isSatisfiedBy(
+            NormalVersion.valueOf("3.0.0-alpha")));
+        assertFalse(constraint.isSatisfiedBy(NormalVersion.valueOf("3.0.0")));
+    }
+
+
+    @Test
+    public void exact() {
+
+        final VersionConstraint constraint
+            = VersionConstraint.valueOf("1.2.3");
+        assertTrue(constraint.isSatisfiedBy(
+            NormalVersion.valueOf("1.2.3+build")));
+        assertFalse(constraint.isSatisfiedBy(NormalVersion.valueOf("1.2.4")));
+    }
+
+
+    @Test
+    public void stableOnly() {
+
+        final VersionConstraint constraint = new VersionConstraint.Builder()
+            .lowerBound(NormalVersion.valueOf("1.0.0"), true)
+            .stableOnly(true)
+            .build();
+        assertTrue(constraint.isSatisfiedBy(NormalVersion.valueOf("1.0.1")));
+        assertFalse(constraint.isSatisfiedBy(
+            NormalVersion.valueOf("1.0.1-beta")));
+
+        // round trips through the textual form
+        assertEquals(constraint.toString(), ">=1.0.0 stable");
+        final VersionConstraint parsed
+            = VersionConstraint.valueOf(constraint.toString());
+        assertTrue(parsed.isStableOnly());
+        assertEquals(parsed.toString(), constraint.toString());
+        assertEquals(new VersionConstraint.Builder().stableOnly(true).build()
+            .toString(), "stable");
+        assertTrue(VersionConstraint.valueOf("stable").isStableOnly());
+        assertFalse(VersionConstraint.valueOf("stable").isSatisfiedBy(
+            NormalVersion.valueOf("1.0.0-rc.1")));
+    }
+
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void duplicateStable() {
+
+        VersionConstraint.valueOf(">=1.0.0 stable stable");
+    }
+
+
+    @Test
+    public void any() {
+
+        assertEquals(VersionConstraint.valueOf(" * "),
+                     VersionConstraint.ANY);
+        assertTrue(VersionConstraint.ANY.isSatisfiedBy(
+            NormalVersion.valueOf("0.0.0-0")));
+    }
+
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void duplicateBounds() {
+
+        VersionConstraint.valueOf(">=1.0.0 >1.1.0");
+    }
+
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void reversedBounds() {
+
+        VersionConstraint.valueOf(">=2.0.0 <1.0.0");
+    }
+
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2015 Jin Kwon &lt;jinahya_at_gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.jinahya.semver;
+
+
+import static com.github.jinahya.semver.VersionDelta.BUILD_METADATA;
+import static com.github.jinahya.semver.VersionDelta.MAJOR;
+import static com.github.jinahya.semver.VersionDelta.MINOR;
+import static com.github.jinahya.semver.VersionDelta.NONE;
+import static com.github.jinahya.semver.VersionDelta.PATCH;
+import static com.github.jinahya.semver.VersionDelta.PRE_RELEASE;
+import static java.util.concurrent.ThreadLocalRandom.current;
+import static org.testng.Assert.assertEquals;
+import org.testng.annotations.Test;
+
+
+/**
+ *
+ * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
+ */
+public class VersionDeltaTest {
+
+
+    private static VersionDelta diff(final String s1, final String s2) {
+
+        return VersionDelta.diff(NormalVersion.valueOf(s1),
+                                 NormalVersion.valueOf(s2));
+    }
+
+
+    @Test
+    public void diff() {
+
+        assertEquals(diff("1.2.3", "1.2.3"), NONE);
+        assertEquals(diff("1.2.3+a", "1.2.3+a"), NONE);
+        assertEquals(diff("1.2.3+a", "1.2.3+b"), BUILD_METADATA);
+        assertEquals(diff("1.2.3", "1.2.3+b"), BUILD_METADATA);
+        assertEquals(diff("1.2.3-rc.1+a", "1.2.3-rc.2+b"), PRE_RELEASE);
+        assertEquals(diff("1.2.3-rc.1", "1.2.3"), PRE_RELEASE);
+        assertEquals(diff("1.2.3-rc.1", "1.2.4-rc.1"), PATCH);
+        assertEquals(diff("1.2.3", "1.3.3"), MINOR);
+        assertEquals(diff("1.2.3", "2.2.3"), MAJOR);
+        assertEquals(diff("1.2.3", "2.0.0-alpha"), MAJOR);
+    }
+
+
+    @Test
+    public void batches() {
+
+        final int count = 1000;
+        final NormalVersion[] versions = new NormalVersion[count];
+        for (int i = 0; i < count; i++) {
+            versions[i] = new NormalVersion.Builder()
+                .majorVersion(current().nextInt(3))
+                .minorVersion(current().nextInt(3))
+                .patchVersion(current().nextInt(3))
+                .preReeleaseVersion(current().nextBoolean() ? null
+                                    : PreReleaseVersion.valueOf("rc"))
+                .build();
+        }
+        final long[] keys = VersionKeys.pack(versions);
+
+        final byte[] byVersions = new byte[count];
+        final byte[] byKeys = new byte[count];
+        assertEquals(VersionDelta.diff(versions, 1, count, byVersions),
+                     count - 2);
+        assertEquals(VersionDelta.diff(keys, 1, count, byKeys), count - 2);
+        for (int i = 0; i < count - 2; i++) {
+            final VersionDelta expected
+                = VersionDelta.diff(versions[i + 1], versions[i + 2]);
+            assertEquals(VersionDelta.valueOf(byVersions[i]), expected);
+            assertEquals(VersionDelta.valueOf(byKeys[i]), expected);
+            assertEquals(VersionDelta.diff(keys[i + 1], keys[i + 2]),
+                         expected);
+        }
+
+        assertEquals(VersionDelta.diff(keys, 0, 0, new byte[0]), 0);
+    }
+
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2015 Jin Kwon &lt;jinahya_at_gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.jinahya.semver;
+
+
+import java.util.ArrayList;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import org.testng.annotations.Test;
+
+
+/**
+ *
+ * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
+ */
+public class VersionFilterTest {
+
+
+    private static final Logger logger
+        = LoggerFactory.getLogger(VersionFilterTest.class);
+
+
+    private static List<NormalVersion> versions(final int major,
+                                                final int count) {
+
+        final List<NormalVersion> versions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            versions.add(NormalVersion.valueOf(
+                major + "." + (i / 100) + "." + (i % 100) + "+b." + i));
+        }
+
+        return versions;
+    }
+
+
+    @Test
+    public void precedence() {
+
+        final List<NormalVersion> added = versions(1, 10000);
+        final VersionFilter filter = new VersionFilter.Builder()
+            .versions(added).build();
+
+        for (final NormalVersion version : added) {
+            assertTrue(filter.mightContain(version));
+            assertTrue(filter.mightContain(version.toString()));
+            // build metadata is ignored
+            assertTrue(filter.mightContain(
+                NormalVersion.Builder.valueOf(version).buildMetadata((BuildMetadata) null)
+                .build()));
+        }
+
+        int positives = 0;
+        for (final NormalVersion version : versions(2, 10000)) {
+            if (filter.mightContain(version.toString())) {
+                positives++;
+            }
+        }
+        logger.info("false positives: {} / 10000", positives);
+        assertTrue(positives < 300, Integer.toString(positives));
+    }
+
+
+    @Test
+    public void exact() {
+
+        final VersionFilter filter = new VersionFilter.Builder()
+            .mode(VersionFilter.Mode.EXACT)
+            .versions(NormalVersion.valueOf("1.0.0+a"),
+                      NormalVersion.valueOf("1.0.0-rc.1"))
+            .falsePositiveProbability(0.0001d)
+            .build();
+
+        assertTrue(filter.mightContain("1.0.0+a"));
+        assertTrue(filter.mightContain("1.0.0-rc.1"));
+        assertFalse(filter.mightContain("1.0.0"));
+        assertFalse(filter.mightContain("1.0.0+b"));
+        assertFalse(filter.mightContain("not a version"));
+    }
+
+
+    @Test
+    public void bytes() {
+
+        final List<NormalVersion> added = versions(3, 1000);
+        final VersionFilter filter = new VersionFilter.Builder()
+            .mode(VersionFilter.Mode.EXACT).versions(added).build();
+
+        final byte[] bytes = filter.toByteArray();
+        final VersionFilter read = VersionFilter.valueOf(bytes);
+        assertEquals(read.getMode(), VersionFilter.Mode.EXACT);
+        assertEquals(read.toByteArray(), bytes);
+        for (final NormalVersion version : added) {
+            assertTrue(read.mightContain(version));
+        }
+    }
+
+
+    /**
+     * Checks that more than 127 hash functions survive serialization.
+     */
+    @Test
+    public void manyHashes() {
+
+        final List<NormalVersion> added = versions(3, 10);
+        final VersionFilter filter = new VersionFilter.Builder()
+            .falsePositiveProbability(1.0E-60d).versions(added).build();
+        assertEquals(filter.toByteArray()[1] & 0xFF, 199);
+
+        final VersionFilter read = VersionFilter.valueOf(filter.toByteArray());
+        assertEquals(read.toByteArray(), filter.toByteArray());
+        for (final NormalVersion version : added) {
+            assertTrue(read.mightContain(version));
+        }
+
+        // clamped to what a byte holds
+        assertEquals(new VersionFilter.Builder()
+            .falsePositiveProbability(Double.MIN_VALUE).versions(added)
+            .build().toByteArray()[1] & 0xFF, 255);
+    }
+
+
+    @Test
+    public void bits() {
+
+        assertEquals(VersionFilter.bits(1), 64);
+        assertEquals(VersionFilter.bits(Integer.MAX_VALUE >>> 6),
+                     Integer.MAX_VALUE - 63);
+        assertEquals(VersionFilter.bits((Integer.MAX_VALUE >>> 6) + 1),
+                     Integer.MAX_VALUE);
+    }
+
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void malformed() {
+
+        VersionFilter.valueOf(new byte[]{0, 1, 0});
+    }
+
+}
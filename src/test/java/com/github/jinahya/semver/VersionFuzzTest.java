@@ -0,0 +1,458 @@
+/*
+ * Copyright 2015 Jin Kwon &lt;jinahya_at_gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.jinahya.semver;
+
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import org.testng.SkipException;
+import org.testng.annotations.Test;
+
+
+/**
+ * Differential tests against a reference implementation written straight from
+ * the specification, over generated valid and invalid inputs.
+ * <p>
+ * Set {@code semver.fuzz.seed} to reproduce a failed run. Set
+ * {@code semver.fuzz.minimumRatio} to measure throughput of each input class,
+ * write it to {@code target/fuzz-throughput.properties}, and fail when
+ * parsing is slower than the reference by more than the ratio. Throughput
+ * isn't measured by default because coverage agents instrument only this
+ * library's classes.
+ *
+ * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
+ */
+public class VersionFuzzTest {
+
+
+    private static final Logger logger
+        = LoggerFactory.getLogger(VersionFuzzTest.class);
+
+
+    /**
+     * The regular expression suggested by the specification except that,
+     * as {@link PreReleaseVersion#IDENTIFIER_PATTERN} does, pre-release
+     * identifiers such as {@code 0a} are rejected for the leading zero.
+     */
+    private static final Pattern REFERENCE = Pattern.compile(
+        "^(0|[1-9]\\d*)\\.(0|[1-9]\\d*)\\.(0|[1-9]\\d*)"
+        + "(?:-((?:0|[1-9a-zA-Z-][0-9a-zA-Z-]*)"
+        + "(?:\\.(?:0|[1-9a-zA-Z-][0-9a-zA-Z-]*))*))?"
+        + "(?:\\+([0-9a-zA-Z-]+(?:\\.[0-9a-zA-Z-]+)*))?$");
+
+
+    private static final BigInteger INT_MAX
+        = BigInteger.valueOf(Integer.MAX_VALUE);
+
+
+    /**
+     * Parses with the reference.
+     *
+     * @return a matcher; {@code null} if not valid
+     */
+    private static Matcher reference(final String s) {
+
+        final Matcher matcher = REFERENCE.matcher(s);
+        if (!matcher.matches()) {
+            return null;
+        }
+
+        // this library holds normal version numbers in ints
+        for (int group = 1; group <= 3; group++) {
+            if (new BigInteger(matcher.group(group)).compareTo(INT_MAX) > 0) {
+                return null;
+            }
+        }
+
+        return matcher;
+    }
+
+
+    private static boolean isNumeric(final String identifier) {
+
+        for (int i = 0; i < identifier.length(); i++) {
+            if (identifier.charAt(i) < '0' || identifier.charAt(i) > '9') {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+
+    /**
+     * Compares two valid versions with the reference.
+     */
+    private static int reference(final Matcher m1, final Matcher m2) {
+
+        for (int group = 1; group <= 3; group++) {
+            final int compared = new BigInteger(m1.group(group))
+                .compareTo(new BigInteger(m2.group(group)));
+            if (compared != 0) {
+                return compared;
+            }
+        }
+
+        final String p1 = m1.group(4);
+        final String p2 = m2.group(4);
+        if (p1 == null || p2 == null) {
+            return p1 == null ? (p2 == null ? 0 : 1) : -1;
+        }
+
+        final String[] i1 = p1.split("\\.");
+        final String[] i2 = p2.split("\\.");
+        for (int i = 0; i < Math.min(i1.length, i2.length); i++) {
+            final boolean n1 = isNumeric(i1[i]);
+            final boolean n2 = isNumeric(i2[i]);
+            final int compared;
+            if (n1 && n2) {
+                compared = new BigInteger(i1[i]).compareTo(
+                    new BigInteger(i2[i]));
+            } else if (n1 || n2) {
+                compared = n1 ? -1 : 1;
+            } else {
+                compared = i1[i].compareTo(i2[i]);
+            }
+            if (compared != 0) {
+                return compared;
+            }
+        }
+
+        return Integer.signum(i1.length - i2.length);
+    }
+
+
+    /**
+     * Classes of generated inputs.
+     */
+    private enum InputClass {
+
+
+        NORMAL {
+            @Override
+            String generate(final Random random) {
+                return normal(random);
+            }
+        },
+        PRE_RELEASE {
+            @Override
+            String generate(final Random random) {
+                return normal(random) + "-" + identifiers(random, false);
+            }
+        },
+        BUILD_METADATA {
+            @Override
+            String generate(final Random random) {
+                return normal(random) + "+" + identifiers(random, true);
+            }
+        },
+        FULL {
+            @Override
+            String generate(final Random random) {
+                return normal(random) + "-" + identifiers(random, false) + "+"
+                       + identifiers(random, true);
+            }
+        },
+        MUTATED {
+            @Override
+            String generate(final Random random) {
+                final StringBuilder builder = new StringBuilder(
+                    values()[random.nextInt(ordinal())].generate(random));
+                final int mutations = 1 + random.nextInt(3);
+                for (int i = 0; i < mutations; i++) {
+                    final int index = random.nextInt(builder.length() + 1);
+                    final char c = ALPHABET.charAt(
+                        random.nextInt(ALPHABET.length()));
+                    switch (random.nextInt(3)) {
+                        case 0:
+                            builder.insert(index, c);
+                            break;
+                        case 1:
+                            if (index < builder.length()) {
+                                builder.deleteCharAt(index);
+                            }
+                            break;
+                        default:
+                            if (index < builder.length()) {
+                                builder.setCharAt(index, c);
+                            }
+                            break;
+                    }
+                }
+                return builder.toString();
+            }
+        };
+
+
+        private static final String ALPHABET = "0123456789.-+azAZ_ é";
+
+
+        private static String number(final Random random) {
+
+            switch (random.nextInt(8)) {
+                case 0:
+                    return "0";
+                case 1:
+                    return Long.toString((long) Integer.MAX_VALUE
+                                         + random.nextInt(2));
+                case 2:
+                    return Long.toString(
+                        random.nextLong() & Long.MAX_VALUE);
+                default:
+                    return Integer.toString(random.nextInt(20));
+            }
+        }
+
+
+        private static String normal(final Random random) {
+
+            return number(random) + "." + number(random) + "."
+                   + number(random);
+        }
+
+
+        private static String identifiers(final Random random,
+                                          final boolean leadingZeros) {
+
+            final String[] pool = {"alpha", "beta", "rc", "x-y", "-", "0a",
+                                   "a0"};
+            final StringBuilder builder = new StringBuilder();
+            final int count = 1 + random.nextInt(4);
+            for (int i = 0; i < count; i++) {
+                if (i > 0) {
+                    builder.append('.');
+                }
+                if (random.nextBoolean()) {
+                    builder.append(pool[random.nextInt(pool.length)]);
+                } else {
+                    if (leadingZeros && random.nextInt(4) == 0) {
+                        builder.append('0');
+                    }
+                    builder.append(number(random));
+                }
+            }
+
+            return builder.toString();
+        }
+
+
+        abstract String generate(Random random);
+
+    }
+
+
+    private static Random random() {
+
+        final long seed = Long.getLong("semver.fuzz.seed", System.nanoTime());
+        logger.debug("semver.fuzz.seed: {}", seed);
+
+        return new Random(seed);
+    }
+
+
+    private static int signum(final NormalVersion v1, final NormalVersion v2) {
+
+        return Integer.signum(v1.compareTo(v2));
+    }
+
+
+    @Test
+    public void parse() {
+
+        final Random random = random();
+
+        for (final InputClass inputClass : InputClass.values()) {
+            for (int i = 0; i < 10000; i++) {
+                final String input = inputClass.generate(random);
+                final boolean expected = reference(input) != null;
+                NormalVersion version = null;
+                try {
+                    version = NormalVersion.valueOf(input);
+                } catch (final IllegalArgumentException iae) {
+                    assertTrue(!expected, "rejected: " + input);
+                }
+                if (version != null) {
+                    assertTrue(expected, "accepted: " + input);
+                    assertEquals(version.toString(), input);
+                }
+            }
+        }
+    }
+
+
+    @Test
+    public void precedence() {
+
+        final Random random = random();
+
+        final List<String> inputs = new ArrayList<String>();
+        while (inputs.size() < 300) {
+            final String input = InputClass.values()[random.nextInt(
+                InputClass.MUTATED.ordinal())].generate(random);
+            if (reference(input) != null) {
+                inputs.add(input);
+            }
+        }
+
+        final NormalVersion[] versions = new NormalVersion[inputs.size()];
+        final Matcher[] matchers = new Matcher[versions.length];
+        for (int i = 0; i < versions.length; i++) {
+            versions[i] = NormalVersion.valueOf(inputs.get(i));
+            matchers[i] = reference(inputs.get(i));
+        }
+
+        for (int i = 0; i < versions.length; i++) {
+            for (int j = 0; j < versions.length; j++) {
+                final int expected = reference(matchers[i], matchers[j]);
+                final String message = inputs.get(i) + " <> " + inputs.get(j);
+                assertEquals(signum(versions[i], versions[j]),
+                             Integer.signum(expected), message);
+                // antisymmetry
+                assertEquals(signum(versions[i], versions[j]),
+                             -signum(versions[j], versions[i]), message);
+            }
+        }
+
+        // transitivity; a sorted array must be ordered pairwise
+        final NormalVersion[] sorted = versions.clone();
+        Arrays.sort(sorted);
+        for (int i = 0; i < sorted.length; i++) {
+            for (int j = i + 1; j < sorted.length; j++) {
+                assertTrue(signum(sorted[i], sorted[j]) <= 0,
+                           sorted[i] + " > " + sorted[j]);
+            }
+        }
+    }
+
+
+    @Test
+    public void specification() {
+
+        final String[] ordered = {
+            "1.0.0-alpha", "1.0.0-alpha.1", "1.0.0-alpha.beta", "1.0.0-beta",
+            "1.0.0-beta.2", "1.0.0-beta.11", "1.0.0-rc.1", "1.0.0", "2.0.0",
+            "2.1.0", "2.1.1"
+        };
+
+        for (int i = 0; i < ordered.length; i++) {
+            for (int j = 0; j < ordered.length; j++) {
+                assertEquals(signum(NormalVersion.valueOf(ordered[i]),
+                                    NormalVersion.valueOf(ordered[j])),
+                             Integer.signum(i - j));
+            }
+        }
+
+        assertEquals(signum(NormalVersion.valueOf("1.0.0-alpha+001"),
+                            NormalVersion.valueOf("1.0.0-alpha+002")), 0);
+    }
+
+
+    private static long measure(final String[] inputs, final boolean reference,
+                                final long nanos) {
+
+        long operations = 0L;
+        int hash = 0;
+        final long start = System.nanoTime();
+        while (System.nanoTime() - start < nanos) {
+            for (final String input : inputs) {
+                if (reference) {
+                    final Matcher matcher = reference(input);
+                    hash += matcher == null ? 0 : matcher.end();
+                } else {
+                    try {
+                        hash += NormalVersion.valueOf(input)
+                            .getMajorVersion();
+                    } catch (final IllegalArgumentException iae) {
+                        hash++;
+                    }
+                }
+            }
+            operations += inputs.length;
+        }
+        if (hash == 42) { // keeps the loop from being eliminated
+            logger.trace("hash: {}", hash);
+        }
+
+        return operations * 1000000000L / (System.nanoTime() - start);
+    }
+
+
+    /**
+     * Records throughput per input class and fails when parsing is slower
+     * than the reference by more than allowed. Skipped unless
+     * {@code semver.fuzz.minimumRatio} is set.
+     *
+     * @throws IOException if failed to record
+     */
+    @Test(dependsOnMethods = {"parse", "precedence"})
+    public void throughput() throws IOException {
+
+        final String ratio = System.getProperty("semver.fuzz.minimumRatio");
+        if (ratio == null) {
+            throw new SkipException("semver.fuzz.minimumRatio not set");
+        }
+        final double minimumRatio = Double.parseDouble(ratio);
+        final Random random = random();
+        final Properties properties = new Properties();
+
+        final List<String> slower = new ArrayList<>();
+        for (final InputClass inputClass : InputClass.values()) {
+            final String[] inputs = new String[1024];
+            for (int i = 0; i < inputs.length; i++) {
+                inputs[i] = inputClass.generate(random);
+            }
+            measure(inputs, true, 50000000L); // warm-up
+            measure(inputs, false, 50000000L);
+            final long expected = measure(inputs, true, 200000000L);
+            final long actual = measure(inputs, false, 200000000L);
+            logger.info("{}: {} ops/s (reference: {} ops/s)",
+                        inputClass, actual, expected);
+            properties.setProperty(inputClass + ".actual",
+                                   Long.toString(actual));
+            properties.setProperty(inputClass + ".reference",
+                                   Long.toString(expected));
+            if (actual < expected * minimumRatio) {
+                slower.add(inputClass + ": " + actual + " < " + expected
+                           + " * " + minimumRatio);
+            }
+        }
+
+        // recorded before the gate so that regressions are recorded too
+        final File file = new File("target", "fuzz-throughput.properties");
+        file.getParentFile().mkdirs();
+        try (OutputStream output = new FileOutputStream(file)) {
+            properties.store(output, "operations per second");
+        }
+
+        assertTrue(slower.isEmpty(), slower.toString());
+    }
+
+}
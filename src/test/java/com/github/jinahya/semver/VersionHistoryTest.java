@@ -0,0 +1,124 @@
+/*
+ * Copyright 2015 Jin Kwon &lt;jinahya_at_gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.jinahya.semver;
+
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import static java.util.concurrent.ThreadLocalRandom.current;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import org.testng.annotations.Test;
+
+
+/**
+ *
+ * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
+ */
+public class VersionHistoryTest {
+
+
+    private static final Logger logger
+        = LoggerFactory.getLogger(VersionHistoryTest.class);
+
+
+    private static List<NormalVersion> history(final int count) {
+
+        final String[] preReleases = {
+            null, null, "alpha", "alpha.1", "alpha.2", "beta.1", "rc.1",
+            "rc.10", "nightly.20261001", "nightly.20261002"};
+        final String[] buildMetadata = {null, null, null, "b.1", "b.2"};
+
+        final List<NormalVersion> versions = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            final NormalVersion.Builder builder = new NormalVersion.Builder()
+                .majorVersion(current().nextInt(3))
+                .minorVersion(current().nextInt(10))
+                .patchVersion(current().nextInt(300));
+            final String p = preReleases[current().nextInt(preReleases.length)];
+            if (p != null) {
+                builder.preReeleaseVersion(PreReleaseVersion.valueOf(p));
+            }
+            final String b
+                = buildMetadata[current().nextInt(buildMetadata.length)];
+            if (b != null) {
+                builder.buildMetadata(BuildMetadata.valueOf(b));
+            }
+            versions.add(builder.build());
+        }
+        Collections.sort(versions, NormalVersions.totalOrder());
+
+        return versions;
+    }
+
+
+    @Test
+    public void empty() {
+
+        final VersionHistory history = new VersionHistory.Builder().build();
+        assertEquals(history.size(), 0);
+        assertFalse(history.iterator().hasNext());
+    }
+
+
+    @Test
+    public void accessAndIteration() {
+
+        final List<NormalVersion> expected = history(10000);
+        final List<NormalVersion> shuffled = new ArrayList<>(expected);
+        Collections.shuffle(shuffled);
+        final VersionHistory history
+            = new VersionHistory.Builder().versions(shuffled).build();
+        assertEquals(history.size(), expected.size());
+
+        final Iterator<NormalVersion> iterator = history.iterator();
+        for (int i = 0; i < expected.size(); i++) {
+            assertTrue(iterator.hasNext());
+            assertEquals(iterator.next().toString(),
+                         expected.get(i).toString());
+        }
+        assertFalse(iterator.hasNext());
+
+        for (int i = 0; i < 1000; i++) {
+            final int index = current().nextInt(expected.size());
+            assertEquals(history.get(index).toString(),
+                         expected.get(index).toString());
+        }
+
+        int characters = 0;
+        for (final NormalVersion version : expected) {
+            characters += version.toString().length();
+        }
+        logger.info("{} versions in {} bytes; {} characters as strings",
+                    history.size(), history.getEncodedSize(), characters);
+        assertTrue(history.getEncodedSize() < characters);
+    }
+
+
+    @Test(expectedExceptions = IndexOutOfBoundsException.class)
+    public void outOfRange() {
+
+        new VersionHistory.Builder()
+            .versions(NormalVersion.valueOf("1.0.0")).build().get(1);
+    }
+
+}
@@ -0,0 +1,249 @@
+/*
+ * Copyright 2015 Jin Kwon &lt;jinahya_at_gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.jinahya.semver;
+
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import static java.util.concurrent.ThreadLocalRandom.current;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import org.testng.annotations.Test;
+
+
+/**
+ *
+ * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
+ */
+public class VersionJsonTest {
+
+
+    private static final Logger logger
+        = LoggerFactory.getLogger(VersionJsonTest.class);
+
+
+    private static List<NormalVersion> versions(final int count) {
+
+        final String[] suffixes = {"", "-alpha.1", "-rc.2+build.5", "+sha.5114f85"};
+        final List<NormalVersion> versions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            versions.add(NormalVersion.valueOf(
+                current().nextInt(10) + "." + current().nextInt(100) + "."
+                + current().nextInt(1000)
+                + suffixes[current().nextInt(suffixes.length)]));
+        }
+
+        return versions;
+    }
+
+
+    private static String write(final List<NormalVersion> versions)
+        throws IOException {
+
+        final StringWriter string = new StringWriter();
+        try (VersionJsonWriter writer = new VersionJsonWriter(string)) {
+            for (final NormalVersion version : versions) {
+                writer.write(version);
+            }
+        }
+
+        return string.toString();
+    }
+
+
+    private static List<String> read(final String json, final int bufferSize)
+        throws IOException {
+
+        final List<String> read = new ArrayList<>();
+        try (VersionJsonReader reader = new VersionJsonReader(
+            new StringReader(json), bufferSize)) {
+            while (reader.hasNext()) {
+                read.add(reader.next().toString());
+            }
+            assertFalse(reader.hasNext());
+        }
+
+        return read;
+    }
+
+
+    @Test
+    public void roundTrip() throws IOException {
+
+        final List<NormalVersion> versions = versions(10000);
+        final List<String> expected = new ArrayList<>();
+        for (final NormalVersion version : versions) {
+            expected.add(version.toString());
+        }
+
+        final String json = write(versions);
+        for (final int bufferSize : new int[]{1, 7, 8192}) {
+            assertEquals(read(json, bufferSize), expected);
+        }
+    }
+
+
+    @Test
+    public void empty() throws IOException {
+
+        assertEquals(write(new ArrayList<NormalVersion>()), "[]");
+        assertTrue(read(" [ ] ", 1).isEmpty());
+    }
+
+
+    @Test
+    public void whitespacesAndEscapes() throws IOException {
+
+        final String json
+            = "\n[ \"1.0.0\" ,\t\"1\\u002e0.1-rc\\u002dx\" ,\r\n\"2.0.0\\u002B1\" ]";
+        for (final int bufferSize : new int[]{1, 3, 8192}) {
+            final List<String> read = read(json, bufferSize);
+            assertEquals(read.size(), 3);
+            assertEquals(read.get(0), "1.0.0");
+            assertEquals(read.get(1), "1.0.1-rc-x");
+            assertEquals(read.get(2), "2.0.0+1");
+        }
+    }
+
+
+    @Test
+    public void write() throws IOException {
+
+        final StringBuilder identifier = new StringBuilder();
+        while (identifier.length() < 10000) {
+            identifier.append("x");
+        }
+        final List<NormalVersion> versions = new ArrayList<>();
+        versions.add(NormalVersion.valueOf("0.0.0"));
+        versions.add(NormalVersion.valueOf(
+            Integer.MAX_VALUE + "." + Integer.MAX_VALUE + "."
+            + Integer.MAX_VALUE + "-" + identifier + "+" + identifier));
+        versions.add(NormalVersion.valueOf("10.200.3000-rc.1"));
+        final List<String> expected = new ArrayList<>();
+        for (final NormalVersion version : versions) {
+            expected.add(version.toString());
+        }
+
+        assertEquals(read(write(versions), 8192), expected);
+    }
+
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void flushAfterClose() throws IOException {
+
+        final VersionJsonWriter writer
+            = new VersionJsonWriter(new StringWriter());
+        writer.close();
+        writer.close();
+        writer.flush();
+    }
+
+
+    @Test
+    public void invalidVersion() throws IOException {
+
+        try (VersionJsonReader reader = new VersionJsonReader(
+            new StringReader("[\"1.0\", \"1.0.0\"]"))) {
+            try {
+                reader.next();
+                assertTrue(false);
+            } catch (final IllegalArgumentException iae) {
+                // expected
+            }
+            assertEquals(reader.next().toString(), "1.0.0");
+            assertFalse(reader.hasNext());
+        }
+    }
+
+
+    @Test
+    public void malformed() {
+
+        for (final String json : new String[]{
+            "", "{", "[1]", "[\"1.0.0\"", "[\"1.0.0", "[\"1.0.0\" \"2.0.0\"]",
+            "[\"1.0.0\\x\"]", "[]x", "[\"1.0.0\"] ,", "[][]"}) {
+            try {
+                read(json, 2);
+                assertTrue(false, json);
+            } catch (final IOException ioe) {
+                // expected
+            }
+        }
+    }
+
+
+    /**
+     * Compares a round trip of the codec with writing and parsing strings.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    @Test
+    public void benchmark() throws IOException {
+
+        final List<NormalVersion> versions = versions(100000);
+        final String json = write(versions);
+
+        for (int round = 0; round < 3; round++) {
+            long start = System.nanoTime();
+            final StringWriter string = new StringWriter();
+            try (VersionJsonWriter writer = new VersionJsonWriter(string)) {
+                for (final NormalVersion version : versions) {
+                    writer.write(version);
+                }
+            }
+            int count = 0;
+            try (VersionJsonReader reader = new VersionJsonReader(
+                new StringReader(string.toString()))) {
+                while (reader.hasNext()) {
+                    reader.next();
+                    count++;
+                }
+            }
+            final long codec = System.nanoTime() - start;
+            assertEquals(count, versions.size());
+
+            start = System.nanoTime();
+            final StringBuilder builder = new StringBuilder("[");
+            for (final NormalVersion version : versions) {
+                if (builder.length() > 1) {
+                    builder.append(',');
+                }
+                builder.append('"').append(version.toString()).append('"');
+            }
+            builder.append(']');
+            count = 0;
+            for (int i = json.indexOf('"'); i != -1;) {
+                final int end = json.indexOf('"', i + 1);
+                NormalVersion.valueOf(json.substring(i + 1, end));
+                count++;
+                i = json.indexOf('"', end + 1);
+            }
+            final long plain = System.nanoTime() - start;
+            assertEquals(count, versions.size());
+
+            logger.info("round trip of {} versions; codec: {} ms, plain: {} ms",
+                        versions.size(), codec / 1000000L, plain / 1000000L);
+        }
+    }
+
+}
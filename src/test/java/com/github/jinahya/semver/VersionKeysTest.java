@@ -0,0 +1,128 @@
+/*
+ * Copyright 2015 Jin Kwon &lt;jinahya_at_gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.jinahya.semver;
+
+
+import static java.util.concurrent.ThreadLocalRandom.current;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import org.testng.annotations.Test;
+
+
+/**
+ *
+ * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
+ */
+public class VersionKeysTest {
+
+
+    private static NormalVersion random() {
+
+        final NormalVersion.Builder builder = new NormalVersion.Builder()
+            .majorVersion(current().nextInt(4))
+            .minorVersion(current().nextInt(4))
+            .patchVersion(current().nextInt(4));
+        if (current().nextBoolean()) {
+            builder.preReleaseVersion("rc." + current().nextInt(3));
+        }
+
+        return builder.build();
+    }
+
+
+    @Test
+    public void pack() {
+
+        final NormalVersion version = NormalVersion.valueOf("1.2.3-rc.1");
+        final long key = VersionKeys.pack(version);
+        assertEquals(VersionKeys.majorVersion(key), 1);
+        assertEquals(VersionKeys.minorVersion(key), 2);
+        assertEquals(VersionKeys.patchVersion(key), 3);
+        assertEquals(VersionKeys.isRelease(key), false);
+
+        final long max = VersionKeys.pack(
+            VersionKeys.MAX_MAJOR_VERSION, VersionKeys.MAX_MINOR_VERSION,
+            VersionKeys.MAX_PATCH_VERSION, true);
+        assertEquals(max, Long.MAX_VALUE);
+    }
+
+
+    @Test
+    public void order() {
+
+        for (int i = 0; i < 1000; i++) {
+            final NormalVersion v1 = random();
+            final NormalVersion v2 = random();
+            final long k1 = VersionKeys.pack(v1);
+            final long k2 = VersionKeys.pack(v2);
+            if (k1 != k2) {
+                assertEquals(Long.signum(k1 - k2),
+                             Integer.signum(v1.compareTo(v2)),
+                             v1 + " <> " + v2);
+            }
+        }
+    }
+
+
+    @Test
+    public void filter() {
+
+        final VersionConstraint[] constraints = new VersionConstraint[]{
+            VersionConstraint.valueOf(">=2.1.0 <3.0.0"),
+            VersionConstraint.valueOf(">1.1.1 <=2.2.2"),
+            VersionConstraint.valueOf("2.0.0"),
+            VersionConstraint.ANY,
+            new VersionConstraint.Builder()
+            .lowerBound(NormalVersion.valueOf("1.0.0"), true)
+            .stableOnly(true)
+            .build()
+        };
+
+        final NormalVersion[] versions = new NormalVersion[1000];
+        for (int i = 0; i < versions.length; i++) {
+            versions[i] = random();
+        }
+        final long[] keys = VersionKeys.pack(versions);
+
+        for (final VersionConstraint constraint : constraints) {
+            final long[] mask = VersionKeys.filter(keys, constraint);
+            int count = 0;
+            for (int i = 0; i < versions.length; i++) {
+                final boolean expected = constraint.isSatisfiedBy(versions[i]);
+                final boolean actual = (mask[i >>> 6] & (1L << i)) != 0L;
+                assertEquals(actual, expected, constraint + ", " + versions[i]);
+                if (expected) {
+                    count++;
+                }
+            }
+            final int[] indices = VersionKeys.indices(mask);
+            assertEquals(indices.length, count);
+            for (final int index : indices) {
+                assertTrue(constraint.isSatisfiedBy(versions[index]));
+            }
+        }
+    }
+
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void filterWithPreReleaseBound() {
+
+        VersionKeys.filter(new long[0],
+                           VersionConstraint.valueOf(">=1.0.0-alpha"));
+    }
+
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2015 Jin Kwon &lt;jinahya_at_gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.jinahya.semver;
+
+
+import java.io.File;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import org.testng.annotations.Test;
+
+
+/**
+ *
+ * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
+ */
+public class VersionLiteralTest {
+
+
+    /**
+     * Compiles specified source of {@code p.Literals}.
+     *
+     * @return the output directory; {@code null} if failed
+     */
+    private static File compile(final String source) throws Exception {
+
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        final JavaFileObject file = new SimpleJavaFileObject(
+            URI.create("string:///p/Literals.java"),
+            JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(final boolean ignore) {
+                return source;
+            }
+        };
+
+        final File output
+            = Files.createTempDirectory("version-literal").toFile();
+        final DiagnosticCollector<JavaFileObject> diagnostics
+            = new DiagnosticCollector<>();
+        final List<String> options = Arrays.asList(
+            "-classpath", System.getProperty("java.class.path"),
+            "-d", output.getPath(), "-s", output.getPath(),
+            "-processor", VersionLiteralProcessor.class.getName());
+        final boolean compiled = compiler.getTask(
+            null, null, diagnostics, options, null, Arrays.asList(file))
+            .call();
+        for (final Diagnostic<?> diagnostic : diagnostics.getDiagnostics()) {
+            if (diagnostic.getKind() == Diagnostic.Kind.ERROR) {
+                assertTrue(diagnostic.getMessage(null).contains("1.0"),
+                           diagnostic.toString());
+            }
+        }
+
+        return compiled ? output : null;
+    }
+
+
+    @Test
+    public void generated() throws Exception {
+
+        final File output = compile(
+            "package p;\n"
+            + "class Literals {\n"
+            + "    @com.github.jinahya.semver.VersionLiteral\n"
+            + "    static final String RELEASE = \"1.2.3\";\n"
+            + "    @com.github.jinahya.semver.VersionLiteral\n"
+            + "    static final String FULL = \"1.0.0-rc.1+build.5\";\n"
+            + "    static class Nested {\n"
+            + "        @com.github.jinahya.semver.VersionLiteral\n"
+            + "        static final String V = \"1.0.0-alpha\";\n"
+            + "    }\n"
+            + "    Object o = Literals_NestedVersions.V;\n"
+            + "}\n");
+        assertNotNull(output);
+
+        // constructed directly, not parsed or validated again
+        final String generated = new String(Files.readAllBytes(
+            new File(output, "p/LiteralsVersions.java").toPath()), "UTF-8");
+        assertTrue(generated.contains("VersionLiterals.normalVersion("),
+                   generated);
+        assertFalse(generated.contains("Builder"), generated);
+
+        try (URLClassLoader loader = new URLClassLoader(
+            new URL[]{output.toURI().toURL()}, getClass().getClassLoader())) {
+            final Class<?> type = loader.loadClass("p.LiteralsVersions");
+            assertEquals(type.getField("RELEASE").get(null).toString(),
+                         "1.2.3");
+            final NormalVersion full
+                = (NormalVersion) type.getField("FULL").get(null);
+            assertEquals(full.toString(), "1.0.0-rc.1+build.5");
+            assertEquals(full.getPreReleaseVersion().getIdentifiers(),
+                         Arrays.asList("rc", "1"));
+            assertEquals(full.getBuildMetadata().getIdentifiers(),
+                         Arrays.asList("build", "5"));
+            assertEquals(NormalVersions.totalOrder().compare(
+                full, NormalVersion.valueOf("1.0.0-rc.1+build.5")), 0);
+            assertTrue(full.compareTo(NormalVersion.valueOf("1.0.0-rc.2"))
+                       < 0);
+            assertEquals(full.getPrecedenceFingerprint(),
+                         NormalVersion.valueOf("1.0.0-rc.1").getFingerprint());
+            assertEquals(loader.loadClass("p.Literals_NestedVersions")
+                .getField("V").get(null).toString(), "1.0.0-alpha");
+        }
+    }
+
+
+    @Test
+    public void invalidLiteral() throws Exception {
+
+        assertNull(compile(
+            "package p;\n"
+            + "class Literals {\n"
+            + "    @com.github.jinahya.semver.VersionLiteral\n"
+            + "    static final String V = \"1.0\";\n"
+            + "}\n"));
+    }
+
+
+
+    @Test
+    public void normalVersion() {
+
+        assertEquals(VersionLiterals.normalVersion(
+            1, 2, 3, "rc.1", new int[]{0, 3, 5}, "b", new int[]{0, 2})
+            .toString(), "1.2.3-rc.1+b");
+        assertEquals(VersionLiterals.normalVersion(
+            1, 0, 0, null, null, null, null).toString(), "1.0.0");
+    }
+
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void normalVersionNegative() {
+
+        VersionLiterals.normalVersion(1, -1, 0, null, null, null, null);
+    }
+
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void normalVersionMisaligned() {
+
+        VersionLiterals.normalVersion(
+            1, 0, 0, "rc.1", new int[]{0, 2, 5}, null, null);
+    }
+
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void normalVersionOutOfRange() {
+
+        VersionLiterals.normalVersion(
+            1, 0, 0, "rc.1", new int[]{0, 3, 9}, null, null);
+    }
+
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void normalVersionEmpty() {
+
+        VersionLiterals.normalVersion(
+            1, 0, 0, "rc..1", new int[]{0, 3, 4, 6}, null, null);
+    }
+
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2015 Jin Kwon &lt;jinahya_at_gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.jinahya.semver;
+
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import org.testng.annotations.Test;
+
+
+/**
+ *
+ * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
+ */
+public class VersionMergerTest {
+
+
+    private static List<NormalVersion> versions(final String... versions) {
+
+        final List<NormalVersion> list = new ArrayList<>();
+        for (final String version : versions) {
+            list.add(NormalVersion.valueOf(version));
+        }
+
+        return list;
+    }
+
+
+    private static List<NormalVersion> drain(final VersionMerger merger) {
+
+        final List<NormalVersion> drained = new ArrayList<>();
+        while (merger.hasNext()) {
+            drained.add(merger.next());
+        }
+
+        return drained;
+    }
+
+
+    @Test
+    public void merge() {
+
+        final VersionMerger.Builder builder = new VersionMerger.Builder()
+            .source(versions("1.0.0-rc.1", "1.0.0", "1.2.0"))
+            .source(versions())
+            .source(versions("0.9.0", "1.0.0+b", "2.0.0"));
+
+        assertEquals(drain(builder.build()).toString(),
+                     "[0.9.0, 1.0.0-rc.1, 1.0.0, 1.0.0+b, 1.2.0, 2.0.0]");
+    }
+
+
+    @Test
+    public void unique() {
+
+        final VersionMerger merger = new VersionMerger.Builder()
+            .source(versions("1.0.0", "1.1.0", "1.1.0"))
+            .source(versions("1.0.0+b", "1.1.0", "2.0.0"))
+            .source(versions("2.0.0+c"))
+            .unique(true).build();
+
+        assertEquals(drain(merger).toString(), "[1.0.0, 1.1.0, 2.0.0]");
+    }
+
+
+    @Test
+    public void empty() {
+
+        assertFalse(new VersionMerger.Builder().build().hasNext());
+    }
+
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void unsorted() {
+
+        drain(new VersionMerger.Builder()
+            .source(versions("2.0.0", "1.0.0")).build());
+    }
+
+
+    @Test
+    public void random() {
+
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int k = 1; k <= 17; k++) {
+            final List<NormalVersion> all = new ArrayList<>();
+            final VersionMerger.Builder builder = new VersionMerger.Builder();
+            for (int i = 0; i < k; i++) {
+                final List<NormalVersion> source = new ArrayList<>();
+                for (int j = random.nextInt(100); j > 0; j--) {
+                    source.add(NormalVersion.valueOf(
+                        random.nextInt(3) + "." + random.nextInt(3) + "."
+                        + random.nextInt(3)));
+                }
+                Collections.sort(source);
+                all.addAll(source);
+                builder.source(source);
+            }
+            Collections.sort(all);
+
+            final List<NormalVersion> merged
+                = drain(builder.unique(true).build());
+            final List<NormalVersion> expected = new ArrayList<>();
+            for (final NormalVersion version : all) {
+                if (expected.isEmpty() || expected.get(expected.size() - 1)
+                    .compareTo(version) != 0) {
+                    expected.add(version);
+                }
+            }
+            assertEquals(merged.size(), expected.size());
+            for (int i = 0; i < merged.size(); i++) {
+                assertEquals(merged.get(i).compareTo(expected.get(i)), 0);
+            }
+        }
+    }
+
+}
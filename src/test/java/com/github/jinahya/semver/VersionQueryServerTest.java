@@ -0,0 +1,171 @@
+/*
+ * Copyright 2015 Jin Kwon &lt;jinahya_at_gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.jinahya.semver;
+
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import org.testng.annotations.Test;
+
+
+/**
+ *
+ * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
+ */
+public class VersionQueryServerTest {
+
+
+    @Test
+    public void respond() {
+
+        assertEquals(VersionQueryServer.respond("PARSE 1.0.0-rc.1+b 1.0 2.0.0"),
+                     "OK 1.0.0-rc.1+b ! 2.0.0");
+        assertEquals(VersionQueryServer.respond("COMPARE 1.0.0 1.0.0-rc.1 1.0.0 2.0.0"),
+                     "OK 1 -1");
+        assertEquals(VersionQueryServer.respond("SORT 1.0.0 1.0.0-alpha 0.9.0"),
+                     "OK 0.9.0 1.0.0-alpha 1.0.0");
+        assertEquals(VersionQueryServer.respond("MAX >=1.0.0 <2.0.0 ; 0.9.0 1.2.0 2.0.0 1.1.0"),
+                     "OK 1.2.0");
+        assertEquals(VersionQueryServer.respond("MAX >=3.0.0 ; 1.0.0"),
+                     "OK -");
+        assertNull(VersionQueryServer.respond("QUIT"));
+        assertTrue(VersionQueryServer.respond("COMPARE 1.0.0").startsWith("ERR"));
+        assertTrue(VersionQueryServer.respond("SORT 1.0").startsWith("ERR"));
+        assertTrue(VersionQueryServer.respond("MAX 1.0.0").startsWith("ERR"));
+        assertTrue(VersionQueryServer.respond("").startsWith("ERR"));
+    }
+
+
+    @Test(timeOut = 10000L)
+    public void pipeline() throws IOException, InterruptedException {
+
+        final VersionQueryServer server
+            = new VersionQueryServer.Builder().threads(2).build();
+        final Thread thread = new Thread(server);
+        thread.start();
+        try {
+            try (Socket socket = new Socket(InetAddress.getByName(null),
+                                            server.getLocalPort())) {
+                final int count = 1000;
+                final StringBuilder requests = new StringBuilder();
+                for (int i = 0; i < count; i++) {
+                    requests.append("COMPARE 1.0.").append(i).append(" 1.0.1\n");
+                }
+                requests.append("QUIT\n");
+                final OutputStream output = socket.getOutputStream();
+                output.write(requests.toString().getBytes(StandardCharsets.UTF_8));
+                output.flush();
+                final BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(socket.getInputStream(),
+                                          StandardCharsets.UTF_8));
+                for (int i = 0; i < count; i++) {
+                    assertEquals(reader.readLine(),
+                                 "OK " + Integer.signum(Integer.compare(i, 1)));
+                }
+                assertNull(reader.readLine());
+            }
+        } finally {
+            server.close();
+            thread.join();
+        }
+    }
+
+
+
+    @Test(timeOut = 10000L)
+    public void tooLong() throws IOException, InterruptedException {
+
+        final VersionQueryServer server = new VersionQueryServer.Builder()
+            .maximumLineLength(16).build();
+        final Thread thread = new Thread(server);
+        thread.start();
+        try {
+            try (Socket socket = new Socket(InetAddress.getByName(null),
+                                            server.getLocalPort())) {
+                final OutputStream output = socket.getOutputStream();
+                output.write(("PARSE 1.0.0 2.0.0\r\n" // 17 characters
+                              + "PARSE 1.0.0 2.0.0 3.0.0\n")
+                    .getBytes(StandardCharsets.UTF_8));
+                output.flush();
+                final BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(socket.getInputStream(),
+                                          StandardCharsets.UTF_8));
+                assertEquals(reader.readLine(), "ERR line too long");
+                assertNull(reader.readLine());
+            }
+            try (Socket socket = new Socket(InetAddress.getByName(null),
+                                            server.getLocalPort())) {
+                final OutputStream output = socket.getOutputStream();
+                output.write("PARSE 1.0.0\r\nPARSE 1.0.0 2.0.0 3.0.0\n"
+                    .getBytes(StandardCharsets.UTF_8));
+                output.flush();
+                final BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(socket.getInputStream(),
+                                          StandardCharsets.UTF_8));
+                assertEquals(reader.readLine(), "OK 1.0.0");
+                assertEquals(reader.readLine(), "ERR line too long");
+                assertNull(reader.readLine());
+            }
+        } finally {
+            server.close();
+            thread.join();
+        }
+    }
+
+
+    @Test(timeOut = 10000L)
+    public void busy() throws IOException, InterruptedException {
+
+        final VersionQueryServer server
+            = new VersionQueryServer.Builder().threads(1).build();
+        final Thread thread = new Thread(server);
+        thread.start();
+        try {
+            try (Socket first = new Socket(InetAddress.getByName(null),
+                                           server.getLocalPort())) {
+                final OutputStream output = first.getOutputStream();
+                output.write("PARSE 1.0.0\n".getBytes(StandardCharsets.UTF_8));
+                output.flush();
+                final BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(first.getInputStream(),
+                                          StandardCharsets.UTF_8));
+                assertEquals(reader.readLine(), "OK 1.0.0");
+                // the only thread is still serving the first connection
+                try (Socket second = new Socket(InetAddress.getByName(null),
+                                                server.getLocalPort())) {
+                    final BufferedReader rejected = new BufferedReader(
+                        new InputStreamReader(second.getInputStream(),
+                                              StandardCharsets.UTF_8));
+                    assertEquals(rejected.readLine(), "ERR busy");
+                    assertNull(rejected.readLine());
+                }
+            }
+        } finally {
+            server.close();
+            thread.join();
+        }
+    }
+
+}
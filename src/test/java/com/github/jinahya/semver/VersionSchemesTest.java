@@ -0,0 +1,126 @@
+/*
+ * Copyright 2015 Jin Kwon &lt;jinahya_at_gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.jinahya.semver;
+
+
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+
+/**
+ *
+ * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
+ */
+public class VersionSchemesTest {
+
+
+    @DataProvider
+    public static Object[][] conversions() {
+
+        return new Object[][]{
+            {VersionSchemes.MAVEN, "1", "1.0.0"},
+            {VersionSchemes.MAVEN, "1.2-SNAPSHOT", "1.2.0-snapshot"},
+            {VersionSchemes.MAVEN, "1.0.0.Final", "1.0.0"},
+            {VersionSchemes.MAVEN, "2.0-beta-3", "2.0.0-beta.3"},
+            {VersionSchemes.MAVEN, "1.0RC01", "1.0.0-rc.1"},
+            {VersionSchemes.MAVEN, "1.0-M2", "1.0.0-milestone.2"},
+            {VersionSchemes.MAVEN, "1.0-alpha-1-SNAPSHOT",
+             "1.0.0+alpha-1-SNAPSHOT"},
+            {VersionSchemes.MAVEN, "1.2.3.4", "1.2.3+4"},
+            {VersionSchemes.OSGI, "1", "1.0.0"},
+            {VersionSchemes.OSGI, "1.2.3.qualifier", "1.2.3+qualifier"},
+            {VersionSchemes.OSGI, "1.2.3.v2024_10", "1.2.3+v2024-10"},
+            {VersionSchemes.CALENDAR, "2024.10.01", "2024.10.1"},
+            {VersionSchemes.CALENDAR, "24.04", "24.4.0"},
+            {VersionSchemes.CALENDAR, "2024-10-01-beta.1", "2024.10.1-beta.1"},
+            {VersionSchemes.CALENDAR, "20241001+ci", "2024.10.1+ci"}
+        };
+    }
+
+
+    @Test(dataProvider = "conversions")
+    public void convert(final VersionConverter converter, final String s,
+                        final String expected) {
+
+        assertEquals(converter.convert(s).toString(), expected);
+    }
+
+
+    @DataProvider
+    public static Object[][] invalids() {
+
+        return new Object[][]{
+            {VersionSchemes.MAVEN, ""},
+            {VersionSchemes.MAVEN, "x"},
+            {VersionSchemes.MAVEN, "1.0-"},
+            {VersionSchemes.OSGI, "1.2.3."},
+            {VersionSchemes.OSGI, "1.a"},
+            {VersionSchemes.OSGI, "1.2.3.a.b"},
+            {VersionSchemes.CALENDAR, "2024.13.01"},
+            {VersionSchemes.CALENDAR, "2024.10.32"}
+        };
+    }
+
+
+    @Test(dataProvider = "invalids",
+          expectedExceptions = IllegalArgumentException.class)
+    public void invalid(final VersionConverter converter, final String s) {
+
+        converter.convert(s);
+    }
+
+
+    @Test
+    public void mavenPrecedence() {
+
+        final String[] values = {
+            "1.0-alpha-1", "1.0-alpha-2", "1.0-beta", "1.0-M1", "1.0-RC1",
+            "1.0-SNAPSHOT", "1.0", "1.0.1"
+        };
+        for (int i = 1; i < values.length; i++) {
+            assertTrue(VersionSchemes.MAVEN.convert(values[i - 1]).compareTo(
+                VersionSchemes.MAVEN.convert(values[i])) < 0,
+                       values[i - 1] + " < " + values[i]);
+        }
+    }
+
+
+    @Test
+    public void caching() {
+
+        final AtomicInteger count = new AtomicInteger();
+        final VersionConverter converter = new CachingVersionConverter(
+            s -> {
+                count.incrementAndGet();
+                return VersionSchemes.MAVEN.convert(s);
+            }, 2);
+
+        final NormalVersion converted = converter.convert("1.0");
+        assertSame(converter.convert("1.0"), converted);
+        assertEquals(count.get(), 1);
+
+        converter.convert("2.0");
+        converter.convert("3.0");
+        converter.convert("1.0");
+        assertEquals(count.get(), 4);
+    }
+
+}
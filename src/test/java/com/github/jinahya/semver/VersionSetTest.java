@@ -0,0 +1,144 @@
+/*
+ * Copyright 2015 Jin Kwon &lt;jinahya_at_gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.jinahya.semver;
+
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import static java.util.concurrent.ThreadLocalRandom.current;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import org.testng.annotations.Test;
+
+
+/**
+ *
+ * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
+ */
+public class VersionSetTest {
+
+
+    private static final VersionIndex INDEX;
+
+
+    static {
+        final VersionIndex.Builder builder = new VersionIndex.Builder();
+        for (int i = 0; i < 150000; i++) {
+            builder.versions(new NormalVersion.Builder()
+                .majorVersion(i / 1000).minorVersion(i % 1000).build());
+        }
+        INDEX = builder.build();
+    }
+
+
+    private static VersionSet random(final TreeSet<NormalVersion> expected,
+                                     final double density) {
+
+        final VersionSet.Builder builder = new VersionSet.Builder(INDEX);
+        for (int i = 0; i < INDEX.size(); i++) {
+            if (current().nextDouble() < density) {
+                builder.ordinal(i);
+                expected.add(INDEX.get(i));
+            }
+        }
+
+        return builder.build();
+    }
+
+
+    private static void assertSetEquals(final VersionSet actual,
+                                        final TreeSet<NormalVersion> expected) {
+
+        assertEquals(actual.cardinality(), expected.size());
+        final List<NormalVersion> list = new ArrayList<>();
+        actual.forEach(list::add);
+        assertEquals(list, new ArrayList<>(expected));
+    }
+
+
+    @Test
+    public void index() {
+
+        final VersionIndex index = new VersionIndex.Builder()
+            .versions(NormalVersion.valueOf("1.0.0"),
+                      NormalVersion.valueOf("0.9.0"),
+                      NormalVersion.valueOf("1.0.0+build"),
+                      NormalVersion.valueOf("1.0.0-rc.1"))
+            .build();
+        assertEquals(index.size(), 3);
+        assertEquals(index.get(0).toString(), "0.9.0");
+        assertEquals(index.get(1).toString(), "1.0.0-rc.1");
+        assertEquals(index.ordinalOf(NormalVersion.valueOf("1.0.0+other")), 2);
+        assertEquals(index.ordinalOf(NormalVersion.valueOf("2.0.0")), -1);
+    }
+
+
+    @Test
+    public void algebra() {
+
+        final double[] densities = new double[]{0.001, 0.05, 0.5};
+        for (final double density1 : densities) {
+            for (final double density2 : densities) {
+                final TreeSet<NormalVersion> expected1 = new TreeSet<>();
+                final TreeSet<NormalVersion> expected2 = new TreeSet<>();
+                final VersionSet set1 = random(expected1, density1);
+                final VersionSet set2 = random(expected2, density2);
+                assertSetEquals(set1, expected1);
+                assertSetEquals(set2, expected2);
+
+                final TreeSet<NormalVersion> and = new TreeSet<>(expected1);
+                and.retainAll(expected2);
+                assertSetEquals(set1.and(set2), and);
+
+                final TreeSet<NormalVersion> or = new TreeSet<>(expected1);
+                or.addAll(expected2);
+                assertSetEquals(set1.or(set2), or);
+
+                final TreeSet<NormalVersion> andNot = new TreeSet<>(expected1);
+                andNot.removeAll(expected2);
+                assertSetEquals(set1.andNot(set2), andNot);
+            }
+        }
+    }
+
+
+    @Test
+    public void contains() {
+
+        final VersionSet set = new VersionSet.Builder(INDEX)
+            .versions(VersionConstraint.valueOf(">=70.0.0 <71.0.0"))
+            .build();
+        assertEquals(set.cardinality(), 1000);
+        assertTrue(set.contains(NormalVersion.valueOf("70.999.0")));
+        assertFalse(set.contains(NormalVersion.valueOf("71.0.0")));
+        assertFalse(set.contains(NormalVersion.valueOf("1000.0.0")));
+        assertTrue(set.andNot(set).isEmpty());
+    }
+
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void differentIndex() {
+
+        final VersionIndex other = new VersionIndex.Builder()
+            .versions(NormalVersion.valueOf("1.0.0")).build();
+        new VersionSet.Builder(INDEX).build()
+            .or(new VersionSet.Builder(other).build());
+    }
+
+}
@@ -0,0 +1,260 @@
+/*
+ * Copyright 2015 Jin Kwon &lt;jinahya_at_gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.jinahya.semver;
+
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.annotations.Test;
+
+
+/**
+ *
+ * @author Jin Kwon &lt;jinahya_at_gmail.com&gt;
+ */
+public class VersionToolTest {
+
+
+    private static final Logger logger
+        = LoggerFactory.getLogger(VersionToolTest.class);
+
+
+    private static final class Result {
+
+
+        private int status;
+
+
+        private String out;
+
+
+        private String err;
+
+    }
+
+
+    private static Result run(final String input, final String... args) {
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final ByteArrayOutputStream err = new ByteArrayOutputStream();
+        final Result result = new Result();
+        result.status = VersionTool.run(
+            args, new ByteArrayInputStream(
+                input.getBytes(StandardCharsets.UTF_8)),
+            out, new PrintStream(err, true));
+        result.out = new String(out.toByteArray(), StandardCharsets.UTF_8);
+        result.err = new String(err.toByteArray(), StandardCharsets.UTF_8);
+
+        return result;
+    }
+
+
+    private static String lines(final String... lines) {
+
+        final StringBuilder builder = new StringBuilder();
+        for (final String line : lines) {
+            builder.append(line).append('\n');
+        }
+
+        return builder.toString();
+    }
+
+
+    private static List<String> random(final int count) {
+
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final List<String> list = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final StringBuilder builder = new StringBuilder()
+                .append(random.nextInt(10)).append('.')
+                .append(random.nextInt(100)).append('.')
+                .append(random.nextInt(100));
+            if (random.nextInt(4) == 0) {
+                builder.append("-rc.").append(random.nextInt(3));
+            }
+            if (random.nextInt(8) == 0) {
+                builder.append("+b").append(random.nextInt(3));
+            }
+            list.add(builder.toString());
+        }
+
+        return list;
+    }
+
+
+    @Test
+    public void sort() {
+
+        final String input = lines("1.0.0", "1.0.0-rc.10", "1.0.0-rc.2",
+                                   "", "  0.9.0  ", "1.0.0-alpha+b",
+                                   "1.0.0-alpha");
+
+        final Result sorted = run(input);
+        assertEquals(sorted.status, 0, sorted.err);
+        assertEquals(sorted.out, lines("0.9.0", "1.0.0-alpha",
+                                       "1.0.0-alpha+b", "1.0.0-rc.2",
+                                       "1.0.0-rc.10", "1.0.0"));
+
+        assertEquals(run(input, "-r").out, lines(
+                     "1.0.0", "1.0.0-rc.10", "1.0.0-rc.2", "1.0.0-alpha+b",
+                     "1.0.0-alpha", "0.9.0"));
+        assertEquals(run(input, "-u").out, lines(
+                     "0.9.0", "1.0.0-alpha", "1.0.0-rc.2", "1.0.0-rc.10",
+                     "1.0.0"));
+        assertEquals(run(input, "-c", ">=1.0.0-beta <1.0.0").out, lines(
+                     "1.0.0-rc.2", "1.0.0-rc.10"));
+    }
+
+
+    @Test
+    public void max() {
+
+        assertEquals(run(lines("1.0.0", "2.0.0-rc.1", "1.5.0"), "-m").out,
+                     lines("2.0.0-rc.1"));
+        assertEquals(run(lines("1.0.0", "2.0.0-rc.1", "1.5.0"),
+                         "-m", "-c", "<2.0.0-0").out,
+                     lines("1.5.0"));
+        assertEquals(run("", "-m").status, 1);
+    }
+
+
+    @Test
+    public void errors() {
+
+        final Result invalid = run(lines("1.0.0", "1.0"));
+        assertEquals(invalid.status, 2);
+        assertEquals(invalid.out, "");
+        assertTrue(invalid.err.startsWith("-:2: "), invalid.err);
+
+        assertEquals(run(lines("1.0.0", "1.0", "0.1.0"), "-i").out,
+                     lines("0.1.0", "1.0.0"));
+
+        assertEquals(run("", "-x").status, 2);
+        assertEquals(run("", "-S").status, 2);
+        assertEquals(run("", "-S", "0").status, 2);
+        assertEquals(run("", "-c", "~1").status, 2);
+    }
+
+
+    @Test
+    public void defaultRunLength() {
+
+        // 256 MiB over 4 threads and the run being filled
+        assertEquals(VersionTool.defaultRunLength(256L << 20, 4), 52428);
+        assertEquals(VersionTool.defaultRunLength(16L << 20, 64), 1024);
+        assertEquals(VersionTool.defaultRunLength(Long.MAX_VALUE, 1), 1 << 20);
+        assertEquals(VersionTool.defaultRunLength(Long.MAX_VALUE,
+                                                  Integer.MAX_VALUE), 1 << 20);
+    }
+
+
+    @Test
+    public void files() throws IOException {
+
+        final Path directory = Files.createTempDirectory("semver");
+        try {
+            final Path input1 = directory.resolve("1.txt");
+            final Path input2 = directory.resolve("2.txt");
+            final Path output = directory.resolve("out.txt");
+            Files.write(input1, Arrays.asList("2.0.0", "1.0.0"));
+            Files.write(input2, Arrays.asList("1.5.0"));
+
+            final Result result = run("", "-o", output.toString(),
+                                      input1.toString(), input2.toString());
+            assertEquals(result.status, 0, result.err);
+            assertEquals(Files.readAllLines(output),
+                         Arrays.asList("1.0.0", "1.5.0", "2.0.0"));
+        } finally {
+            for (final File file : directory.toFile().listFiles()) {
+                file.delete();
+            }
+            Files.delete(directory);
+        }
+    }
+
+
+    @Test
+    public void external() throws IOException {
+
+        final List<String> versions = random(200000);
+        final StringBuilder input = new StringBuilder();
+        for (final String version : versions) {
+            input.append(version).append('\n');
+        }
+
+        final List<NormalVersion> expected = new ArrayList<>();
+        for (final String version : versions) {
+            expected.add(NormalVersion.valueOf(version));
+        }
+        Collections.sort(expected, NormalVersions.totalOrder());
+        final StringBuilder sorted = new StringBuilder();
+        for (final NormalVersion version : expected) {
+            sorted.append(version).append('\n');
+        }
+        final StringBuilder unique = new StringBuilder();
+        for (final NormalVersion version
+             : NormalVersions.dedupe(expected)) {
+            unique.append(version).append('\n');
+        }
+
+        final Path temporary = Files.createTempDirectory("semver");
+        try {
+            final long started = System.nanoTime();
+            final Result result = run(input.toString(), "-S", "10000",
+                                      "-P", "3", "-T", temporary.toString());
+            final long elapsed = System.nanoTime() - started;
+            assertEquals(result.status, 0, result.err);
+            assertEquals(result.out, sorted.toString());
+            logger.info("sorted {} versions in {} ms", versions.size(),
+                        TimeUnit.NANOSECONDS.toMillis(elapsed));
+
+            assertEquals(run(input.toString(), "-u", "-S", "777",
+                             "-T", temporary.toString()).out,
+                         unique.toString());
+
+            // more runs than merged at a time
+            final StringBuilder reversed = new StringBuilder();
+            for (int i = expected.size() - 1; i >= 0; i--) {
+                reversed.append(expected.get(i)).append('\n');
+            }
+            assertEquals(run(input.toString(), "-r", "-S", "100",
+                             "-T", temporary.toString()).out,
+                         reversed.toString());
+
+            assertEquals(temporary.toFile().list().length, 0);
+        } finally {
+            Files.delete(temporary);
+        }
+    }
+
+}